@@ -0,0 +1,74 @@
+package spring.GoogleReview.Analyzer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    /**
+     * Threads für die SerpAPI-Seitenabrufe des Import-Pipelines.
+     * Pro laufendem Import wird genau ein Thread belegt.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importExecutor(
+            @Value("${import.pipeline.max-concurrent-imports:4}") int maxConcurrentImports) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentImports);
+        executor.setMaxPoolSize(maxConcurrentImports);
+        executor.setQueueCapacity(maxConcurrentImports * 4);
+        executor.setThreadNamePrefix("serpapi-fetch-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Asynchrone Analyse-Jobs (POST /api/analysis/{placeId}/jobs).
+     * Volle Queue → TaskRejectedException → 503.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor analysisJobExecutor(
+            @Value("${analysis.jobs.max-concurrent:2}") int maxConcurrent,
+            @Value("${analysis.jobs.queue-capacity:50}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analysis-job-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Versand der SSE-Fortschrittsereignisse: virtuelle Threads, damit ein langsamer
+     * Client weder den Analyse-Thread (Reactor/Netty) noch andere Jobs aufhält.
+     */
+    @Bean
+    public SimpleAsyncTaskExecutor sseExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("analysis-sse-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * Worker des RefreshSchedulers: virtuelle Threads, die fast nur auf SerpAPI,
+     * Rate-Limiter und DB warten. Das Limit ist nur eine Sicherung – der
+     * Scheduler vergibt nie mehr Aufträge als refresh.max-concurrent.
+     */
+    @Bean
+    public SimpleAsyncTaskExecutor refreshExecutor(
+            @Value("${refresh.max-concurrent:4}") int maxConcurrent) {
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("place-refresh-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(maxConcurrent);
+        return executor;
+    }
+}
@@ -0,0 +1,23 @@
+package spring.GoogleReview.Analyzer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kategorie-Lexika für den Review-Filter (?category=...).
+ *
+ * review.categories.<name>=wort1,wort2,...
+ * Die Reihenfolge in der Konfiguration bestimmt das Bit der Kategorie.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "review")
+public class CategoryProperties {
+
+    private Map<String, List<String>> categories = new LinkedHashMap<>();
+}
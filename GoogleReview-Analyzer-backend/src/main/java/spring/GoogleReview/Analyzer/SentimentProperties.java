@@ -0,0 +1,27 @@
+package spring.GoogleReview.Analyzer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Polaritäts-Lexika für die lokale Aspekt-Sentiment-Analyse (categories im Analyseergebnis).
+ * Die Aspekte selbst sind die Kategorien aus review.categories.
+ *
+ * sentiment.positive / sentiment.negative: wertende Wörter (werden wie Keywords gestemmt)
+ * sentiment.negations: kehren die folgenden Wörter um ("nicht lecker")
+ * sentiment.intensifiers: verstärken das nächste wertende Wort ("sehr teuer")
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "sentiment")
+public class SentimentProperties {
+
+    private List<String> positive = new ArrayList<>();
+    private List<String> negative = new ArrayList<>();
+    private List<String> negations = new ArrayList<>();
+    private List<String> intensifiers = new ArrayList<>();
+}
@@ -1,15 +1,31 @@
 package spring.GoogleReview.Analyzer.controllers;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import spring.GoogleReview.Analyzer.model.AnalysisJobStatus;
 import spring.GoogleReview.Analyzer.model.AnalysisResult;
+import spring.GoogleReview.Analyzer.model.FakeReviewDetail;
+import spring.GoogleReview.Analyzer.model.RollupGranularity;
 import spring.GoogleReview.Analyzer.model.TrendAnalysisResult;
+import spring.GoogleReview.Analyzer.service.AnalysisPrompts;
+import spring.GoogleReview.Analyzer.service.AnalysisJobService;
+import spring.GoogleReview.Analyzer.service.RatingRollupService;
 import spring.GoogleReview.Analyzer.service.ReviewAnalysisService;
 
 import javax.validation.constraints.NotBlank;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/analysis")
@@ -17,23 +33,86 @@ import javax.validation.constraints.NotBlank;
 public class AnalysisController {
 
     private final ReviewAnalysisService analysisService;
+    private final AnalysisJobService jobService;
+    private final RatingRollupService ratingRollupService;
+    private final PlaceETags placeETags;
 
     @GetMapping("/{placeId}")
     public AnalysisResult analyze(
             @PathVariable
             @NotBlank(message = "Place-ID darf nicht leer sein")
-            String placeId
-    ) throws Exception {
+            String placeId,
+            WebRequest request
+    ) {
+        // Prompt-Version im ETag: ein neuer Prompt ändert das Ergebnis auch ohne neue Reviews
+        if (placeETags.notModified(request, placeId, "analysis-p" + AnalysisPrompts.PROMPT_VERSION)) {
+            return null;
+        }
         return analysisService.analyzeReviews(placeId);
     }
 
+    // Asynchrone Analyse: liefert sofort die Job-ID, läuft bereits ein Job für den Place wird dieser zurückgegeben
+    @PostMapping("/{placeId}/jobs")
+    public ResponseEntity<AnalysisJobStatus> startJob(
+            @PathVariable
+            @NotBlank(message = "Place-ID darf nicht leer sein")
+            String placeId
+    ) {
+        return ResponseEntity.accepted().body(jobService.submit(placeId));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public AnalysisJobStatus getJob(@PathVariable String jobId) {
+        return jobService.status(jobId);
+    }
+
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(@PathVariable String jobId) {
+        return jobService.subscribe(jobId);
+    }
+
+    // Lokale Fake-Erkennung (MinHash/LSH + Burst), ohne OpenAI
+    @GetMapping("/{placeId}/fake-reviews")
+    public List<FakeReviewDetail> getFakeReviews(
+            @PathVariable
+            @NotBlank(message = "Place-ID darf nicht leer sein")
+            String placeId
+    ) {
+        return analysisService.detectFakeReviews(placeId);
+    }
+
+    // Summary neu erstellen (wird bei neuen Reviews nicht automatisch aktualisiert)
+    @PostMapping("/{placeId}/summary")
+    public AnalysisResult regenerateSummary(
+            @PathVariable
+            @NotBlank(message = "Place-ID darf nicht leer sein")
+            String placeId
+    ) {
+        return analysisService.regenerateSummary(placeId);
+    }
+
     @GetMapping("/{placeId}/trends")
     public TrendAnalysisResult getTrends(
             @PathVariable
             @NotBlank(message = "Place-ID darf nicht leer sein")
-            String placeId
+            String placeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            WebRequest request
     ) {
-        return analysisService.analyzeTrends(placeId);
+        if (placeETags.notModified(request, placeId, "trends")) {
+            return null;
+        }
+        return analysisService.analyzeTrends(placeId, from, to, granularity);
+    }
+
+    /**
+     * Baut die Rating-Rollups eines Places neu aus den gespeicherten Reviews auf.
+     */
+    @PostMapping("/{placeId}/trends/rebuild")
+    public Map<String, Object> rebuildTrends(@PathVariable String placeId) {
+        return Map.of("placeId", placeId, "rollups", ratingRollupService.rebuild(placeId));
     }
 
 
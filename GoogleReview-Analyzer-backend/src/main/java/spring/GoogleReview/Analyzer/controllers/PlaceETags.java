@@ -0,0 +1,49 @@
+package spring.GoogleReview.Analyzer.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import spring.GoogleReview.Analyzer.model.PlaceVersion;
+import spring.GoogleReview.Analyzer.service.PlaceVersionService;
+
+import java.util.Optional;
+
+/**
+ * Bedingte GETs für Place-Daten: ETag und Last-Modified aus der PlaceVersion.
+ *
+ * Aufruf vor jeder Berechnung – bei passendem If-None-Match / If-Modified-Since
+ * antwortet Spring mit 304 ohne Body, Repository und OpenAI werden nicht berührt.
+ *
+ * Die ETags sind schwach (W/"…"): Tomcat komprimiert keine Antworten mit starkem
+ * ETag, und die gzip-Variante ist nicht byte-gleich – inhaltlich aber identisch.
+ */
+@Component
+@RequiredArgsConstructor
+class PlaceETags {
+
+    private final PlaceVersionService versionService;
+
+    /**
+     * @param representation unterscheidet die Endpunkte (und Formatversionen) eines Places
+     * @return true → 304 ist gesetzt, der Controller gibt null zurück
+     */
+    boolean notModified(WebRequest request, String placeId, String representation) {
+
+        Optional<PlaceVersion> version = versionService.current(placeId);
+        if (version.isEmpty()) return false;
+
+        // immer revalidieren statt heuristisch aus Last-Modified zu cachen
+        if (request instanceof ServletWebRequest servlet && servlet.getResponse() != null) {
+            servlet.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+
+        // Der Zähler beginnt nach einem Neuaufbau des Schemas (ddl-auto=create) wieder bei 1 –
+        // erst mit dem Zeitpunkt der Änderung ist das ETag über Neustarts hinweg eindeutig
+        long updatedAt = version.get().getUpdatedAt().toEpochMilli();
+        String etag = "W/\"" + representation + "-" + version.get().getVersion() + "-" + updatedAt + "\"";
+        return request.checkNotModified(etag, updatedAt);
+    }
+}
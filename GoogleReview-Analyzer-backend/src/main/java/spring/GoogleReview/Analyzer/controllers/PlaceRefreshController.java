@@ -0,0 +1,49 @@
+package spring.GoogleReview.Analyzer.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import spring.GoogleReview.Analyzer.model.TrackedPlace;
+import spring.GoogleReview.Analyzer.service.PlaceRefreshService;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Registry für automatische Importe (RefreshScheduler).
+ */
+@RestController
+@RequestMapping("/api/places")
+@RequiredArgsConstructor
+public class PlaceRefreshController {
+
+    private final PlaceRefreshService refreshService;
+
+    @GetMapping
+    public List<TrackedPlace> list() {
+        return refreshService.list();
+    }
+
+    /**
+     * Place aufnehmen bzw. Intervallgrenzen ändern, z. B. ?minInterval=PT1H&maxInterval=P7D (ISO-8601)
+     */
+    @PutMapping("/{placeId}")
+    public TrackedPlace track(
+            @PathVariable String placeId,
+            @RequestParam(defaultValue = "PT6H") Duration minInterval,
+            @RequestParam(defaultValue = "P7D") Duration maxInterval) {
+        return refreshService.track(placeId, minInterval, maxInterval);
+    }
+
+    @DeleteMapping("/{placeId}")
+    public ResponseEntity<Void> untrack(@PathVariable String placeId) {
+        refreshService.untrack(placeId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // beim nächsten Tick importieren
+    @PostMapping("/{placeId}/refresh")
+    public TrackedPlace refreshNow(@PathVariable String placeId) {
+        return refreshService.refreshNow(placeId);
+    }
+}
@@ -1,13 +1,19 @@
 package spring.GoogleReview.Analyzer.controllers;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import spring.GoogleReview.Analyzer.model.Review;
+import spring.GoogleReview.Analyzer.model.ReviewPage;
+import spring.GoogleReview.Analyzer.model.ReviewSearchResult;
 import spring.GoogleReview.Analyzer.repository.ReviewRepository;
-import spring.GoogleReview.Analyzer.service.SerpApiReviewService;
+import spring.GoogleReview.Analyzer.service.CategoryClassifier;
+import spring.GoogleReview.Analyzer.service.ReviewPageService;
+import spring.GoogleReview.Analyzer.service.ReviewSearchService;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/reviews")
@@ -15,38 +21,63 @@ import java.util.Map;
 public class ReviewController {
 
     private final ReviewRepository reviewRepository;
+    private final CategoryClassifier categoryClassifier;
+    private final ReviewPageService reviewPageService;
+    private final ReviewSearchService reviewSearchService;
+    private final PlaceETags placeETags;
+
+    /**
+     * Volltextsuche: GET /api/reviews/search?q=kalt "lange wartezeit"&placeId=…&minRating=1&maxRating=2
+     * &from=2024-01-01&to=2024-12-31&limit=20 – nach Relevanz (BM25) sortiert.
+     * Feste Pfade haben Vorrang vor /{placeId}.
+     */
+    @GetMapping("/search")
+    public ReviewSearchResult search(
+            @RequestParam String q,
+            @RequestParam(required = false) String placeId,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(required = false) Integer maxRating,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit) {
+
+        return reviewSearchService.search(q, placeId, minRating, maxRating, from, to, limit);
+    }
 
     @GetMapping("/{placeId}")
     public List<Review> getReviews(
             @PathVariable String placeId,
-            @RequestParam(required = false) String category) {
+            @RequestParam(required = false) String category,
+            WebRequest request) {
 
-        List<Review> reviews = reviewRepository.findByPlaceId(placeId);
+        if (placeETags.notModified(request, placeId, "reviews"))
+            return null;
 
         if (category == null || category.isBlank())
-            return reviews;
+            return reviewRepository.findByPlaceId(placeId);
 
-        return reviews.stream()
-                .filter(r -> matchesCategory(r.getText(), category))
-                .toList();
+        // Kategorien werden beim Import klassifiziert → hier nur noch Index-Abfrage
+        List<Integer> masks = categoryClassifier.masksContaining(category);
+        if (masks.isEmpty())
+            return List.of();
+
+        return reviewRepository.findByPlaceIdAndCategoryMaskIn(placeId, masks);
     }
 
-    private boolean matchesCategory(String text, String category) {
-
-        if (text == null) return false;
-        text = text.toLowerCase();
-
-        return switch (category) {
-            case "service" ->
-                    text.contains("service") || text.contains("personal") || text.contains("freund");
-            case "food" ->
-                    text.contains("essen") || text.contains("lecker") ||
-                            text.contains("shawarma") || text.contains("gericht");
-            case "price" ->
-                    text.contains("preis") || text.contains("teuer") || text.contains("günstig");
-            case "ambience" ->
-                    text.contains("ambiente") || text.contains("sauber") || text.contains("gemütlich");
-            default -> false;
-        };
+    /**
+     * Seitenweise Liste für große Places: GET /api/reviews/{placeId}/page?size=50&sort=rating|date|id
+     * Weitere Seiten mit ?cursor=<nextCursor> und gleicher Sortierung.
+     */
+    @GetMapping("/{placeId}/page")
+    public ReviewPage getReviewPage(
+            @PathVariable String placeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "false") boolean includeText) {
+
+        return reviewPageService.page(placeId, cursor, size, sort, direction, category, includeText);
     }
 }
@@ -0,0 +1,7 @@
+package spring.GoogleReview.Analyzer.exception;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package spring.GoogleReview.Analyzer.exception;
+
+public class JobNotFoundException extends RuntimeException {
+    public JobNotFoundException(String jobId) {
+        super("Kein Analyse-Job gefunden mit ID: " + jobId);
+    }
+}
@@ -0,0 +1,7 @@
+package spring.GoogleReview.Analyzer.exception;
+
+public class PlaceNotTrackedException extends RuntimeException {
+    public PlaceNotTrackedException(String placeId) {
+        super("Place wird nicht automatisch aktualisiert: " + placeId);
+    }
+}
@@ -0,0 +1,7 @@
+package spring.GoogleReview.Analyzer.exception;
+
+public class SerpApiException extends RuntimeException {
+    public SerpApiException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,29 @@
+package spring.GoogleReview.Analyzer.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Persistierte KI-Analyse eines Places (DB-Stufe des Analyse-Caches).
+ * Gültig, solange der Digest der Review-Menge übereinstimmt.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+public class AnalysisCacheEntry {
+
+    @Id
+    private String placeId;
+
+    private String digest;
+
+    @Column(columnDefinition = "TEXT")
+    private String resultJson;
+
+    private Instant createdAt;
+}
@@ -0,0 +1,26 @@
+package spring.GoogleReview.Analyzer.model;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+public class AnalysisJobStatus {
+
+    public enum State { QUEUED, RUNNING, DONE, FAILED }
+
+    private String jobId;
+    private String placeId;
+    private State state;
+
+    private int chunksDone;
+    private int chunksTotal;
+    private Map<String, Integer> partialKeywords;
+
+    private AnalysisResult result;
+    private String error;
+
+    private Instant createdAt;
+    private Instant finishedAt;
+}
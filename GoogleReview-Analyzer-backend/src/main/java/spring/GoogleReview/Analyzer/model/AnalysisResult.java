@@ -12,6 +12,8 @@ public class AnalysisResult {
     private Map<String, Integer> top_keywords;
 
     private String summary;
+    // true = es gibt neue Reviews, die Summary wurde aber noch nicht neu erstellt
+    private boolean summaryStale;
 
     private Map<String, Map<String, Integer>> categories;
 
@@ -0,0 +1,18 @@
+package spring.GoogleReview.Analyzer.model;
+
+import lombok.Data;
+
+@Data
+public class ImportResult {
+
+    private String placeId;
+    private int pages;
+    private int inserted;
+    private int skipped;
+    private long durationMillis;
+    // inkrementell: neueste zuerst, Abbruch bei der ersten vollständig bekannten Seite
+    private boolean incremental;
+    private boolean stoppedEarly;
+    // aus dem Seitenarchiv statt von der SerpAPI (siehe RawPageArchive)
+    private boolean replay;
+}
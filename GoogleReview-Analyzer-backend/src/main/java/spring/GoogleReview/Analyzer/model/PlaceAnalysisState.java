@@ -0,0 +1,58 @@
+package spring.GoogleReview.Analyzer.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Inkrementeller Analysezustand eines Places.
+ *
+ * Alle Reviews mit analyzed = true sind bereits in den Zählern
+ * (accumulatorJson, siehe AnalysisAccumulator) enthalten – neue Reviews werden
+ * nur noch als Delta an das Modell geschickt.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+public class PlaceAnalysisState {
+
+    @Id
+    private String placeId;
+
+    // Schützt vor doppelt gezählten Deltas bei parallelen Analysen
+    @Version
+    private Long version;
+
+    private int analyzedCount;
+
+    @Column(columnDefinition = "TEXT")
+    private String accumulatorJson;
+
+    // lokale Keyword-Statistik (siehe KeywordStatistics), ebenfalls inkrementell fortgeschrieben
+    @Column(columnDefinition = "TEXT")
+    private String keywordStatsJson;
+
+    // lokale Kategorie-Zähler (siehe AspectCounts), ebenfalls inkrementell fortgeschrieben
+    @Column(columnDefinition = "TEXT")
+    private String aspectCountsJson;
+
+    // Copy/Paste-Cluster der lokalen Fake-Erkennung (siehe DuplicateClusters)
+    @Column(columnDefinition = "TEXT")
+    private String fakeClustersJson;
+
+    @Column(columnDefinition = "TEXT")
+    private String summary;
+
+    // Teil-Summaries der Deltas seit der letzten Summary (JSON-Liste)
+    @Column(columnDefinition = "TEXT")
+    private String pendingSummariesJson;
+
+    private boolean summaryStale;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,28 @@
+package spring.GoogleReview.Analyzer.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Datenstand eines Places: version wird bei jeder Änderung der ausgelieferten
+ * Daten hochgezählt (neue Reviews, Rollup-Neuaufbau, neue Summary).
+ *
+ * Grundlage für ETag/Last-Modified – ein unveränderter Reload kostet nur
+ * einen Zugriff über den Primärschlüssel.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+public class PlaceVersion {
+
+    @Id
+    private String placeId;
+
+    private long version;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,52 @@
+package spring.GoogleReview.Analyzer.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Vorberechnete Rating-Statistik pro Place und Zeit-Bucket (Tag/Woche/Monat).
+ *
+ * Wird beim Speichern neuer Reviews in derselben Transaktion hochgezählt
+ * (siehe RatingRollupService) – Trends lesen nur noch diese Zeilen.
+ */
+@Entity
+@IdClass(RatingRollupId.class)
+@Data
+@NoArgsConstructor
+public class RatingRollup {
+
+    @Id
+    private String placeId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private RollupGranularity granularity;
+
+    @Id
+    private LocalDate bucketStart;
+
+    private long reviewCount;
+    private long ratingSum;
+
+    // Histogramm der Sterne; Reviews ohne Rating (0) zählen nur in reviewCount/ratingSum
+    private long stars1;
+    private long stars2;
+    private long stars3;
+    private long stars4;
+    private long stars5;
+
+    public double averageRating() {
+        return reviewCount == 0 ? 0 : (double) ratingSum / reviewCount;
+    }
+
+    public long[] starHistogram() {
+        return new long[]{stars1, stars2, stars3, stars4, stars5};
+    }
+}
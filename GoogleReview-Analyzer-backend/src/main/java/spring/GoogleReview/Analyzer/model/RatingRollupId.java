@@ -0,0 +1,18 @@
+package spring.GoogleReview.Analyzer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingRollupId implements Serializable {
+
+    private String placeId;
+    private RollupGranularity granularity;
+    private LocalDate bucketStart;
+}
@@ -5,14 +5,31 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+
 @Entity
+@Table(indexes = {
+        // Keyset-Pagination (ReviewPageRepository): place + Sortierschlüssel + id
+        @Index(name = "idx_review_place_id", columnList = "placeId, id"),
+        @Index(name = "idx_review_place_rating", columnList = "placeId, rating, id"),
+        // Trends (Bereichsabfragen) und Sortierung nach Datum
+        @Index(name = "idx_review_place_date", columnList = "placeId, reviewedAt, id"),
+        // nicht eindeutig: Autor + Sterne + Text kollidieren bei echten Reviews (z. B. nur Sterne,
+        // "Ein Google-Nutzer") – eindeutig nur ohne externalId, siehe import.sql
+        @Index(name = "idx_review_fingerprint", columnList = "fingerprint"),
+        @Index(name = "idx_review_place_category", columnList = "placeId, categoryMask"),
+        // Delta der inkrementellen Analyse
+        @Index(name = "idx_review_place_analyzed", columnList = "placeId, analyzed, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Review {
 
+    // IDs vergibt ReviewInsertRepository per nextval vor dem Batch-Insert → Schrittweite 1
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_seq")
+    @SequenceGenerator(name = "review_seq", sequenceName = "review_seq", allocationSize = 1)
     private Long id;
 
     private String placeId;
@@ -22,7 +39,21 @@ public class Review {
     @Column(columnDefinition = "TEXT")
     private String text;
 
+    // Originaltext der SerpAPI ("vor 2 Wochen"), nur zur Anzeige
     private String reviewDate;
+
+    // beim Import aufgelöst (siehe ReviewDateParser)
+    private LocalDate reviewedAt;
+
     @Column(unique = true)
     private String externalId;
+
+    // siehe ReviewFingerprint
+    private Long fingerprint;
+
+    // Kategorie-Bits, beim Import gesetzt (siehe CategoryClassifier)
+    private Integer categoryMask;
+
+    // bereits im Analysezustand des Places enthalten (siehe IncrementalAnalysisService)
+    private boolean analyzed;
 }
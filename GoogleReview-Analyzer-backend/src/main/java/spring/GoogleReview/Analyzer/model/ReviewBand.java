@@ -0,0 +1,29 @@
+package spring.GoogleReview.Analyzer.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ein LSH-Bucket der Copy/Paste-Erkennung (siehe MinHashLsh): pro Place und
+ * Band-Schlüssel das erste Review, das dort gelandet ist. Spätere Reviews mit
+ * demselben Schlüssel werden nur mit diesem verglichen.
+ *
+ * Gelesen und geschrieben über ReviewBandRepository (JDBC, Batch-Insert).
+ */
+@Entity
+@IdClass(ReviewBandId.class)
+@Data
+@NoArgsConstructor
+public class ReviewBand {
+
+    @Id
+    private String placeId;
+
+    @Id
+    private long bandKey;
+
+    private long reviewId;
+}
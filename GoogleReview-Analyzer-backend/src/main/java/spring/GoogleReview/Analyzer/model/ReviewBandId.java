@@ -0,0 +1,16 @@
+package spring.GoogleReview.Analyzer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewBandId implements Serializable {
+
+    private String placeId;
+    private long bandKey;
+}
@@ -0,0 +1,23 @@
+package spring.GoogleReview.Analyzer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Schlanke Listenansicht eines Reviews; text ist null, wenn nicht angefordert.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewListItem {
+
+    private Long id;
+    private String author;
+    private int rating;
+    private String reviewDate;
+    private LocalDate reviewedAt;
+    private String text;
+}
@@ -0,0 +1,14 @@
+package spring.GoogleReview.Analyzer.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ReviewPage {
+
+    private List<ReviewListItem> items;
+    // null = letzte Seite
+    private String nextCursor;
+    private int size;
+}
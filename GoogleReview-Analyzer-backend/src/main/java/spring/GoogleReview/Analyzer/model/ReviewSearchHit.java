@@ -0,0 +1,23 @@
+package spring.GoogleReview.Analyzer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Treffer der Volltextsuche; snippet ist HTML-escaped, Suchbegriffe in &lt;em&gt;.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSearchHit {
+
+    private Long id;
+    private String placeId;
+    private int rating;
+    private LocalDate reviewedAt;
+    private double score;
+    private String snippet;
+}
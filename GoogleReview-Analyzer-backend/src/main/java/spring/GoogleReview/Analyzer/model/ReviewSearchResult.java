@@ -0,0 +1,14 @@
+package spring.GoogleReview.Analyzer.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ReviewSearchResult {
+
+    // Anzahl aller Treffer, hits enthält nur die besten (limit)
+    private int total;
+    private long tookMillis;
+    private List<ReviewSearchHit> hits;
+}
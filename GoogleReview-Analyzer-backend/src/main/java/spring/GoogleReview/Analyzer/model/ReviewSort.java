@@ -0,0 +1,34 @@
+package spring.GoogleReview.Analyzer.model;
+
+import java.util.Locale;
+
+/**
+ * Sortierschlüssel der seitenweisen Review-Liste. Die ID ist immer zweiter
+ * Schlüssel, damit der Cursor eindeutig ist.
+ */
+public enum ReviewSort {
+
+    ID("id"),
+    RATING("rating"),
+    DATE("reviewed_at");
+
+    private final String column;
+
+    ReviewSort(String column) {
+        this.column = column;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    /**
+     * @return null bei unbekanntem Wert
+     */
+    public static ReviewSort parse(String value) {
+        for (ReviewSort s : values()) {
+            if (s.name().equals(value.trim().toUpperCase(Locale.ROOT))) return s;
+        }
+        return null;
+    }
+}
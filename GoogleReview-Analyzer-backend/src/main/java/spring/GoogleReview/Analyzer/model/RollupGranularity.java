@@ -0,0 +1,35 @@
+package spring.GoogleReview.Analyzer.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Zeitraster der Rating-Rollups. Der Bucket wird durch sein Startdatum
+ * identifiziert (Woche = Montag wie date_trunc('week') in Postgres).
+ */
+public enum RollupGranularity {
+
+    DAY("day"),
+    WEEK("week"),
+    MONTH("month");
+
+    private final String sqlUnit;
+
+    RollupGranularity(String sqlUnit) {
+        this.sqlUnit = sqlUnit;
+    }
+
+    // Einheit für date_trunc beim Rebuild
+    public String sqlUnit() {
+        return sqlUnit;
+    }
+
+    public LocalDate bucketStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+}
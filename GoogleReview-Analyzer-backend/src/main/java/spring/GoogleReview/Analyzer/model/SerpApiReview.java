@@ -0,0 +1,16 @@
+package spring.GoogleReview.Analyzer.model;
+
+/**
+ * Ein Review aus der SerpAPI-Antwort (engine=google_maps_reviews),
+ * nur die Felder, die beim Import gebraucht werden.
+ *
+ * @param reviewId review_id
+ * @param author   user.name
+ * @param rating   Sterne (0 = fehlt)
+ * @param snippet  Review-Text
+ * @param date     relative Angabe wie "vor 2 Wochen"
+ * @param isoDate  iso_date (exakt, falls vorhanden)
+ */
+public record SerpApiReview(String reviewId, String author, int rating,
+                            String snippet, String date, String isoDate) {
+}
@@ -0,0 +1,41 @@
+package spring.GoogleReview.Analyzer.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Ein vom RefreshScheduler regelmäßig importierter Place inkl. Status des letzten Laufs.
+ * Liegt in der DB → nach einem Neustart geht es beim nächsten fälligen Place weiter.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_tracked_place_next_run", columnList = "status, nextRunAt"))
+@Data
+@NoArgsConstructor
+public class TrackedPlace {
+
+    public enum Status { IDLE, RUNNING, FAILED }
+
+    @Id
+    private String placeId;
+
+    // adaptives Intervall, bewegt sich zwischen min und max
+    private long intervalSeconds;
+    private long minIntervalSeconds;
+    private long maxIntervalSeconds;
+
+    private Instant nextRunAt;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private Instant lastRunAt;
+    // letzter Vollabgleich; dazwischen nur inkrementelle Importe
+    private Instant lastFullSyncAt;
+    private Integer lastInserted;
+    private Long lastDurationMillis;
+    private String lastError;
+    private int consecutiveFailures;
+}
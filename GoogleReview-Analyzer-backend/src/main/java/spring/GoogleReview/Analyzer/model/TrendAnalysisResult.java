@@ -3,12 +3,23 @@ package spring.GoogleReview.Analyzer.model;
 import lombok.Data;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 @Data
 public class TrendAnalysisResult {
 
+    // Schlüssel = Bucket-Start (Tag, Montag der Woche bzw. Monatserster)
+    private RollupGranularity granularity;
     private Map<LocalDate, Double> averageRatingPerDate;
     private Map<LocalDate, Integer> reviewsCountPerDate;
+    // Anzahl 1–5 Sterne
+    private Map<LocalDate, long[]> starHistogramPerDate;
+    // EWMA-geglätteter Durchschnitt
+    private Map<LocalDate, Double> smoothedRatingPerDate;
+    // gewichtete Regression: Sterne pro Monat (null bei < 2 Buckets) und 1 - p-Wert
+    private Double slopePerMonth;
+    private double slopeConfidence;
+    private List<TrendChangePoint> changePoints;
     private String trendSummary;
 }
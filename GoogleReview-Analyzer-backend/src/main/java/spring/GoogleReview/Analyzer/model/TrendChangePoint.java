@@ -0,0 +1,23 @@
+package spring.GoogleReview.Analyzer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Bucket, ab dem sich das Rating-Niveau signifikant verschoben hat.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendChangePoint {
+
+    private LocalDate date;
+    // "UP" oder "DOWN"
+    private String direction;
+    // geglättetes Niveau vor dem Bucket und dessen Durchschnitt
+    private double before;
+    private double after;
+}
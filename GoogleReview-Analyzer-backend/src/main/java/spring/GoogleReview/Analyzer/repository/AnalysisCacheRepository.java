@@ -0,0 +1,7 @@
+package spring.GoogleReview.Analyzer.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import spring.GoogleReview.Analyzer.model.AnalysisCacheEntry;
+
+public interface AnalysisCacheRepository extends JpaRepository<AnalysisCacheEntry, String> {
+}
@@ -0,0 +1,7 @@
+package spring.GoogleReview.Analyzer.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import spring.GoogleReview.Analyzer.model.PlaceAnalysisState;
+
+public interface PlaceAnalysisStateRepository extends JpaRepository<PlaceAnalysisState, String> {
+}
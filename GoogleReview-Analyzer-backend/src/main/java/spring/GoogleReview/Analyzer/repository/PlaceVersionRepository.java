@@ -0,0 +1,23 @@
+package spring.GoogleReview.Analyzer.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import spring.GoogleReview.Analyzer.model.PlaceVersion;
+
+import java.time.Instant;
+
+public interface PlaceVersionRepository extends JpaRepository<PlaceVersion, String> {
+
+    // atomar auch bei parallelen Importen desselben Places
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into place_version (place_id, version, updated_at)
+            values (:placeId, 1, :now)
+            on conflict (place_id) do update set
+                version    = place_version.version + 1,
+                updated_at = excluded.updated_at
+            """)
+    void bump(@Param("placeId") String placeId, @Param("now") Instant now);
+}
@@ -0,0 +1,67 @@
+package spring.GoogleReview.Analyzer.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import spring.GoogleReview.Analyzer.model.RatingRollup;
+import spring.GoogleReview.Analyzer.model.RatingRollupId;
+import spring.GoogleReview.Analyzer.model.RollupGranularity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RatingRollupRepository extends JpaRepository<RatingRollup, RatingRollupId> {
+
+    List<RatingRollup> findByPlaceIdAndGranularityAndBucketStartBetweenOrderByBucketStartAsc(
+            String placeId, RollupGranularity granularity, LocalDate from, LocalDate to);
+
+    // Delta addieren; parallele Importe desselben Places sind durch ON CONFLICT atomar
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into rating_rollup (place_id, granularity, bucket_start, review_count, rating_sum,
+                                       stars1, stars2, stars3, stars4, stars5)
+            values (:placeId, :granularity, :bucketStart, :reviewCount, :ratingSum,
+                    :stars1, :stars2, :stars3, :stars4, :stars5)
+            on conflict (place_id, granularity, bucket_start) do update set
+                review_count = rating_rollup.review_count + excluded.review_count,
+                rating_sum   = rating_rollup.rating_sum   + excluded.rating_sum,
+                stars1       = rating_rollup.stars1       + excluded.stars1,
+                stars2       = rating_rollup.stars2       + excluded.stars2,
+                stars3       = rating_rollup.stars3       + excluded.stars3,
+                stars4       = rating_rollup.stars4       + excluded.stars4,
+                stars5       = rating_rollup.stars5       + excluded.stars5
+            """)
+    void upsert(@Param("placeId") String placeId,
+                @Param("granularity") String granularity,
+                @Param("bucketStart") LocalDate bucketStart,
+                @Param("reviewCount") long reviewCount,
+                @Param("ratingSum") long ratingSum,
+                @Param("stars1") long stars1,
+                @Param("stars2") long stars2,
+                @Param("stars3") long stars3,
+                @Param("stars4") long stars4,
+                @Param("stars5") long stars5);
+
+    @Modifying
+    @Query("delete from RatingRollup r where r.placeId = :placeId")
+    int deleteByPlace(@Param("placeId") String placeId);
+
+    // Neuaufbau aus der review-Tabelle (GROUP BY über Spaltenposition, da :unit ein Parameter ist)
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into rating_rollup (place_id, granularity, bucket_start, review_count, rating_sum,
+                                       stars1, stars2, stars3, stars4, stars5)
+            select place_id, :granularity, cast(date_trunc(:unit, cast(reviewed_at as timestamp)) as date),
+                   count(*), sum(rating),
+                   count(*) filter (where rating = 1), count(*) filter (where rating = 2),
+                   count(*) filter (where rating = 3), count(*) filter (where rating = 4),
+                   count(*) filter (where rating = 5)
+            from review
+            where place_id = :placeId and reviewed_at is not null
+            group by 1, 3
+            """)
+    int rebuild(@Param("placeId") String placeId,
+                @Param("granularity") String granularity,
+                @Param("unit") String unit);
+}
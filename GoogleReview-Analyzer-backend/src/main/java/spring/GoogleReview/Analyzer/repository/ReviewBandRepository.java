@@ -0,0 +1,64 @@
+package spring.GoogleReview.Analyzer.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LSH-Buckets der Copy/Paste-Erkennung (Tabelle review_band, siehe ReviewBand).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReviewBandRepository {
+
+    // Parameter pro IN-Liste
+    private static final int CHUNK = 1000;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * @return Band-Schlüssel → erstes Review im Bucket, nur für vorhandene Schlüssel
+     */
+    public Map<Long, Long> findRepresentatives(String placeId, Collection<Long> bandKeys) {
+        Map<Long, Long> representatives = new HashMap<>();
+        List<Long> keys = new ArrayList<>(bandKeys);
+        for (int i = 0; i < keys.size(); i += CHUNK) {
+            jdbc.query("select band_key, review_id from review_band where place_id = :placeId and band_key in (:keys)",
+                    new MapSqlParameterSource()
+                            .addValue("placeId", placeId)
+                            .addValue("keys", keys.subList(i, Math.min(i + CHUNK, keys.size()))),
+                    rs -> {
+                        representatives.put(rs.getLong("band_key"), rs.getLong("review_id"));
+                    });
+        }
+        return representatives;
+    }
+
+    /**
+     * Legt neue Buckets an; ein schon belegter Schlüssel behält sein erstes Review.
+     */
+    public void insert(String placeId, Map<Long, Long> representatives) {
+        if (representatives.isEmpty()) return;
+
+        SqlParameterSource[] rows = representatives.entrySet().stream()
+                .map(e -> new MapSqlParameterSource()
+                        .addValue("placeId", placeId)
+                        .addValue("bandKey", e.getKey())
+                        .addValue("reviewId", e.getValue()))
+                .toArray(SqlParameterSource[]::new);
+
+        jdbc.batchUpdate("""
+                insert into review_band (place_id, band_key, review_id)
+                values (:placeId, :bandKey, :reviewId)
+                on conflict (place_id, band_key) do nothing
+                """, rows);
+    }
+}
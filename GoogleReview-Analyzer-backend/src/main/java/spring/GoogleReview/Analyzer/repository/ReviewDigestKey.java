@@ -0,0 +1,9 @@
+package spring.GoogleReview.Analyzer.repository;
+
+/**
+ * Projektion für den Digest der Review-Menge eines Places (siehe AnalysisCacheService).
+ */
+public interface ReviewDigestKey {
+    Long getId();
+    Long getFingerprint();
+}
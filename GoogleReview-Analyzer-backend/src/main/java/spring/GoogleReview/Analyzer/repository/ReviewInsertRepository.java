@@ -0,0 +1,79 @@
+package spring.GoogleReview.Analyzer.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import spring.GoogleReview.Analyzer.model.Review;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Einfügen neuer Reviews per nativem Batch-Insert.
+ *
+ * Ein paralleler Import desselben Places (manuell + RefreshScheduler) kann dieselben
+ * Reviews zwischen Duplikatprüfung und Insert gespeichert haben → on conflict do nothing
+ * überspringt sie (externalId bzw. Fingerprint bei Reviews ohne externalId), statt die
+ * ganze Transaktion mit einer Constraint-Verletzung abzubrechen.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReviewInsertRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Vergibt die IDs aus review_seq und setzt sie an den Reviews.
+     *
+     * @return nur die tatsächlich eingefügten Reviews, in Eingabereihenfolge
+     */
+    public List<Review> insertNew(List<Review> reviews) {
+        if (reviews.isEmpty()) return List.of();
+
+        List<Long> ids = jdbc.queryForList(
+                "select nextval('review_seq') from generate_series(1, :count)",
+                new MapSqlParameterSource("count", reviews.size()), Long.class);
+
+        SqlParameterSource[] rows = new SqlParameterSource[reviews.size()];
+        for (int i = 0; i < rows.length; i++) {
+            Review review = reviews.get(i);
+            review.setId(ids.get(i));
+            rows[i] = new MapSqlParameterSource()
+                    .addValue("id", review.getId())
+                    .addValue("placeId", review.getPlaceId())
+                    .addValue("author", review.getAuthor())
+                    .addValue("rating", review.getRating())
+                    .addValue("text", review.getText())
+                    .addValue("reviewDate", review.getReviewDate())
+                    .addValue("reviewedAt", review.getReviewedAt())
+                    .addValue("externalId", review.getExternalId())
+                    .addValue("fingerprint", review.getFingerprint())
+                    .addValue("categoryMask", review.getCategoryMask())
+                    .addValue("analyzed", review.isAnalyzed());
+        }
+
+        jdbc.batchUpdate("""
+                insert into review (id, place_id, author, rating, text, review_date, reviewed_at,
+                                    external_id, fingerprint, category_mask, analyzed)
+                values (:id, :placeId, :author, :rating, :text, :reviewDate, :reviewedAt,
+                        :externalId, :fingerprint, :categoryMask, :analyzed)
+                on conflict do nothing
+                """, rows);
+
+        // Update-Counts taugen nicht: mit reWriteBatchedInserts meldet der Treiber SUCCESS_NO_INFO.
+        // Die IDs sind frisch aus der Sequenz → vorhanden heißt von diesem Insert geschrieben
+        Set<Long> written = new HashSet<>(jdbc.queryForList("select id from review where id in (:ids)",
+                new MapSqlParameterSource("ids", ids), Long.class));
+
+        List<Review> inserted = new ArrayList<>();
+        for (Review review : reviews) {
+            if (written.contains(review.getId())) inserted.add(review);
+            else review.setId(null);
+        }
+        return inserted;
+    }
+}
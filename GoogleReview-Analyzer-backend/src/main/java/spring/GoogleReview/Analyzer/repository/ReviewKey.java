@@ -0,0 +1,9 @@
+package spring.GoogleReview.Analyzer.repository;
+
+/**
+ * Projektion für die Duplikatprüfung – lädt nur die Schlüsselspalten.
+ */
+public interface ReviewKey {
+    String getExternalId();
+    Long getFingerprint();
+}
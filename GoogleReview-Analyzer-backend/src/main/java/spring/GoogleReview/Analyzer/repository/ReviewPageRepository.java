@@ -0,0 +1,106 @@
+package spring.GoogleReview.Analyzer.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import spring.GoogleReview.Analyzer.model.ReviewListItem;
+import spring.GoogleReview.Analyzer.model.ReviewSort;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keyset-Pagination über (place_id, sortKey, id).
+ *
+ * Statt OFFSET wird ab dem letzten gelieferten Schlüssel weitergelesen
+ * (Row-Value-Vergleich), damit jede Seite ein Index-Range-Scan über
+ * idx_review_place_id, idx_review_place_rating bzw. idx_review_place_date bleibt – unabhängig davon,
+ * wie weit hinten die Seite liegt. Geladen werden nur die Listenspalten,
+ * der TEXT nur auf Wunsch.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReviewPageRepository {
+
+    private static final RowMapper<ReviewListItem> ROW_MAPPER = (rs, i) -> new ReviewListItem(
+            rs.getLong("id"),
+            rs.getString("author"),
+            rs.getInt("rating"),
+            rs.getString("review_date"),
+            rs.getObject("reviewed_at", LocalDate.class),
+            rs.getString("text"));
+
+    /**
+     * Cursor-Schlüssel für Reviews ohne Datum. Postgres sortiert NULL als größten Wert
+     * (asc: am Ende, desc: am Anfang) – passend dazu der größte long.
+     */
+    public static final long NULL_DATE_KEY = Long.MAX_VALUE;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * @param afterKey    Sortierwert des letzten Elements der Vorseite (null = erste Seite)
+     * @param afterId     ID des letzten Elements der Vorseite
+     * @param categoryMasks Maskenwerte aus CategoryClassifier.masksContaining; leer = kein Kategorie-Filter
+     * @param limit       Anzahl Zeilen
+     */
+    public List<ReviewListItem> findPage(String placeId, ReviewSort sort, boolean descending,
+                                         Long afterKey, Long afterId, List<Integer> categoryMasks,
+                                         boolean includeText, int limit) {
+
+        // sort kommt aus einem Enum, direction ist boolesch → keine SQL-Injection möglich
+        String column = sort.column();
+        String direction = descending ? "desc" : "asc";
+
+        StringBuilder sql = new StringBuilder()
+                .append("select id, author, rating, review_date, reviewed_at, ")
+                .append(includeText ? "text" : "null as text")
+                .append(" from review where place_id = :placeId");
+
+        if (afterId != null) {
+            String cmp = descending ? " < " : " > ";
+            if (sort == ReviewSort.ID) {
+                sql.append(" and id").append(cmp).append(":afterId");
+            } else if (sort == ReviewSort.DATE) {
+                sql.append(dateAfter(descending, afterKey != null && afterKey == NULL_DATE_KEY));
+            } else {
+                sql.append(" and (").append(column).append(", id)").append(cmp).append("(:afterKey, :afterId)");
+            }
+        }
+        // derselbe Filter wie ReviewRepository.findByPlaceIdAndCategoryMaskIn
+        if (!categoryMasks.isEmpty()) {
+            sql.append(" and category_mask in (:categoryMasks)");
+        }
+
+        sql.append(" order by ");
+        if (sort != ReviewSort.ID) {
+            sql.append(column).append(' ').append(direction).append(", ");
+        }
+        sql.append("id ").append(direction).append(" limit :limit");
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("placeId", placeId)
+                // Datumsschlüssel steckt im Cursor als Epoch-Day
+                .addValue("afterKey", sort == ReviewSort.DATE && afterKey != null
+                        ? (afterKey == NULL_DATE_KEY ? null : LocalDate.ofEpochDay(afterKey)) : afterKey)
+                .addValue("afterId", afterId)
+                .addValue("categoryMasks", categoryMasks.isEmpty() ? null : categoryMasks)
+                .addValue("limit", limit);
+
+        return jdbc.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    // Row-Value-Vergleich ist bei NULL unbestimmt → Reviews ohne Datum explizit einordnen
+    private static String dateAfter(boolean descending, boolean afterNull) {
+        if (descending) {
+            return afterNull
+                    ? " and ((reviewed_at is null and id < :afterId) or reviewed_at is not null)"
+                    : " and (reviewed_at, id) < (:afterKey, :afterId)";
+        }
+        return afterNull
+                ? " and reviewed_at is null and id > :afterId"
+                : " and ((reviewed_at, id) > (:afterKey, :afterId) or reviewed_at is null)";
+    }
+}
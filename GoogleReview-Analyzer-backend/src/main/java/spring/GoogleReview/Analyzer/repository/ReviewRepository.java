@@ -1,13 +1,67 @@
 package spring.GoogleReview.Analyzer.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import spring.GoogleReview.Analyzer.model.Review;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     List<Review> findByPlaceId(String placeId);
-    boolean existsByExternalId(String externalId);
+
+    // Kategorie-Filter über idx_review_place_category
+    List<Review> findByPlaceIdAndCategoryMaskIn(String placeId, Collection<Integer> categoryMasks);
+
+    // Delta seit der letzten inkrementellen Analyse
+    List<Review> findByPlaceIdAndAnalyzedFalseOrderByIdAsc(String placeId);
+
+    // Neuaufbau des Analysezustands in ID-Blöcken über idx_review_place_analyzed
+    List<Review> findTop1000ByPlaceIdAndAnalyzedTrueAndIdGreaterThanOrderByIdAsc(String placeId, Long id);
+
+    @Modifying
+    @Query("update Review r set r.analyzed = true where r.id in :ids")
+    int markAnalyzed(@Param("ids") Collection<Long> ids);
+
+    // Grundlage des Bloom-Filters für den inkrementellen Import
+    @Query("select r.externalId from Review r where r.placeId = :placeId and r.externalId is not null")
+    List<String> findExternalIdsByPlaceId(@Param("placeId") String placeId);
+
+    // Duplikatprüfung: eine Abfrage pro Seite bzw. Batch statt einer pro Review
+    @Query("select r.externalId as externalId, r.fingerprint as fingerprint from Review r " +
+            "where r.externalId in :externalIds")
+    List<ReviewKey> findExistingKeys(@Param("externalIds") Collection<String> externalIds);
+
+    // Fallback für Reviews ohne externalId – nur unter ihresgleichen (siehe uk_review_fingerprint_without_id)
+    @Query("select r.externalId as externalId, r.fingerprint as fingerprint from Review r " +
+            "where r.externalId is null and r.fingerprint in :fingerprints")
+    List<ReviewKey> findExistingKeysByFingerprints(@Param("fingerprints") Collection<Long> fingerprints);
+
+    // Fake-Erkennung: Reviews von Autoren mit mehreren Reviews am Place (Gruppierung in der DB)
+    @Query("select r from Review r where r.placeId = :placeId and lower(trim(r.author)) in (" +
+            "select lower(trim(a.author)) from Review a where a.placeId = :placeId " +
+            "and a.author is not null and a.author <> 'Unknown' and trim(a.author) <> '' " +
+            "group by lower(trim(a.author)) having count(a) > 1)")
+    List<Review> findWithRepeatedAuthor(@Param("placeId") String placeId);
+
+    // Fake-Erkennung: vom LLM gemeldete IDs, auf den Place eingeschränkt
+    List<Review> findByIdInAndPlaceId(Collection<Long> ids, String placeId);
+
+    // Fake-Erkennung: Mitglieder eines Bursts (gleicher Tag, gleiche Sterne)
+    List<Review> findByPlaceIdAndReviewedAtAndRating(String placeId, LocalDate reviewedAt, int rating);
+
+    // Aufbau des Suchindex in ID-Blöcken
+    List<Review> findTop1000ByIdGreaterThanOrderByIdAsc(Long id);
+
+    @Query("select coalesce(max(r.id), 0) from Review r")
+    long findMaxId();
+
+    @Query("select r.id as id, r.fingerprint as fingerprint from Review r " +
+            "where r.placeId = :placeId order by r.id")
+    List<ReviewDigestKey> findDigestKeysByPlaceId(@Param("placeId") String placeId);
 
 }
@@ -0,0 +1,23 @@
+package spring.GoogleReview.Analyzer.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import spring.GoogleReview.Analyzer.model.TrackedPlace;
+import spring.GoogleReview.Analyzer.model.TrackedPlace.Status;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TrackedPlaceRepository extends JpaRepository<TrackedPlace, String> {
+
+    // fällige Places (Sortierung/Anzahl über Pageable)
+    List<TrackedPlace> findByStatusNotAndNextRunAtLessThanEqual(Status status, Instant now, Pageable pageable);
+
+    // Läufe, die ein Neustart unterbrochen hat, sofort wieder einplanen
+    @Modifying
+    @Query("update TrackedPlace t set t.status = :idle, t.nextRunAt = :now where t.status = :running")
+    int resetInterrupted(@Param("running") Status running, @Param("idle") Status idle, @Param("now") Instant now);
+}
@@ -0,0 +1,124 @@
+package spring.GoogleReview.Analyzer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import spring.GoogleReview.Analyzer.model.AnalysisCacheEntry;
+import spring.GoogleReview.Analyzer.model.AnalysisResult;
+import spring.GoogleReview.Analyzer.repository.AnalysisCacheRepository;
+import spring.GoogleReview.Analyzer.repository.ReviewDigestKey;
+import spring.GoogleReview.Analyzer.repository.ReviewRepository;
+import spring.GoogleReview.Analyzer.util.LruTtlCache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Zweistufiger Cache für KI-Analysen:
+ * In-Memory (LRU + TTL) vor einer DB-Tabelle, die Neustarts überlebt.
+ *
+ * Schlüssel ist die Place-ID plus ein Digest über (ID, Fingerprint) aller Reviews
+ * und die Prompt-Version – ändert sich eins davon, ist der Eintrag automatisch ungültig.
+ */
+@Service
+public class AnalysisCacheService {
+
+    private record CachedAnalysis(String digest, AnalysisResult result) {
+    }
+
+    private final ReviewRepository reviewRepository;
+    private final AnalysisCacheRepository cacheRepository;
+    private final LruTtlCache<String, CachedAnalysis> memory;
+    private final ObjectMapper mapper;
+
+    public AnalysisCacheService(
+            ReviewRepository reviewRepository,
+            AnalysisCacheRepository cacheRepository,
+            ObjectMapper mapper,
+            @Value("${analysis.cache.max-entries:500}") int maxEntries,
+            @Value("${analysis.cache.ttl:6h}") Duration ttl) {
+        this.reviewRepository = reviewRepository;
+        this.cacheRepository = cacheRepository;
+        this.mapper = mapper;
+        this.memory = new LruTtlCache<>(maxEntries, ttl);
+    }
+
+    /**
+     * SHA-256 über Prompt-Version und alle (ID, Fingerprint)-Paare, sortiert nach ID.
+     */
+    public String digest(String placeId) {
+        List<ReviewDigestKey> keys = reviewRepository.findDigestKeysByPlaceId(placeId);
+
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        sha.update(AnalysisPrompts.PROMPT_VERSION.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer buf = ByteBuffer.allocate(16);
+        for (ReviewDigestKey key : keys) {
+            buf.clear();
+            buf.putLong(key.getId());
+            buf.putLong(key.getFingerprint() == null ? 0L : key.getFingerprint());
+            sha.update(buf.array());
+        }
+        return HexFormat.of().formatHex(sha.digest());
+    }
+
+    public AnalysisResult get(String placeId, String digest) {
+
+        CachedAnalysis cached = memory.get(placeId);
+        if (cached != null && cached.digest().equals(digest)) {
+            return cached.result();
+        }
+
+        AnalysisCacheEntry entry = cacheRepository.findById(placeId).orElse(null);
+        if (entry == null || !entry.getDigest().equals(digest)) {
+            return null;
+        }
+
+        try {
+            AnalysisResult result = mapper.readValue(entry.getResultJson(), AnalysisResult.class);
+            memory.put(placeId, new CachedAnalysis(digest, result));
+            return result;
+        } catch (Exception e) {
+            // Unlesbarer Eintrag (z. B. altes Format) → wie Cache-Miss behandeln
+            return null;
+        }
+    }
+
+    @Transactional
+    public void put(String placeId, String digest, AnalysisResult result) {
+
+        memory.put(placeId, new CachedAnalysis(digest, result));
+
+        AnalysisCacheEntry entry = new AnalysisCacheEntry();
+        entry.setPlaceId(placeId);
+        entry.setDigest(digest);
+        entry.setCreatedAt(Instant.now());
+        try {
+            entry.setResultJson(mapper.writeValueAsString(result));
+        } catch (Exception e) {
+            throw new IllegalStateException("Analyse konnte nicht serialisiert werden", e);
+        }
+        cacheRepository.save(entry);
+    }
+
+    /**
+     * Verwirft den Cache eines einzelnen Places, z. B. nach einem Import.
+     */
+    @Transactional
+    public void invalidate(String placeId) {
+        memory.remove(placeId);
+        cacheRepository.deleteById(placeId);
+    }
+}
@@ -0,0 +1,283 @@
+package spring.GoogleReview.Analyzer.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import spring.GoogleReview.Analyzer.exception.JobNotFoundException;
+import spring.GoogleReview.Analyzer.model.AnalysisJobStatus;
+import spring.GoogleReview.Analyzer.model.AnalysisJobStatus.State;
+import spring.GoogleReview.Analyzer.model.AnalysisResult;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Asynchrone Analyse-Jobs: der Request-Thread gibt sofort eine Job-ID zurück,
+ * die Analyse läuft auf einem begrenzten Executor.
+ * Mehrere Anfragen für denselben Place teilen sich einen laufenden Job.
+ * Fortschritt kann per Status-Abfrage oder als Server-Sent-Events abonniert werden;
+ * die Events werden außerhalb des Job-Locks auf dem sseExecutor verschickt.
+ */
+@Service
+public class AnalysisJobService {
+
+    private final ReviewAnalysisService analysisService;
+    private final AsyncTaskExecutor jobExecutor;
+    private final Executor sseExecutor;
+    private final Duration retention;
+    private final long sseTimeoutMillis;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Job> activeByPlace = new ConcurrentHashMap<>();
+
+    public AnalysisJobService(
+            ReviewAnalysisService analysisService,
+            @Qualifier("analysisJobExecutor") AsyncTaskExecutor jobExecutor,
+            @Qualifier("sseExecutor") Executor sseExecutor,
+            @Value("${analysis.jobs.retention:1h}") Duration retention,
+            @Value("${analysis.jobs.sse-timeout:10m}") Duration sseTimeout) {
+        this.analysisService = analysisService;
+        this.jobExecutor = jobExecutor;
+        this.sseExecutor = sseExecutor;
+        this.retention = retention;
+        this.sseTimeoutMillis = sseTimeout.toMillis();
+    }
+
+    /**
+     * Startet einen Job oder liefert den bereits laufenden Job dieses Places.
+     */
+    public AnalysisJobStatus submit(String placeId) {
+        evictFinished();
+
+        Job job = new Job(UUID.randomUUID().toString(), placeId, sseExecutor);
+        Job running = activeByPlace.putIfAbsent(placeId, job);
+        if (running != null) return running.snapshot();
+
+        // erst registrieren, dann starten – sonst kann der Job laufen (und fertig sein),
+        // bevor status() ihn findet; und kein Executor-Aufruf innerhalb der Map-Operation
+        jobs.put(job.id, job);
+        try {
+            jobExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            activeByPlace.remove(placeId, job);
+            throw e;
+        }
+        return job.snapshot();
+    }
+
+    public AnalysisJobStatus status(String jobId) {
+        return find(jobId).snapshot();
+    }
+
+    public SseEmitter subscribe(String jobId) {
+        Job job = find(jobId);
+
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        emitter.onCompletion(() -> job.unsubscribe(emitter));
+        emitter.onTimeout(() -> job.unsubscribe(emitter));
+        emitter.onError(e -> job.unsubscribe(emitter));
+
+        // der aktuelle Stand (bzw. das Endergebnis) geht mit dem nächsten Versand raus
+        job.subscribe(emitter);
+        return emitter;
+    }
+
+    private void run(Job job) {
+        job.update(s -> s.setState(State.RUNNING));
+        try {
+            AnalysisResult result = analysisService.analyzeReviews(job.placeId, new AnalysisProgressListener() {
+                @Override
+                public void onChunkDone(int done, int total, AnalysisResult partial) {
+                    job.update(s -> {
+                        s.setChunksDone(done);
+                        s.setChunksTotal(total);
+                    });
+                }
+
+                // lokal berechnet → steht vor dem ersten OpenAI-Aufruf fest
+                @Override
+                public void onKeywords(Map<String, Integer> topKeywords) {
+                    job.update(s -> s.setPartialKeywords(topKeywords));
+                }
+            });
+
+            job.update(s -> {
+                s.setResult(result);
+                s.setState(State.DONE);
+                s.setFinishedAt(Instant.now());
+            });
+        } catch (Exception e) {
+            job.update(s -> {
+                s.setError(e.getMessage());
+                s.setState(State.FAILED);
+                s.setFinishedAt(Instant.now());
+            });
+        } finally {
+            activeByPlace.remove(job.placeId, job);
+        }
+    }
+
+    private Job find(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) throw new JobNotFoundException(jobId);
+        return job;
+    }
+
+    private void evictFinished() {
+        Instant limit = Instant.now().minus(retention);
+        jobs.values().removeIf(j -> {
+            Instant finished = j.snapshot().getFinishedAt();
+            return finished != null && finished.isBefore(limit);
+        });
+    }
+
+    private static boolean isFinished(AnalysisJobStatus s) {
+        return s.getState() == State.DONE || s.getState() == State.FAILED;
+    }
+
+    private static String eventName(AnalysisJobStatus s) {
+        return switch (s.getState()) {
+            case DONE -> "done";
+            case FAILED -> "failed";
+            default -> "progress";
+        };
+    }
+
+    private static boolean send(SseEmitter emitter, String name, AnalysisJobStatus status) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(status));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private static final class Job {
+
+        private final String id;
+        private final String placeId;
+        private final Executor sseExecutor;
+        private final AnalysisJobStatus status = new AnalysisJobStatus();
+
+        // nur unter dem Lock des Jobs
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private long version;
+        private boolean dispatching;
+
+        private Job(String id, String placeId, Executor sseExecutor) {
+            this.id = id;
+            this.placeId = placeId;
+            this.sseExecutor = sseExecutor;
+            status.setJobId(id);
+            status.setPlaceId(placeId);
+            status.setState(State.QUEUED);
+            status.setCreatedAt(Instant.now());
+        }
+
+        synchronized AnalysisJobStatus snapshot() {
+            AnalysisJobStatus copy = new AnalysisJobStatus();
+            copy.setJobId(status.getJobId());
+            copy.setPlaceId(status.getPlaceId());
+            copy.setState(status.getState());
+            copy.setChunksDone(status.getChunksDone());
+            copy.setChunksTotal(status.getChunksTotal());
+            copy.setPartialKeywords(status.getPartialKeywords());
+            copy.setResult(status.getResult());
+            copy.setError(status.getError());
+            copy.setCreatedAt(status.getCreatedAt());
+            copy.setFinishedAt(status.getFinishedAt());
+            return copy;
+        }
+
+        /**
+         * Ändert den Status und stößt den Versand an die SSE-Abonnenten an.
+         * Läuft u. a. auf dem Netty-Event-Loop (onChunkDone) → hier kein I/O.
+         */
+        void update(Consumer<AnalysisJobStatus> change) {
+            synchronized (this) {
+                change.accept(status);
+                version++;
+            }
+            dispatch();
+        }
+
+        void subscribe(SseEmitter emitter) {
+            synchronized (this) {
+                subscribers.add(new Subscriber(emitter));
+            }
+            dispatch();
+        }
+
+        synchronized void unsubscribe(SseEmitter emitter) {
+            subscribers.removeIf(s -> s.emitter == emitter);
+        }
+
+        // höchstens ein Versand pro Job gleichzeitig → Events kommen in Reihenfolge an
+        private void dispatch() {
+            synchronized (this) {
+                if (dispatching) return;
+                dispatching = true;
+            }
+            sseExecutor.execute(this::drain);
+        }
+
+        /**
+         * Verschickt den jeweils neuesten Stand an alle Abonnenten, die ihn noch nicht haben.
+         * Zwischenstände, die während eines langsamen Versands entstehen, werden
+         * zusammengefasst; der Endzustand ist immer der letzte und geht immer raus.
+         */
+        private void drain() {
+            while (true) {
+                AnalysisJobStatus snapshot;
+                long sentVersion;
+                List<Subscriber> targets = new ArrayList<>();
+                synchronized (this) {
+                    sentVersion = version;
+                    for (Subscriber s : subscribers) {
+                        if (s.sentVersion < sentVersion) targets.add(s);
+                    }
+                    if (targets.isEmpty()) {
+                        dispatching = false;
+                        return;
+                    }
+                    snapshot = snapshot();
+                }
+
+                String name = eventName(snapshot);
+                boolean finished = isFinished(snapshot);
+                for (Subscriber s : targets) {
+                    s.sentVersion = sentVersion;
+                    if (!send(s.emitter, name, snapshot)) {
+                        unsubscribe(s.emitter);
+                    } else if (finished) {
+                        s.emitter.complete();
+                        unsubscribe(s.emitter);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        // nur vom laufenden drain() gelesen/geschrieben; Übergabe zwischen Threads über das dispatching-Flag
+        private long sentVersion = -1;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package spring.GoogleReview.Analyzer.service;
+
+import spring.GoogleReview.Analyzer.model.AnalysisResult;
+
+import java.util.Map;
+
+/**
+ * Fortschritt der Chunk-Analyse.
+ *
+ * onChunkDone wird aus der Reactor-Pipeline aufgerufen, also auf den Netty-Threads
+ * des WebClient, die die OpenAI-Antworten verarbeiten – Implementierungen dürfen
+ * dort nicht blockieren (kein I/O, keine langen Locks). onKeywords läuft vorher auf
+ * dem aufrufenden Thread der Analyse.
+ */
+@FunctionalInterface
+public interface AnalysisProgressListener {
+
+    AnalysisProgressListener NONE = (done, total, partial) -> {
+    };
+
+    void onChunkDone(int chunksDone, int chunksTotal, AnalysisResult partial);
+
+    /**
+     * Top-Keywords aus der lokalen Keyword-Statistik, vor den OpenAI-Aufrufen.
+     */
+    default void onKeywords(Map<String, Integer> topKeywords) {
+    }
+}
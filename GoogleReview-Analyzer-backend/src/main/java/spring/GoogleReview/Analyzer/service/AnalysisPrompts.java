@@ -0,0 +1,114 @@
+package spring.GoogleReview.Analyzer.service;
+
+/**
+ * Prompt-Texte für die OpenAI-Analyse.
+ */
+public final class AnalysisPrompts {
+
+    /**
+     * Bei jeder inhaltlichen Änderung der Prompts erhöhen –
+     * sonst liefert der Analyse-Cache Ergebnisse des alten Prompts.
+     */
+    public static final String PROMPT_VERSION = "4";
+
+    private AnalysisPrompts() {
+    }
+
+    // -------------------------------------------------------
+    // ⭐ OPENAI PROMPT – IDs MÜSSEN GENUTZT WERDEN
+    // -------------------------------------------------------
+    public static final String ANALYSIS_PROMPT = """
+Du bist ein professioneller Review-Analyst.
+
+Hier sind die Reviews, eine Zeile pro Review im Format:
+ID|STERNE|TEXT
+
+Haben mehrere Reviews exakt denselben Text und dieselben Sterne, stehen alle IDs
+kommagetrennt vorne (z. B. 12,45,78|5|Sehr gut!) – jede ID zählt als eigenes Review.
+Gekürzte Texte enden mit "…". Reviews ohne Text sind nicht enthalten.
+
+Du MUSST diese IDs verwenden — du darfst KEINE eigene ID erfinden.
+
+Antworte IMMER als valides JSON:
+
+{
+  "summary": "",
+  "monthly_trend": {},
+  "fake_reviews": [
+    { "review_id": 12, "probability": 0.87 }
+  ]
+}
+
+#############################################################
+### WICHTIGE ANWEISUNGEN — STRIKT EINHALTEN! ###
+#############################################################
+
+SUMMARY-REGELN:
+- Die Summary muss **zuerst** eine Bewertung der Gesamtsituation enthalten.
+- Danach MUSST du eine **NEUE ZEILE** machen.
+- Danach MUSST du die Überschrift schreiben:
+  "Verbesserungsvorschläge:"
+- Direkt darunter MUSST du mindestens **2 Bullet Points** liefern.
+- Beispiel (FORMAT IST PFLICHT):
+  
+  "Verbesserungsvorschläge:
+   • Wartezeiten reduzieren
+   • Speisekarte erweitern"
+
+KEIN ANDERES FORMAT IST ERLAUBT.
+
+FAKE REVIEW ERKENNUNG:
+Markiere nur Reviews als Fake, wenn mehrere klare Spam- oder KI-Muster gleichzeitig auftreten:
+- extrem generische Inhalte
+- Copy/Paste ähnliche Formulierungen
+- widersprüchliche Inhalte
+- Werbung oder Spam-Anmutung
+- KI-typische Floskeln
+- realitätsferne Behauptungen
+- nur schlechte Bewertung  ohne Begründungen 
+
+WICHTIG:
+- Normale positive Bewertungen dürfen NICHT als Fake markiert werden.
+- Nur eindeutige Fälle markieren.
+- probability realistisch zwischen 0.50 und 0.90.
+- Ein Review ohne Text (nur Sterne) darf NICHT als Fake markiert werden,
+  außer es existiert ein klarer Spam-Verdacht (z. B. viele identische Bewertungen
+  in sehr kurzer Zeit). Wenn kein Text vorhanden ist, probability = 0.
+
+
+AUSGABE:
+- Nur JSON, keine Erklärungen.
+- Keine zusätzlichen Felder.
+
+Reviews:
+""";
+
+    // -------------------------------------------------------
+    // ⭐ ABSCHLUSS-PROMPT für die Zusammenfassung über alle Teile
+    // -------------------------------------------------------
+    public static final String SUMMARY_PROMPT = """
+Du bist ein professioneller Review-Analyst.
+
+Die Reviews eines Restaurants wurden in mehreren Teilen analysiert.
+Unten stehen die zusammengeführten Kennzahlen und die Zusammenfassungen der einzelnen Teile.
+Erstelle daraus EINE gemeinsame Summary für alle Reviews.
+
+Antworte IMMER als valides JSON:
+
+{
+  "summary": ""
+}
+
+SUMMARY-REGELN:
+- Die Summary muss **zuerst** eine Bewertung der Gesamtsituation enthalten.
+- Danach MUSST du eine **NEUE ZEILE** machen.
+- Danach MUSST du die Überschrift schreiben:
+  "Verbesserungsvorschläge:"
+- Direkt darunter MUSST du mindestens **2 Bullet Points** liefern.
+
+AUSGABE:
+- Nur JSON, keine Erklärungen.
+- Keine zusätzlichen Felder.
+
+""";
+}
@@ -0,0 +1,41 @@
+package spring.GoogleReview.Analyzer.service;
+
+import org.springframework.stereotype.Service;
+import spring.GoogleReview.Analyzer.CategoryProperties;
+import spring.GoogleReview.Analyzer.SentimentProperties;
+import spring.GoogleReview.Analyzer.model.Review;
+import spring.GoogleReview.Analyzer.util.AspectCounts;
+import spring.GoogleReview.Analyzer.util.AspectSentimentAnalyzer;
+
+import java.util.List;
+
+/**
+ * Kategorie-Zähler (categories im Analyseergebnis) aus den lokalen Lexika
+ * statt aus der OpenAI-Analyse. Aspekte = review.categories, Polarität = sentiment.*.
+ */
+@Service
+public class AspectSentimentService {
+
+    private final AspectSentimentAnalyzer analyzer;
+
+    public AspectSentimentService(CategoryProperties categories, SentimentProperties sentiment) {
+        this.analyzer = new AspectSentimentAnalyzer(categories.getCategories(),
+                sentiment.getPositive(), sentiment.getNegative(),
+                sentiment.getNegations(), sentiment.getIntensifiers());
+    }
+
+    public AspectCounts count(List<Review> reviews) {
+        return analyzer.countAll(reviews, Review::getText, Review::getRating);
+    }
+
+    public AspectCounts empty() {
+        return new AspectCounts(analyzer.aspects());
+    }
+
+    /**
+     * @return false, wenn gespeicherte Zähler zu einer anderen Kategorie-Konfiguration gehören
+     */
+    public boolean compatible(AspectCounts counts) {
+        return analyzer.aspects().equals(counts.getAspects());
+    }
+}
@@ -0,0 +1,68 @@
+package spring.GoogleReview.Analyzer.service;
+
+import org.springframework.stereotype.Service;
+import spring.GoogleReview.Analyzer.CategoryProperties;
+import spring.GoogleReview.Analyzer.util.AhoCorasick;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Ordnet Review-Texte beim Import den konfigurierten Kategorien zu.
+ *
+ * Alle Schlüsselwörter stecken in einem einzigen Aho-Corasick-Automaten,
+ * das Ergebnis ist eine Bitmaske (Bit i = i-te Kategorie), die in
+ * Review.categoryMask gespeichert wird.
+ */
+@Service
+public class CategoryClassifier {
+
+    // 2^(n-1) Masken pro Kategorie im IN-Filter → klein halten
+    static final int MAX_CATEGORIES = 8;
+
+    private final Map<String, Integer> bits = new LinkedHashMap<>();
+    private final AhoCorasick automaton;
+
+    public CategoryClassifier(CategoryProperties properties) {
+
+        if (properties.getCategories().size() > MAX_CATEGORIES) {
+            throw new IllegalStateException("Maximal " + MAX_CATEGORIES + " Review-Kategorien konfigurierbar");
+        }
+
+        Map<String, Long> patterns = new HashMap<>();
+        int bit = 0;
+        for (Map.Entry<String, List<String>> e : properties.getCategories().entrySet()) {
+            bits.put(e.getKey().toLowerCase(Locale.ROOT), bit);
+            for (String keyword : e.getValue()) {
+                patterns.merge(keyword, 1L << bit, (x, y) -> x | y);
+            }
+            bit++;
+        }
+        this.automaton = AhoCorasick.build(patterns);
+    }
+
+    public int classify(String text) {
+        return (int) automaton.match(text);
+    }
+
+    /**
+     * Alle gespeicherten Maskenwerte, die die Kategorie enthalten – für
+     * "categoryMask in (...)" über den Index statt eines Bit-Tests pro Zeile.
+     * Einzige Form des Kategorie-Filters (Review-Liste und Seitenabfrage).
+     * Unbekannte Kategorie → leere Liste.
+     */
+    public List<Integer> masksContaining(String category) {
+        Integer bit = bits.get(category.toLowerCase(Locale.ROOT));
+        if (bit == null) return List.of();
+
+        List<Integer> masks = new ArrayList<>();
+        for (int mask = 0; mask < (1 << bits.size()); mask++) {
+            if ((mask & (1 << bit)) != 0) masks.add(mask);
+        }
+        return masks;
+    }
+}
@@ -0,0 +1,176 @@
+package spring.GoogleReview.Analyzer.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import spring.GoogleReview.Analyzer.exception.OpenAIException;
+import spring.GoogleReview.Analyzer.model.AnalysisResult;
+import spring.GoogleReview.Analyzer.model.Review;
+import spring.GoogleReview.Analyzer.util.CompletionContentParser;
+import spring.GoogleReview.Analyzer.util.ReviewPromptCompiler;
+import spring.GoogleReview.Analyzer.util.TokenEstimator;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Map-Reduce-Analyse für große Places:
+ * Reviews werden in Token-begrenzte Chunks geteilt, parallel analysiert
+ * (max. analysis.parallelism gleichzeitige Aufrufe pro Analyse) und in
+ * Chunk-Reihenfolge zurückgegeben. Die Summary entsteht in einem letzten Aufruf
+ * über alle Teile ({@link #summarize}).
+ */
+@Service
+public class ChunkedAnalysisEngine {
+
+    private final OpenAIClient openAIClient;
+    private final int parallelism;
+    private final ReviewPromptCompiler promptCompiler;
+    private final ObjectMapper mapper;
+    private final StageMetrics metrics;
+
+    public ChunkedAnalysisEngine(
+            OpenAIClient openAIClient,
+            ObjectMapper mapper,
+            StageMetrics metrics,
+            @Value("${analysis.parallelism:4}") int parallelism,
+            @Value("${analysis.chunk.max-tokens:6000}") int maxChunkTokens,
+            @Value("${analysis.prompt.max-review-chars:1000}") int maxReviewChars) {
+        this.openAIClient = openAIClient;
+        this.mapper = mapper;
+        this.metrics = metrics;
+        this.parallelism = parallelism;
+        // Budget pro Chunk = Gesamtbudget abzüglich des festen Prompt-Texts
+        this.promptCompiler = new ReviewPromptCompiler(
+                maxChunkTokens - TokenEstimator.estimate(AnalysisPrompts.ANALYSIS_PROMPT), maxReviewChars);
+    }
+
+    /**
+     * Nur die Map-Phase: liefert die Teilergebnisse (inkl. Teil-Summaries) in Chunk-Reihenfolge.
+     * Das Zusammenführen und die Summary übernimmt der IncrementalAnalysisService.
+     */
+    public List<AnalysisResult> analyzeChunks(List<Review> reviews, AnalysisProgressListener listener) {
+        List<ReviewPromptCompiler.Chunk> chunks = buildChunks(reviews);
+        if (chunks.isEmpty()) return List.of();
+        return analyzeParallel(chunks, listener);
+    }
+
+    /**
+     * Abschluss-Aufruf: eine gemeinsame Summary aus Kennzahlen,
+     * bisheriger Summary (falls vorhanden) und Teil-Summaries.
+     */
+    public String summarize(AnalysisResult merged, String previousSummary, List<String> partialSummaries) {
+
+        // Keywords und Kategorien zählt IncrementalAnalysisService lokal – ohne sie nur die übrigen
+        Map<String, Object> figures = new LinkedHashMap<>();
+        putIfPresent(figures, "top_keywords", merged.getTop_keywords());
+        putIfPresent(figures, "positive_keywords", merged.getPositive_keywords());
+        putIfPresent(figures, "negative_keywords", merged.getNegative_keywords());
+        putIfPresent(figures, "categories", merged.getCategories());
+
+        StringBuilder sb = new StringBuilder(AnalysisPrompts.SUMMARY_PROMPT);
+        try {
+            sb.append("Kennzahlen:\n")
+                    .append(mapper.writeValueAsString(figures))
+                    .append("\n\n");
+        } catch (Exception e) {
+            throw new OpenAIException("Konnte Kennzahlen nicht serialisieren: " + e.getMessage());
+        }
+
+        if (previousSummary != null && !previousSummary.isBlank()) {
+            sb.append("Bisherige Summary:\n").append(previousSummary).append("\n\n");
+        }
+
+        sb.append("Teilzusammenfassungen:\n");
+        for (String summary : partialSummaries) {
+            sb.append("- ").append(summary.replace("\n", " ")).append('\n');
+        }
+
+        String aiResponse = metrics.observe("model.call", null, () -> openAIClient.analyze(sb.toString()));
+        return readContent(aiResponse, AnalysisResult.class).getSummary();
+    }
+
+    public static List<String> partialSummaries(List<AnalysisResult> parts) {
+        return parts.stream()
+                .map(AnalysisResult::getSummary)
+                .filter(summary -> summary != null && !summary.isBlank())
+                .toList();
+    }
+
+    private static void putIfPresent(Map<String, Object> figures, String name, Object value) {
+        if (value != null) figures.put(name, value);
+    }
+
+    // Nicht-blockierender Fan-out über den OpenAIClient, höchstens "parallelism" Chunks gleichzeitig
+    private List<AnalysisResult> analyzeParallel(List<ReviewPromptCompiler.Chunk> chunks, AnalysisProgressListener listener) {
+
+        AtomicInteger done = new AtomicInteger();
+
+        // flatMapSequential: Ergebnisse in Chunk-Reihenfolge → deterministisches Merge
+        return Flux.fromIterable(chunks)
+                .flatMapSequential(chunk -> openAIClient.analyzeAsync(AnalysisPrompts.ANALYSIS_PROMPT + chunk.text())
+                                .map(response -> readContent(response, AnalysisResult.class))
+                                .doOnNext(part -> listener.onChunkDone(done.incrementAndGet(), chunks.size(), part)),
+                        parallelism)
+                .collectList()
+                .block();
+    }
+
+    /**
+     * Teilt die Reviews so auf, dass jeder Prompt unter analysis.chunk.max-tokens bleibt
+     * (kompakte Zeilen, ohne leere Reviews und Duplikate – siehe ReviewPromptCompiler).
+     */
+    List<ReviewPromptCompiler.Chunk> buildChunks(List<Review> reviews) {
+        ReviewPromptCompiler.Result compiled = metrics.observe("prompt.build", null,
+                () -> promptCompiler.compile(reviews));
+        for (ReviewPromptCompiler.Chunk chunk : compiled.chunks()) {
+            metrics.record("prompt.chunk.tokens", chunk.tokens());
+        }
+        return compiled.chunks();
+    }
+
+    private <T> T readContent(String aiResponse, Class<T> type) {
+        return metrics.observe("json.extract", null, () -> {
+            try {
+                return mapper.readValue(extractJson(aiResponse), type);
+            } catch (OpenAIException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new OpenAIException("AI-Antwort ist kein gültiges JSON: " + e.getMessage());
+            }
+        });
+    }
+
+    private String extractJson(String aiResponse) {
+        // nur Inhalt und usage werden gebraucht → Token-Stream statt JsonNode-Baum
+        try (JsonParser parser = mapper.getFactory().createParser(aiResponse)) {
+            CompletionContentParser.Completion completion = CompletionContentParser.parse(parser);
+            recordUsage(completion);
+            String content = completion.content();
+            if (content == null) {
+                throw new OpenAIException("AI-Antwort ohne choices[0].message.content:\n" + aiResponse);
+            }
+            return content.replace("```json", "")
+                    .replace("```", "")
+                    .trim();
+        } catch (OpenAIException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new OpenAIException("Konnte JSON aus AI-Antwort nicht extrahieren:\n" + aiResponse);
+        }
+    }
+
+    // tatsächlicher Verbrauch laut API (openai.prompt.tokens ist nur die lokale Schätzung)
+    private void recordUsage(CompletionContentParser.Completion completion) {
+        if (completion.promptTokens() > 0) {
+            metrics.record("openai.usage.tokens", completion.promptTokens(), "type", "prompt");
+        }
+        if (completion.completionTokens() > 0) {
+            metrics.record("openai.usage.tokens", completion.completionTokens(), "type", "completion");
+        }
+    }
+}
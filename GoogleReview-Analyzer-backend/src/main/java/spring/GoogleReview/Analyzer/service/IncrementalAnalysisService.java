@@ -0,0 +1,330 @@
+package spring.GoogleReview.Analyzer.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.GoogleReview.Analyzer.exception.NoReviewsFoundException;
+import spring.GoogleReview.Analyzer.model.AnalysisResult;
+import spring.GoogleReview.Analyzer.model.PlaceAnalysisState;
+import spring.GoogleReview.Analyzer.model.Review;
+import spring.GoogleReview.Analyzer.repository.PlaceAnalysisStateRepository;
+import spring.GoogleReview.Analyzer.repository.ReviewRepository;
+import spring.GoogleReview.Analyzer.util.AnalysisAccumulator;
+import spring.GoogleReview.Analyzer.util.AspectCounts;
+import spring.GoogleReview.Analyzer.util.DuplicateClusters;
+import spring.GoogleReview.Analyzer.util.KeywordStatistics;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Inkrementelle Analyse: pro Place wird ein Zustand (Zähler, Fake-Scores, Summary)
+ * gespeichert. Bei neuen Reviews geht nur das Delta an OpenAI und wird in den
+ * Zustand gemerged. Die Keyword-Felder und die Kategorie-Zähler kommen nicht von
+ * OpenAI, sondern aus lokalen Statistiken (KeywordStatistics, AspectCounts), die
+ * ebenso nur um das Delta wachsen. Dasselbe gilt für die Copy/Paste-Cluster der
+ * lokalen Fake-Erkennung (DuplicateClusters, LSH-Buckets in review_band). Die Summary wird nur beim ersten Mal automatisch
+ * erstellt, danach nur auf Anfrage ({@link #regenerateSummary}).
+ *
+ * Welche Reviews schon im Zustand stecken, steht am Review selbst (analyzed) und
+ * wird in derselben Transaktion wie der Zustand gesetzt. Eine Grenze über die ID
+ * ginge nicht: IDs kommen blockweise aus der Sequence und parallele Importe
+ * committen nicht in ID-Reihenfolge.
+ */
+@Service
+public class IncrementalAnalysisService {
+
+    // Obergrenze für gesammelte Teil-Summaries bis zur nächsten Summary
+    private static final int MAX_PENDING_SUMMARIES = 50;
+    // IDs pro Update-Statement beim Markieren des Deltas
+    private static final int MARK_BATCH = 1000;
+    // Seitengröße beim Neuaufbau (siehe findTop1000ByPlaceIdAndAnalyzedTrueAndIdGreaterThanOrderByIdAsc)
+    private static final int REBUILD_PAGE = 1000;
+    // Einträge pro Keyword-Liste im Ergebnis
+    private static final int MAX_KEYWORDS = 20;
+
+    private final ReviewRepository reviewRepository;
+    private final PlaceAnalysisStateRepository stateRepository;
+    private final ChunkedAnalysisEngine analysisEngine;
+    private final AspectSentimentService aspectSentiment;
+    private final LocalFakeReviewDetector fakeDetector;
+    private final ObjectMapper mapper;
+    private final TransactionTemplate transaction;
+    private final ConcurrentHashMap<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    public IncrementalAnalysisService(ReviewRepository reviewRepository,
+                                      PlaceAnalysisStateRepository stateRepository,
+                                      ChunkedAnalysisEngine analysisEngine,
+                                      AspectSentimentService aspectSentiment,
+                                      LocalFakeReviewDetector fakeDetector,
+                                      ObjectMapper mapper,
+                                      TransactionTemplate transaction) {
+        this.reviewRepository = reviewRepository;
+        this.stateRepository = stateRepository;
+        this.analysisEngine = analysisEngine;
+        this.aspectSentiment = aspectSentiment;
+        this.fakeDetector = fakeDetector;
+        this.mapper = mapper;
+        this.transaction = transaction;
+    }
+
+    /**
+     * Bringt den Zustand auf den aktuellen Stand und liefert das Ergebnis
+     * (fakeReviewDetails nur mit den lokalen Treffern – die Kombination mit den
+     * LLM-Markierungen ergänzt der ReviewAnalysisService).
+     */
+    public AnalysisResult analyze(String placeId, AnalysisProgressListener listener) {
+        return withLock(placeId, () -> {
+            Refresh refresh = refresh(placeId, listener);
+            if (refresh.state().getSummary() == null) {
+                regenerate(refresh.state());
+            }
+            return toResult(save(refresh));
+        });
+    }
+
+    /**
+     * Erstellt die Summary neu (inkl. Analyse noch nicht berücksichtigter Reviews).
+     */
+    public AnalysisResult regenerateSummary(String placeId) {
+        return withLock(placeId, () -> {
+            Refresh refresh = refresh(placeId, AnalysisProgressListener.NONE);
+            regenerate(refresh.state());
+            return toResult(save(refresh));
+        });
+    }
+
+    // Zustand plus IDs des eingerechneten Deltas und neue LSH-Buckets – alles wird zusammen gespeichert
+    private record Refresh(PlaceAnalysisState state, List<Long> reviewIds, Map<Long, Long> newBands) {
+    }
+
+    private Refresh refresh(String placeId, AnalysisProgressListener listener) {
+
+        PlaceAnalysisState state = stateRepository.findById(placeId).orElseGet(() -> {
+            PlaceAnalysisState s = new PlaceAnalysisState();
+            s.setPlaceId(placeId);
+            return s;
+        });
+
+        KeywordStatistics keywords = readKeywords(state);
+        AspectCounts aspects = readAspects(state);
+        Map<Long, Long> newBands = new HashMap<>();
+        DuplicateClusters clusters = readClusters(state, newBands);
+
+        List<Review> delta = reviewRepository.findByPlaceIdAndAnalyzedFalseOrderByIdAsc(placeId);
+
+        if (delta.isEmpty()) {
+            if (state.getAnalyzedCount() == 0) throw new NoReviewsFoundException(placeId);
+            state.setKeywordStatsJson(write(keywords.trimToSize()));
+            state.setAspectCountsJson(write(aspects));
+            state.setFakeClustersJson(write(clusters));
+            return new Refresh(state, List.of(), newBands);
+        }
+
+        // lokal in Millisekunden – OpenAI liefert nur noch Fakes und Summary
+        for (Review r : delta) keywords.add(r.getText(), r.getRating());
+        aspects.add(aspectSentiment.count(delta));
+        fakeDetector.cluster(placeId, delta, clusters, newBands);
+        listener.onKeywords(keywords.top(MAX_KEYWORDS));
+
+        List<AnalysisResult> parts = analysisEngine.analyzeChunks(delta, listener);
+
+        AnalysisAccumulator accumulator = readAccumulator(state).addAll(parts);
+
+        List<String> pending = readPending(state);
+        pending.addAll(ChunkedAnalysisEngine.partialSummaries(parts));
+        if (pending.size() > MAX_PENDING_SUMMARIES) {
+            pending = new ArrayList<>(pending.subList(pending.size() - MAX_PENDING_SUMMARIES, pending.size()));
+        }
+
+        state.setAccumulatorJson(write(accumulator));
+        state.setKeywordStatsJson(write(keywords.trimToSize()));
+        state.setAspectCountsJson(write(aspects));
+        state.setFakeClustersJson(write(clusters));
+        state.setPendingSummariesJson(write(pending));
+        state.setAnalyzedCount(state.getAnalyzedCount() + delta.size());
+        state.setSummaryStale(state.getSummary() != null);
+        state.setUpdatedAt(Instant.now());
+        return new Refresh(state, delta.stream().map(Review::getId).toList(), newBands);
+    }
+
+    /**
+     * Zustand und analyzed-Markierung in einer Transaktion – schlägt das Speichern fehl
+     * (z. B. @Version-Konflikt), bleibt das Delta unmarkiert und wird erneut analysiert.
+     */
+    private PlaceAnalysisState save(Refresh refresh) {
+        return transaction.execute(status -> {
+            PlaceAnalysisState saved = stateRepository.save(refresh.state());
+            fakeDetector.saveBands(saved.getPlaceId(), refresh.newBands());
+            List<Long> ids = refresh.reviewIds();
+            for (int i = 0; i < ids.size(); i += MARK_BATCH) {
+                reviewRepository.markAnalyzed(ids.subList(i, Math.min(i + MARK_BATCH, ids.size())));
+            }
+            return saved;
+        });
+    }
+
+    private void regenerate(PlaceAnalysisState state) {
+
+        List<String> pending = readPending(state);
+
+        if (state.getSummary() != null && pending.isEmpty()) {
+            state.setSummaryStale(false);
+            return;
+        }
+
+        String summary;
+        // Erste Analyse in einem einzigen Chunk → dessen Summary ist bereits vollständig
+        if (state.getSummary() == null && pending.size() == 1) {
+            summary = pending.get(0);
+        } else {
+            AnalysisResult merged = withLocalStatistics(readAccumulator(state).toResult(), state);
+            summary = analysisEngine.summarize(merged, state.getSummary(), pending);
+        }
+
+        state.setSummary(summary);
+        state.setPendingSummariesJson(write(List.of()));
+        state.setSummaryStale(false);
+        state.setUpdatedAt(Instant.now());
+    }
+
+    private AnalysisResult toResult(PlaceAnalysisState state) {
+        AnalysisResult result = withLocalStatistics(readAccumulator(state).toResult(), state);
+        result.setSummary(state.getSummary());
+        result.setSummaryStale(state.isSummaryStale());
+        result.setReviewCount(state.getAnalyzedCount());
+        result.setFakeReviewDetails(fakeDetector.detect(state.getPlaceId(), readClusters(state, new HashMap<>())));
+        return result;
+    }
+
+    private AnalysisAccumulator readAccumulator(PlaceAnalysisState state) {
+        if (state.getAccumulatorJson() == null) return new AnalysisAccumulator();
+        try {
+            return mapper.readValue(state.getAccumulatorJson(), AnalysisAccumulator.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("Analysezustand von " + state.getPlaceId() + " ist beschädigt", e);
+        }
+    }
+
+    private AnalysisResult withLocalStatistics(AnalysisResult result, PlaceAnalysisState state) {
+        KeywordStatistics keywords = readKeywords(state);
+        result.setTop_keywords(keywords.top(MAX_KEYWORDS));
+        result.setPositive_keywords(keywords.positive(MAX_KEYWORDS));
+        result.setNegative_keywords(keywords.negative(MAX_KEYWORDS));
+        result.setCategories(readAspects(state).toMap());
+        return result;
+    }
+
+    /**
+     * Zustände ohne Keyword-Statistik (vor ihrer Einführung gespeichert) werden
+     * einmalig aus den bereits analysierten Reviews aufgebaut.
+     */
+    private KeywordStatistics readKeywords(PlaceAnalysisState state) {
+        if (state.getKeywordStatsJson() != null) {
+            try {
+                return mapper.readValue(state.getKeywordStatsJson(), KeywordStatistics.class);
+            } catch (Exception e) {
+                // beschädigt → neu zählen
+            }
+        }
+
+        KeywordStatistics keywords = new KeywordStatistics();
+        if (state.getAnalyzedCount() > 0) {
+            forEachAnalyzedPage(state.getPlaceId(), page -> {
+                for (Review r : page) keywords.add(r.getText(), r.getRating());
+            });
+        }
+        return keywords;
+    }
+
+    /**
+     * Wie {@link #readKeywords}: fehlende Zähler oder Zähler einer anderen
+     * Kategorie-Konfiguration werden einmalig neu gezählt (je Seite parallel).
+     */
+    private AspectCounts readAspects(PlaceAnalysisState state) {
+        if (state.getAspectCountsJson() != null) {
+            try {
+                AspectCounts counts = mapper.readValue(state.getAspectCountsJson(), AspectCounts.class);
+                if (aspectSentiment.compatible(counts)) return counts;
+            } catch (Exception e) {
+                // beschädigt → neu zählen
+            }
+        }
+
+        AspectCounts counts = aspectSentiment.empty();
+        if (state.getAnalyzedCount() > 0) {
+            forEachAnalyzedPage(state.getPlaceId(), page -> counts.add(aspectSentiment.count(page)));
+        }
+        return counts;
+    }
+
+    /**
+     * Wie {@link #readKeywords}: fehlende Cluster werden einmalig aus den bereits
+     * analysierten Reviews aufgebaut.
+     */
+    private DuplicateClusters readClusters(PlaceAnalysisState state, Map<Long, Long> newBands) {
+        if (state.getFakeClustersJson() != null) {
+            try {
+                return mapper.readValue(state.getFakeClustersJson(), DuplicateClusters.class);
+            } catch (Exception e) {
+                // beschädigt → neu aufbauen
+            }
+        }
+
+        DuplicateClusters clusters = new DuplicateClusters();
+        if (state.getAnalyzedCount() > 0) {
+            forEachAnalyzedPage(state.getPlaceId(),
+                    page -> fakeDetector.cluster(state.getPlaceId(), page, clusters, newBands));
+        }
+        return clusters;
+    }
+
+    // Keyset-Seiten statt findByPlaceId → nie mehr als REBUILD_PAGE Reviews gleichzeitig im Speicher
+    private void forEachAnalyzedPage(String placeId, Consumer<List<Review>> consumer) {
+        long lastId = 0;
+        while (true) {
+            List<Review> page = reviewRepository
+                    .findTop1000ByPlaceIdAndAnalyzedTrueAndIdGreaterThanOrderByIdAsc(placeId, lastId);
+            if (page.isEmpty()) return;
+            consumer.accept(page);
+            if (page.size() < REBUILD_PAGE) return;
+            lastId = page.get(page.size() - 1).getId();
+        }
+    }
+
+    private List<String> readPending(PlaceAnalysisState state) {
+        if (state.getPendingSummariesJson() == null) return new ArrayList<>();
+        try {
+            return mapper.readValue(state.getPendingSummariesJson(), new TypeReference<ArrayList<String>>() {
+            });
+        } catch (Exception e) {
+            return new ArrayList<>();
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException("Analysezustand konnte nicht serialisiert werden", e);
+        }
+    }
+
+    private <T> T withLock(String placeId, Supplier<T> action) {
+        ReentrantLock lock = locks.computeIfAbsent(placeId, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package spring.GoogleReview.Analyzer.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import spring.GoogleReview.Analyzer.repository.ReviewKey;
+import spring.GoogleReview.Analyzer.repository.ReviewRepository;
+import spring.GoogleReview.Analyzer.util.BloomFilter;
+import spring.GoogleReview.Analyzer.util.LruTtlCache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bekannte externalIds pro Place als Bloom-Filter im Speicher.
+ *
+ * Grundlage für den inkrementellen Import: eine Seite, deren IDs alle bekannt
+ * sind, muss nicht mehr gespeichert werden – und ältere Seiten auch nicht.
+ * Ein Filter wird beim ersten Zugriff mit einer einzigen Projektion aus der DB
+ * geladen und danach mit jedem Insert fortgeschrieben.
+ *
+ * Der Filter sortiert nur aus: "alle bekannt" beendet den Import, ein falsch
+ * positiver Treffer würde neue Reviews bis zum nächsten Voll-Sync überspringen.
+ * Deshalb wird eine solche Seite vor dem Ja exakt gegen die DB geprüft – das trifft
+ * praktisch nur die eine Seite, an der der Import stoppt.
+ */
+@Service
+public class KnownReviewIndex {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final ReviewRepository reviewRepository;
+    private final LruTtlCache<String, PlaceFilter> filters;
+
+    public KnownReviewIndex(ReviewRepository reviewRepository,
+                            @Value("${import.known-ids.max-places:1000}") int maxPlaces,
+                            @Value("${import.known-ids.ttl:24h}") Duration ttl) {
+        this.reviewRepository = reviewRepository;
+        this.filters = new LruTtlCache<>(maxPlaces, ttl);
+    }
+
+    /**
+     * @return true, wenn die Seite IDs enthält und alle bekannt sind
+     */
+    public boolean allKnown(String placeId, List<String> externalIds) {
+        if (externalIds.isEmpty()) return false;
+
+        BloomFilter filter = filter(placeId).bloom;
+        for (String id : externalIds) {
+            if (id == null || !filter.mightContain(id)) return false;
+        }
+
+        // externalId ist global eindeutig → eine Abfrage bestätigt die ganze Seite
+        Set<String> existing = new HashSet<>();
+        for (ReviewKey key : reviewRepository.findExistingKeys(externalIds)) {
+            existing.add(key.getExternalId());
+        }
+        return existing.containsAll(externalIds);
+    }
+
+    public void addAll(String placeId, Collection<String> externalIds) {
+        PlaceFilter filter = filters.get(placeId);
+        if (filter == null) return;  // wird beim nächsten Zugriff ohnehin frisch geladen
+
+        for (String id : externalIds) {
+            if (id != null) filter.bloom.add(id);
+        }
+        // über der Kapazität steigt die Fehlerrate → beim nächsten Zugriff größer neu laden
+        if (filter.size.addAndGet(externalIds.size()) > filter.bloom.capacity()) {
+            filters.remove(placeId);
+        }
+    }
+
+    private PlaceFilter filter(String placeId) {
+        PlaceFilter filter = filters.get(placeId);
+        if (filter == null) {
+            List<String> ids = reviewRepository.findExternalIdsByPlaceId(placeId);
+            filter = new PlaceFilter(new BloomFilter(Math.max(MIN_CAPACITY, ids.size() * 2), FALSE_POSITIVE_RATE));
+            ids.forEach(filter.bloom::add);
+            filter.size.set(ids.size());
+            filters.put(placeId, filter);
+        }
+        return filter;
+    }
+
+    private static final class PlaceFilter {
+        private final BloomFilter bloom;
+        private final AtomicInteger size = new AtomicInteger();
+
+        private PlaceFilter(BloomFilter bloom) {
+            this.bloom = bloom;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package spring.GoogleReview.Analyzer.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import spring.GoogleReview.Analyzer.model.FakeReviewDetail;
+import spring.GoogleReview.Analyzer.model.RatingRollup;
+import spring.GoogleReview.Analyzer.model.Review;
+import spring.GoogleReview.Analyzer.model.RollupGranularity;
+import spring.GoogleReview.Analyzer.repository.ReviewBandRepository;
+import spring.GoogleReview.Analyzer.repository.ReviewRepository;
+import spring.GoogleReview.Analyzer.util.DuplicateClusters;
+import spring.GoogleReview.Analyzer.util.MinHashLsh;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Lokale Fake-Review-Erkennung ohne Netzwerkaufruf.
+ *
+ * Signale:
+ * - Copy/Paste-Cluster (MinHash + LSH, siehe {@link MinHashLsh})
+ * - derselbe Autor mehrfach am selben Place
+ * - Bursts: ungewöhnlich viele Reviews mit gleichem Datum und gleicher Sternezahl
+ *
+ * Wahrscheinlichkeiten folgen den Regeln des OpenAI-Prompts (0.50–0.90,
+ * Reviews ohne Text nur bei klarem Spam-Verdacht).
+ *
+ * {@link #detect(List)} bewertet eine komplette Review-Liste. Für die inkrementelle
+ * Analyse gibt es den Weg ohne Durchlauf über alle Reviews:
+ * - {@link #cluster}: nur neue Reviews werden signiert und über die gespeicherten
+ *   LSH-Buckets (review_band) mit ihren Kandidaten verglichen → DuplicateClusters
+ * - {@link #detect(String, DuplicateClusters)}: bewertet nur Reviews mit mindestens
+ *   einem Signal – Cluster-Mitglieder, Autoren-Duplikate (Gruppierung in der DB)
+ *   und Bursts (aus den Tages-Rollups)
+ */
+@Service
+public class LocalFakeReviewDetector {
+
+    public static final double REPORT_THRESHOLD = 0.5;
+    public static final double BORDERLINE_LIMIT = 0.65;
+
+    private static final LocalDate ROLLUPS_FROM = LocalDate.of(1900, 1, 1);
+    private static final LocalDate ROLLUPS_TO = LocalDate.of(9999, 12, 31);
+    // IDs pro findAllById beim Nachladen von Bucket-Vertretern
+    private static final int LOAD_BATCH = 1000;
+
+    private final ReviewRepository reviewRepository;
+    private final ReviewBandRepository bandRepository;
+    private final RatingRollupService ratingRollups;
+    private final MinHashLsh lsh;
+    private final int burstMinSize;
+    private final double burstFactor;
+
+    public LocalFakeReviewDetector(
+            ReviewRepository reviewRepository,
+            ReviewBandRepository bandRepository,
+            RatingRollupService ratingRollups,
+            @Value("${fake-detection.similarity-threshold:0.6}") double similarityThreshold,
+            @Value("${fake-detection.min-words:6}") int minWords,
+            @Value("${fake-detection.burst.min-size:5}") int burstMinSize,
+            @Value("${fake-detection.burst.factor:3.0}") double burstFactor) {
+        this.reviewRepository = reviewRepository;
+        this.bandRepository = bandRepository;
+        this.ratingRollups = ratingRollups;
+        // 64 Hashes in 16 Bändern à 4 Zeilen → Kandidaten ab ca. 0.5 Ähnlichkeit,
+        // genug Hashes für eine stabile Schätzung gegen den Schwellwert
+        this.lsh = new MinHashLsh(64, 16, similarityThreshold, minWords);
+        this.burstMinSize = burstMinSize;
+        this.burstFactor = burstFactor;
+    }
+
+    public List<FakeReviewDetail> detect(List<Review> reviews) {
+
+        int n = reviews.size();
+
+        // 1) Copy/Paste-Cluster
+        int[] clusters = lsh.cluster(reviews.stream().map(Review::getText).toList());
+        int[] clusterSize = new int[n];
+        for (int c : clusters) {
+            if (c >= 0) clusterSize[c]++;
+        }
+
+        // 2) Mehrfach-Autor (Google erlaubt ein Review pro Autor und Place)
+        Map<String, Integer> authorCounts = new HashMap<>();
+        for (Review r : reviews) {
+            String author = normalize(r.getAuthor());
+            if (author != null) authorCounts.merge(author, 1, Integer::sum);
+        }
+
+        // 3) Bursts gleicher Sternezahl am selben Tag
+        Map<String, Integer> burstCounts = new HashMap<>();
+        for (Review r : reviews) {
+            burstCounts.merge(burstKey(r), 1, Integer::sum);
+        }
+        double typical = median(burstCounts.values());
+
+        List<FakeReviewDetail> details = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Review r = reviews.get(i);
+            String author = normalize(r.getAuthor());
+            double probability = probability(
+                    clusters[i] >= 0 ? clusterSize[clusters[i]] : 0,
+                    author != null && authorCounts.get(author) > 1,
+                    isBurst(burstCounts.get(burstKey(r)), typical),
+                    isBlank(r.getText()));
+            if (probability >= REPORT_THRESHOLD) details.add(toDetail(r, probability));
+        }
+        return details;
+    }
+
+    /**
+     * Sortiert Reviews in die Copy/Paste-Cluster eines Places ein. Verglichen wird nur
+     * mit dem ersten Review jedes gemeinsamen LSH-Buckets (wie in MinHashLsh.cluster),
+     * die Buckets liegen in review_band.
+     *
+     * @param newBands neu belegte Buckets (Schlüssel → Review) – noch nicht gespeichert,
+     *                 werden hier ergänzt und vom Aufrufer mit {@link #saveBands} geschrieben
+     */
+    public void cluster(String placeId, List<Review> reviews, DuplicateClusters clusters, Map<Long, Long> newBands) {
+
+        Map<Long, int[]> signatures = new HashMap<>();
+        Map<Long, long[]> bandKeys = new LinkedHashMap<>();
+        for (Review r : reviews.stream().sorted(Comparator.comparing(Review::getId)).toList()) {
+            int[] signature = lsh.signature(r.getText());
+            if (signature == null) continue;
+            signatures.put(r.getId(), signature);
+            bandKeys.put(r.getId(), lsh.bandKeys(signature));
+        }
+        if (bandKeys.isEmpty()) return;
+
+        Set<Long> lookup = new HashSet<>();
+        // Vertreter aus newBands können aus einem früheren Aufruf stammen (seitenweiser Aufbau)
+        Set<Long> representatives = new HashSet<>();
+        bandKeys.values().forEach(keys -> {
+            for (long key : keys) {
+                Long first = newBands.get(key);
+                if (first == null) lookup.add(key);
+                else representatives.add(first);
+            }
+        });
+        Map<Long, Long> stored = bandRepository.findRepresentatives(placeId, lookup);
+        representatives.addAll(stored.values());
+        loadSignatures(representatives, signatures);
+
+        bandKeys.forEach((id, keys) -> {
+            for (long key : keys) {
+                Long first = newBands.containsKey(key) ? newBands.get(key) : stored.get(key);
+                if (first == null) {
+                    newBands.put(key, id);
+                } else if (first.longValue() != id && clusters.root(first) != clusters.root(id)) {
+                    int[] other = signatures.get(first);
+                    // Vertreter inzwischen gelöscht → kein Vergleich
+                    if (other != null && lsh.similar(other, signatures.get(id))) clusters.union(first, id);
+                }
+            }
+        });
+    }
+
+    /**
+     * Läuft in der Transaktion des Aufrufers (zusammen mit dem Analysezustand).
+     */
+    public void saveBands(String placeId, Map<Long, Long> newBands) {
+        bandRepository.insert(placeId, newBands);
+    }
+
+    /**
+     * Fake-Treffer eines Places ohne Durchlauf über alle Reviews: bewertet werden nur
+     * Cluster-Mitglieder, Reviews mehrfach vertretener Autoren und Burst-Mitglieder –
+     * alle anderen haben Score 0.
+     */
+    public List<FakeReviewDetail> detect(String placeId, DuplicateClusters clusters) {
+
+        Map<Long, Integer> clusterSizes = clusters.clusterSizes();
+
+        Map<Long, Review> candidates = new HashMap<>();
+        load(clusterSizes.keySet()).forEach(r -> candidates.put(r.getId(), r));
+
+        Set<Long> repeatedAuthor = new HashSet<>();
+        for (Review r : reviewRepository.findWithRepeatedAuthor(placeId)) {
+            repeatedAuthor.add(r.getId());
+            candidates.put(r.getId(), r);
+        }
+
+        Set<Long> inBurst = new HashSet<>();
+        for (Review r : burstReviews(placeId)) {
+            inBurst.add(r.getId());
+            candidates.put(r.getId(), r);
+        }
+
+        List<FakeReviewDetail> details = new ArrayList<>();
+        for (Review r : candidates.values()) {
+            double probability = probability(clusterSizes.getOrDefault(r.getId(), 0),
+                    repeatedAuthor.contains(r.getId()), inBurst.contains(r.getId()), isBlank(r.getText()));
+            if (probability >= REPORT_THRESHOLD) details.add(toDetail(r, probability));
+        }
+        details.sort(Comparator.comparing(FakeReviewDetail::getId));
+        return details;
+    }
+
+    // Bursts aus den Tages-Rollups: Anzahl pro (Tag, Sterne), Median über alle belegten Paare
+    private List<Review> burstReviews(String placeId) {
+
+        List<RatingRollup> days = ratingRollups.find(placeId, RollupGranularity.DAY, ROLLUPS_FROM, ROLLUPS_TO);
+
+        List<Integer> counts = new ArrayList<>();
+        for (RatingRollup day : days) {
+            long[] stars = day.starHistogram();
+            long rated = 0;
+            for (long c : stars) {
+                rated += c;
+                if (c > 0) counts.add((int) c);
+            }
+            // Reviews ohne Rating (0 Sterne) bilden ein eigenes Paar
+            if (day.getReviewCount() > rated) counts.add((int) (day.getReviewCount() - rated));
+        }
+        double typical = median(counts);
+
+        List<Review> members = new ArrayList<>();
+        for (RatingRollup day : days) {
+            long[] stars = day.starHistogram();
+            long rated = Arrays.stream(stars).sum();
+            for (int rating = 0; rating <= 5; rating++) {
+                long size = rating == 0 ? day.getReviewCount() - rated : stars[rating - 1];
+                if (size > 0 && isBurst((int) size, typical)) {
+                    members.addAll(reviewRepository.findByPlaceIdAndReviewedAtAndRating(
+                            placeId, day.getBucketStart(), rating));
+                }
+            }
+        }
+        return members;
+    }
+
+    private List<Review> load(Collection<Long> ids) {
+        List<Long> list = new ArrayList<>(ids);
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += LOAD_BATCH) {
+            reviews.addAll(reviewRepository.findAllById(list.subList(i, Math.min(i + LOAD_BATCH, list.size()))));
+        }
+        return reviews;
+    }
+
+    private void loadSignatures(Collection<Long> ids, Map<Long, int[]> signatures) {
+        List<Long> missing = ids.stream().distinct().filter(id -> !signatures.containsKey(id)).toList();
+        for (Review r : load(missing)) {
+            int[] signature = lsh.signature(r.getText());
+            if (signature != null) signatures.put(r.getId(), signature);
+        }
+    }
+
+    private double probability(int clusterSize, boolean repeatedAuthor, boolean inBurst, boolean noText) {
+        double score = clusterSize >= 2 ? 0.55 + 0.05 * Math.min(clusterSize - 2, 7) : 0;
+        if (repeatedAuthor) {
+            score = Math.max(score, 0.5) + 0.1;
+        }
+        if (inBurst) {
+            // ohne Text nur im Burst verdächtig ("viele identische Bewertungen in kurzer Zeit")
+            score = noText ? Math.max(score, 0.5) : score + (score > 0 ? 0.1 : 0);
+        }
+        return Math.min(0.9, score);
+    }
+
+    private boolean isBurst(int size, double typical) {
+        return size >= burstMinSize && size >= burstFactor * typical;
+    }
+
+    /**
+     * Grenzfälle, bei denen sich eine zweite Meinung (LLM) lohnt.
+     */
+    public static boolean isBorderline(double probability) {
+        return probability >= REPORT_THRESHOLD && probability < BORDERLINE_LIMIT;
+    }
+
+    private static String burstKey(Review r) {
+        return r.getReviewedAt() + "|" + r.getRating();
+    }
+
+    private static double median(Collection<Integer> values) {
+        if (values.isEmpty()) return 0;
+        int[] sorted = values.stream().mapToInt(Integer::intValue).sorted().toArray();
+        return sorted[sorted.length / 2];
+    }
+
+    private static String normalize(String author) {
+        if (author == null || author.isBlank() || author.equals("Unknown")) return null;
+        return author.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isBlank(String text) {
+        return text == null || text.isBlank();
+    }
+
+    private static FakeReviewDetail toDetail(Review r, double probability) {
+        FakeReviewDetail d = new FakeReviewDetail();
+        d.setId(r.getId());
+        d.setAuthor(r.getAuthor());
+        d.setRating(r.getRating());
+        d.setText(r.getText());
+        d.setReviewDate(r.getReviewDate());
+        d.setProbability(Math.round(probability * 100) / 100.0);
+        return d;
+    }
+}
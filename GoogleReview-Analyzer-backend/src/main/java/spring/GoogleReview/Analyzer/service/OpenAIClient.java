@@ -1,39 +1,231 @@
 package spring.GoogleReview.Analyzer.service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+import spring.GoogleReview.Analyzer.exception.OpenAIException;
+import spring.GoogleReview.Analyzer.util.AsyncPermits;
+import spring.GoogleReview.Analyzer.util.TokenEstimator;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * Client für die Chat-Completions-API.
+ *
+ * - eigener Reactor-Netty-Connection-Pool mit Connect-/Response-Timeouts
+ * - Retry bei 429/5xx/Timeouts mit exponentiellem Backoff + Jitter, Retry-After wird beachtet
+ * - AsyncPermits begrenzt die gleichzeitig laufenden Requests (pro Versuch, nicht während
+ *   des Backoffs), ohne einen Thread zu blockieren
+ * - Metriken: openai.requests (Timer), openai.retries (Counter), openai.inflight (Gauge),
+ *   openai.prompt.tokens (geschätzte Prompt-Tokens pro Anfrage)
+ */
 @Service
-@RequiredArgsConstructor
 public class OpenAIClient {
 
-    private final WebClient webClient = WebClient.builder()
-            .baseUrl("https://api.openai.com/v1")
-            .build();
+    private static final Duration MAX_RETRY_AFTER = Duration.ofSeconds(60);
 
-    @Value("${openai.api.key}")
-    private String apiKey;
+    private final WebClient webClient;
+
+    private final String apiUrl;
+    private final String apiKey;
+    private final String model;
+    private final Duration timeout;
+    private final int maxRetries;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+    private final AsyncPermits permits;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary promptTokens;
+
+    public OpenAIClient(@Value("${openai.api.url}") String apiUrl,
+                        @Value("${openai.api.key}") String apiKey,
+                        @Value("${openai.model}") String model,
+                        @Value("${openai.max-concurrent-requests:8}") int maxConcurrentRequests,
+                        @Value("${openai.timeout:90s}") Duration timeout,
+                        @Value("${openai.retry.max-retries:4}") int maxRetries,
+                        @Value("${openai.retry.min-backoff:1s}") Duration minBackoff,
+                        @Value("${openai.retry.max-backoff:30s}") Duration maxBackoff,
+                        MeterRegistry meterRegistry) {
+        this.apiUrl = apiUrl;
+        this.apiKey = apiKey;
+        this.model = model;
+        this.timeout = timeout;
+        this.maxRetries = maxRetries;
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+        this.permits = new AsyncPermits(maxConcurrentRequests);
+        this.meterRegistry = meterRegistry;
+        this.promptTokens = DistributionSummary.builder("openai.prompt.tokens")
+                .tag("model", model)
+                .baseUnit("tokens")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        ConnectionProvider pool = ConnectionProvider.builder("openai")
+                .maxConnections(maxConcurrentRequests)
+                .pendingAcquireTimeout(timeout)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .evictInBackground(Duration.ofSeconds(60))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(pool)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10_000)
+                .responseTimeout(timeout)
+                .compress(true);
+
+        this.webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                // Antworten großer Chunks können das 256-KB-Default überschreiten
+                .codecs(c -> c.defaultCodecs().maxInMemorySize(8 * 1024 * 1024))
+                .build();
+
+        meterRegistry.gauge("openai.inflight", permits, AsyncPermits::inUse);
+    }
 
     public String analyze(String prompt) {
+        return analyzeAsync(prompt).block();  // synchron
+    }
+
+    public Mono<String> analyzeAsync(String prompt) {
+
+        promptTokens.record(TokenEstimator.estimate(prompt));
 
         Map<String, Object> requestBody = Map.of(
-                "model", "gpt-4.1-mini",
+                "model", model,
                 "messages", new Object[]{
                         Map.of("role", "user", "content", prompt)
                 }
         );
 
-        return webClient.post()
-                .uri("/chat/completions")
-                .header("Authorization", "Bearer " + apiKey)
-                .header("Content-Type", "application/json")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();  // synchron
+        return Mono.defer(() -> attempt(requestBody))
+                .retryWhen(retrySpec())
+                .onErrorMap(e -> !(e instanceof OpenAIException),
+                        e -> new OpenAIException("OpenAI-Anfrage fehlgeschlagen: " + e.getMessage()));
+    }
+
+    // Ein Versuch = ein belegter Slot; der Slot wird auch bei Abbruch/Timeout freigegeben
+    private Mono<String> attempt(Map<String, Object> requestBody) {
+
+        return Mono.usingWhen(
+                permits.acquire(),
+                p -> {
+                    Timer.Sample sample = Timer.start(meterRegistry);
+                    return webClient.post()
+                            .uri(apiUrl)
+                            .header("Authorization", "Bearer " + apiKey)
+                            .header("Content-Type", "application/json")
+                            .bodyValue(requestBody)
+                            .retrieve()
+                            .bodyToMono(String.class)
+                            .timeout(timeout)
+                            .doOnSuccess(r -> sample.stop(requestTimer("success")))
+                            .doOnError(e -> sample.stop(requestTimer(outcome(e))));
+                },
+                OpenAIClient::release,
+                (p, e) -> release(p),
+                OpenAIClient::release);
+    }
+
+    private static Mono<Void> release(AsyncPermits p) {
+        return Mono.fromRunnable(p::release);
+    }
+
+    private Retry retrySpec() {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+
+            if (!isRetryable(failure) || signal.totalRetries() >= maxRetries) {
+                return Mono.error(failure);
+            }
+
+            Duration delay = retryAfter(failure);
+            if (delay == null) {
+                delay = backoff(signal.totalRetries());
+            }
+
+            Counter.builder("openai.retries")
+                    .tag("reason", outcome(failure))
+                    .register(meterRegistry)
+                    .increment();
+
+            return Mono.delay(delay);
+        }));
+    }
+
+    /**
+     * Exponentiell ab minBackoff, gedeckelt bei maxBackoff, mit "equal jitter"
+     * (50–100 % des Werts), damit parallele Chunks nicht synchron erneut anfragen.
+     */
+    private Duration backoff(long retry) {
+        long base = minBackoff.toMillis() << Math.min(retry, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+        long jittered = capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+        return Duration.ofMillis(jittered);
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof WebClientResponseException r) {
+            int status = r.getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return e instanceof TimeoutException || e instanceof WebClientRequestException;
+    }
+
+    // Retry-After: Sekunden oder HTTP-Datum
+    private static Duration retryAfter(Throwable e) {
+        if (!(e instanceof WebClientResponseException r)) return null;
+
+        String header = r.getHeaders().getFirst("Retry-After");
+        if (header == null || header.isBlank()) return null;
+
+        try {
+            Duration d = Duration.ofSeconds(Long.parseLong(header.trim()));
+            return d.compareTo(MAX_RETRY_AFTER) > 0 ? MAX_RETRY_AFTER : d;
+        } catch (NumberFormatException ignored) {
+            // kein Sekundenwert → HTTP-Datum versuchen
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(header.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration d = Duration.between(ZonedDateTime.now(at.getZone()), at);
+            if (d.isNegative()) return Duration.ZERO;
+            return d.compareTo(MAX_RETRY_AFTER) > 0 ? MAX_RETRY_AFTER : d;
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+
+    private static String outcome(Throwable e) {
+        if (e instanceof WebClientResponseException r) {
+            int status = r.getStatusCode().value();
+            if (status == 429) return "rate_limited";
+            return status >= 500 ? "server_error" : "client_error";
+        }
+        if (e instanceof TimeoutException) return "timeout";
+        return "io_error";
+    }
+
+    private Timer requestTimer(String outcome) {
+        return Timer.builder("openai.requests")
+                .tag("model", model)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 }
@@ -0,0 +1,149 @@
+package spring.GoogleReview.Analyzer.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import spring.GoogleReview.Analyzer.exception.InvalidRequestException;
+import spring.GoogleReview.Analyzer.exception.PlaceNotTrackedException;
+import spring.GoogleReview.Analyzer.model.ImportResult;
+import spring.GoogleReview.Analyzer.model.TrackedPlace;
+import spring.GoogleReview.Analyzer.model.TrackedPlace.Status;
+import spring.GoogleReview.Analyzer.repository.TrackedPlaceRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Registry der automatisch aktualisierten Places und deren Laufstatus.
+ *
+ * Adaptives Intervall: ohne neue Reviews verdoppelt es sich (bis max), bei vielen
+ * neuen Reviews halbiert es sich (bis min). Fehler verschieben den nächsten Lauf
+ * exponentiell, ohne das Intervall zu ändern.
+ */
+@Service
+@RequiredArgsConstructor
+public class PlaceRefreshService {
+
+    // ab so vielen neuen Reviews pro Lauf wird häufiger abgefragt
+    static final int BUSY_THRESHOLD = 10;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final TrackedPlaceRepository trackedPlaceRepository;
+
+    @Transactional
+    public TrackedPlace track(String placeId, Duration minInterval, Duration maxInterval) {
+
+        if (minInterval.isNegative() || minInterval.isZero() || maxInterval.compareTo(minInterval) < 0) {
+            throw new InvalidRequestException("Erwartet 0 < minInterval <= maxInterval");
+        }
+
+        TrackedPlace place = trackedPlaceRepository.findById(placeId).orElseGet(() -> {
+            TrackedPlace p = new TrackedPlace();
+            p.setPlaceId(placeId);
+            p.setStatus(Status.IDLE);
+            p.setNextRunAt(Instant.now());
+            p.setIntervalSeconds(minInterval.toSeconds());
+            return p;
+        });
+
+        place.setMinIntervalSeconds(minInterval.toSeconds());
+        place.setMaxIntervalSeconds(maxInterval.toSeconds());
+        place.setIntervalSeconds(clamp(place.getIntervalSeconds(), place));
+        return trackedPlaceRepository.save(place);
+    }
+
+    @Transactional
+    public void untrack(String placeId) {
+        trackedPlaceRepository.delete(find(placeId));
+    }
+
+    public List<TrackedPlace> list() {
+        return trackedPlaceRepository.findAll(Sort.by("nextRunAt"));
+    }
+
+    @Transactional
+    public TrackedPlace refreshNow(String placeId) {
+        TrackedPlace place = find(placeId);
+        place.setNextRunAt(Instant.now());
+        return trackedPlaceRepository.save(place);
+    }
+
+    /**
+     * Markiert bis zu {@code limit} fällige Places als RUNNING.
+     */
+    @Transactional
+    public List<TrackedPlace> claimDue(int limit) {
+        List<TrackedPlace> due = trackedPlaceRepository.findByStatusNotAndNextRunAtLessThanEqual(
+                Status.RUNNING, Instant.now(), PageRequest.of(0, limit, Sort.by("nextRunAt")));
+
+        for (TrackedPlace place : due) {
+            place.setStatus(Status.RUNNING);
+        }
+        return trackedPlaceRepository.saveAll(due);
+    }
+
+    @Transactional
+    public void complete(String placeId, ImportResult result) {
+        trackedPlaceRepository.findById(placeId).ifPresent(place -> {
+            place.setIntervalSeconds(clamp(
+                    nextInterval(place.getIntervalSeconds(), result.getInserted()), place));
+            place.setStatus(Status.IDLE);
+            place.setLastRunAt(Instant.now());
+            if (!result.isIncremental()) {
+                place.setLastFullSyncAt(place.getLastRunAt());
+            }
+            place.setLastInserted(result.getInserted());
+            place.setLastDurationMillis(result.getDurationMillis());
+            place.setLastError(null);
+            place.setConsecutiveFailures(0);
+            place.setNextRunAt(Instant.now().plusSeconds(place.getIntervalSeconds()));
+        });
+    }
+
+    @Transactional
+    public void fail(String placeId, Exception error) {
+        trackedPlaceRepository.findById(placeId).ifPresent(place -> {
+            int failures = place.getConsecutiveFailures() + 1;
+            place.setStatus(Status.FAILED);
+            place.setLastRunAt(Instant.now());
+            place.setLastError(truncate(String.valueOf(error.getMessage())));
+            place.setConsecutiveFailures(failures);
+            place.setNextRunAt(Instant.now().plusSeconds(backoff(place.getMinIntervalSeconds(),
+                    place.getMaxIntervalSeconds(), failures)));
+        });
+    }
+
+    /**
+     * Nach einem Neustart: unterbrochene Läufe sofort wieder einplanen.
+     */
+    @Transactional
+    public int resetInterrupted() {
+        return trackedPlaceRepository.resetInterrupted(Status.RUNNING, Status.IDLE, Instant.now());
+    }
+
+    static long nextInterval(long current, int inserted) {
+        if (inserted == 0) return current * 2;
+        if (inserted >= BUSY_THRESHOLD) return current / 2;
+        return current;
+    }
+
+    static long backoff(long min, long max, int failures) {
+        return Math.min(max, min << Math.min(failures - 1, 20));
+    }
+
+    private TrackedPlace find(String placeId) {
+        return trackedPlaceRepository.findById(placeId)
+                .orElseThrow(() -> new PlaceNotTrackedException(placeId));
+    }
+
+    private static long clamp(long interval, TrackedPlace place) {
+        return Math.max(place.getMinIntervalSeconds(), Math.min(place.getMaxIntervalSeconds(), interval));
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,35 @@
+package spring.GoogleReview.Analyzer.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import spring.GoogleReview.Analyzer.model.PlaceVersion;
+import spring.GoogleReview.Analyzer.repository.PlaceVersionRepository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Pflegt den Datenstand pro Place (siehe PlaceVersion).
+ */
+@Service
+@RequiredArgsConstructor
+public class PlaceVersionService {
+
+    private final PlaceVersionRepository versionRepository;
+
+    /**
+     * Läuft in der Transaktion des Aufrufers → Version und Daten ändern sich gemeinsam.
+     */
+    @Transactional
+    public void bump(String placeId) {
+        versionRepository.bump(placeId, Instant.now());
+    }
+
+    /**
+     * @return leer, solange für den Place noch nichts gespeichert wurde
+     */
+    public Optional<PlaceVersion> current(String placeId) {
+        return versionRepository.findById(placeId);
+    }
+}
@@ -0,0 +1,91 @@
+package spring.GoogleReview.Analyzer.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import spring.GoogleReview.Analyzer.model.RatingRollup;
+import spring.GoogleReview.Analyzer.model.Review;
+import spring.GoogleReview.Analyzer.model.RollupGranularity;
+import spring.GoogleReview.Analyzer.repository.RatingRollupRepository;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pflegt die Rating-Rollups (Summe, Anzahl, Sterne-Histogramm) pro Place und Bucket.
+ */
+@Service
+@RequiredArgsConstructor
+public class RatingRollupService {
+
+    private final RatingRollupRepository rollupRepository;
+    private final PlaceVersionService placeVersions;
+
+    /**
+     * Zählt frisch gespeicherte Reviews in die Rollups ein. Läuft in der
+     * Transaktion des Aufrufers (ReviewService.saveNewReviews) → Reviews und
+     * Rollups sind immer konsistent.
+     */
+    @Transactional
+    public void record(List<Review> inserted) {
+
+        // erst im Speicher verdichten → ein Upsert pro betroffenem Bucket statt pro Review
+        Map<Key, RatingRollup> deltas = new HashMap<>();
+        for (Review r : inserted) {
+            if (r.getReviewedAt() == null) continue;
+            for (RollupGranularity g : RollupGranularity.values()) {
+                Key key = new Key(r.getPlaceId(), g, g.bucketStart(r.getReviewedAt()));
+                add(deltas.computeIfAbsent(key, k -> new RatingRollup()), r.getRating());
+            }
+        }
+
+        deltas.forEach((key, d) -> rollupRepository.upsert(
+                key.placeId(), key.granularity().name(), key.bucketStart(),
+                d.getReviewCount(), d.getRatingSum(),
+                d.getStars1(), d.getStars2(), d.getStars3(), d.getStars4(), d.getStars5()));
+    }
+
+    /**
+     * Baut die Rollups eines Places komplett aus der review-Tabelle neu auf
+     * (z. B. nach manuellen Korrekturen in der DB).
+     *
+     * @return Anzahl erzeugter Rollup-Zeilen
+     */
+    @Transactional
+    public int rebuild(String placeId) {
+        rollupRepository.deleteByPlace(placeId);
+
+        int rows = 0;
+        for (RollupGranularity g : RollupGranularity.values()) {
+            rows += rollupRepository.rebuild(placeId, g.name(), g.sqlUnit());
+        }
+        // Trends können sich geändert haben → ETags ungültig
+        placeVersions.bump(placeId);
+        return rows;
+    }
+
+    public List<RatingRollup> find(String placeId, RollupGranularity granularity, LocalDate from, LocalDate to) {
+        return rollupRepository.findByPlaceIdAndGranularityAndBucketStartBetweenOrderByBucketStartAsc(
+                placeId, granularity, granularity.bucketStart(from), to);
+    }
+
+    private static void add(RatingRollup rollup, int rating) {
+        rollup.setReviewCount(rollup.getReviewCount() + 1);
+        rollup.setRatingSum(rollup.getRatingSum() + rating);
+        switch (rating) {
+            case 1 -> rollup.setStars1(rollup.getStars1() + 1);
+            case 2 -> rollup.setStars2(rollup.getStars2() + 1);
+            case 3 -> rollup.setStars3(rollup.getStars3() + 1);
+            case 4 -> rollup.setStars4(rollup.getStars4() + 1);
+            case 5 -> rollup.setStars5(rollup.getStars5() + 1);
+            default -> {
+                // ohne Rating: nur Anzahl/Summe
+            }
+        }
+    }
+
+    private record Key(String placeId, RollupGranularity granularity, LocalDate bucketStart) {
+    }
+}
@@ -0,0 +1,115 @@
+package spring.GoogleReview.Analyzer.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import spring.GoogleReview.Analyzer.model.SerpApiReview;
+import spring.GoogleReview.Analyzer.util.SegmentArchive;
+import spring.GoogleReview.Analyzer.util.SerpApiPageParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Archiv der rohen SerpAPI-Antworten, ein SegmentArchive pro Place.
+ *
+ * Jede Seite mit neuen Reviews wird beim Abruf komprimiert angehängt (inkl. Abrufzeit –
+ * Anker für relative Datumsangaben). Nach einer Änderung am Mapping oder dem Verlust
+ * der DB lassen sich die Reviews mit {@link #replay} ohne SerpAPI-Credits neu einlesen
+ * (siehe ReviewImportService.replay).
+ *
+ * Schreibfehler brechen den Import nicht ab, sie werden nur gezählt
+ * (analyzer.archive.write.errors) – das Archiv ist eine Sicherung, keine Voraussetzung.
+ */
+@Service
+public class RawPageArchive {
+
+    @FunctionalInterface
+    public interface PageConsumer {
+        /**
+         * @return false = nicht weiterlesen
+         */
+        boolean accept(List<SerpApiReview> reviews, Instant fetchedAt);
+    }
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long segmentBytes;
+    private final JsonFactory jsonFactory;
+    private final StageMetrics metrics;
+    private final ConcurrentHashMap<String, SegmentArchive> archives = new ConcurrentHashMap<>();
+
+    public RawPageArchive(ObjectMapper objectMapper,
+                          StageMetrics metrics,
+                          @Value("${archive.enabled:true}") boolean enabled,
+                          @Value("${archive.dir:data/serpapi-archive}") Path directory,
+                          @Value("${archive.segment-size:64MB}") DataSize segmentSize) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentBytes = segmentSize.toBytes();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void store(String placeId, Instant fetchedAt, byte[] body) {
+        if (!enabled) return;
+        try {
+            metrics.observe("archive.write", placeId, () -> {
+                try {
+                    archive(placeId).append(fetchedAt.toEpochMilli(), body, 0, body.length);
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            metrics.record("archive.page.bytes", body.length);
+        } catch (UncheckedIOException e) {
+            metrics.count("archive.write.errors", placeId, 1);
+        }
+    }
+
+    /**
+     * Liest die archivierten Seiten ab from (null = alle) in Abrufreihenfolge –
+     * Dekomprimieren und Parsen laufen im aufrufenden Thread.
+     *
+     * @return Anzahl gelesener Seiten
+     */
+    public int replay(String placeId, Instant from, PageConsumer consumer) throws IOException {
+        // nur lesend → kein Eintrag im Cache der Schreiber
+        SegmentArchive archive = archives.get(placeId);
+        if (archive == null) archive = new SegmentArchive(placeDirectory(placeId), segmentBytes);
+        return archive.read(from == null ? Long.MIN_VALUE : from.toEpochMilli(), (timestamp, data, length) -> {
+            List<SerpApiReview> reviews = new ArrayList<>();
+            try (JsonParser parser = jsonFactory.createParser(data, 0, length)) {
+                SerpApiPageParser.parse(parser, reviews::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return consumer.accept(reviews, Instant.ofEpochMilli(timestamp));
+        });
+    }
+
+    private SegmentArchive archive(String placeId) {
+        return archives.computeIfAbsent(placeId, id -> new SegmentArchive(placeDirectory(id), segmentBytes));
+    }
+
+    // Place-IDs als URL-sicheres Base64 → gültiger, eindeutiger Verzeichnisname
+    private Path placeDirectory(String placeId) {
+        return directory.resolve(Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(placeId.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,91 @@
+package spring.GoogleReview.Analyzer.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import spring.GoogleReview.Analyzer.model.ImportResult;
+import spring.GoogleReview.Analyzer.model.TrackedPlace;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Importiert die registrierten Places (siehe PlaceRefreshService), sobald sie fällig sind.
+ *
+ * Pro Tick werden nur so viele Places beansprucht, wie Worker frei sind; die Imports
+ * laufen auf virtuellen Threads. Das SerpAPI-Budget (Requests/s) erzwingt der
+ * SerpApiReviewService global – mehr Worker erhöhen also nicht die Request-Rate,
+ * sondern nur die Überlappung von Netzwerk- und DB-Zeit.
+ */
+@Service
+public class RefreshScheduler {
+
+    private final PlaceRefreshService refreshService;
+    private final ReviewImportService importService;
+    private final AsyncTaskExecutor refreshExecutor;
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final Duration fullResyncInterval;
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    public RefreshScheduler(PlaceRefreshService refreshService,
+                            ReviewImportService importService,
+                            @Qualifier("refreshExecutor") AsyncTaskExecutor refreshExecutor,
+                            @Value("${refresh.enabled:false}") boolean enabled,
+                            @Value("${refresh.max-concurrent:4}") int maxConcurrent,
+                            @Value("${refresh.full-resync-interval:7d}") Duration fullResyncInterval) {
+        this.refreshService = refreshService;
+        this.importService = importService;
+        this.refreshExecutor = refreshExecutor;
+        this.enabled = enabled;
+        this.maxConcurrent = maxConcurrent;
+        this.fullResyncInterval = fullResyncInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeAfterRestart() {
+        refreshService.resetInterrupted();
+    }
+
+    @Scheduled(fixedDelayString = "${refresh.tick:PT30S}")
+    public void tick() {
+        if (!enabled) return;
+
+        int free = maxConcurrent - running.get();
+        if (free <= 0) return;
+
+        for (TrackedPlace place : refreshService.claimDue(free)) {
+            running.incrementAndGet();
+            try {
+                refreshExecutor.execute(() -> refresh(place.getPlaceId(), needsFullSync(place)));
+            } catch (TaskRejectedException e) {
+                running.decrementAndGet();
+                refreshService.fail(place.getPlaceId(), e);
+            }
+        }
+    }
+
+    // Routine-Läufe inkrementell; Vollabgleich beim ersten Mal und danach periodisch
+    private boolean needsFullSync(TrackedPlace place) {
+        return place.getLastFullSyncAt() == null
+                || place.getLastFullSyncAt().plus(fullResyncInterval).isBefore(Instant.now());
+    }
+
+    private void refresh(String placeId, boolean fullSync) {
+        try {
+            ImportResult result = importService.importReviews(placeId, !fullSync);
+            refreshService.complete(placeId, result);
+        } catch (Exception e) {
+            refreshService.fail(placeId, e);
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package spring.GoogleReview.Analyzer.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import spring.GoogleReview.Analyzer.exception.NoReviewsFoundException;
 import spring.GoogleReview.Analyzer.model.*;
 import spring.GoogleReview.Analyzer.repository.ReviewRepository;
-import spring.GoogleReview.Analyzer.util.ReviewDateParser;
+import spring.GoogleReview.Analyzer.util.TrendStatistics;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -16,60 +16,109 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ReviewAnalysisService {
 
+    // offener Zeitraum → Grenzen, die jeden Bucket einschließen
+    private static final LocalDate TRENDS_FROM = LocalDate.of(1900, 1, 1);
+    private static final LocalDate TRENDS_TO = LocalDate.of(9999, 12, 31);
+    private static final double DAYS_PER_MONTH = 30.44;
+    // ab dieser Konfidenz gilt eine Steigung als Trend
+    private static final double TREND_CONFIDENCE = 0.95;
+
     private final ReviewRepository reviewRepository;
-    private final OpenAIClient openAIClient;
+    private final IncrementalAnalysisService incrementalAnalysis;
+    private final AnalysisCacheService analysisCache;
+    private final LocalFakeReviewDetector fakeDetector;
+    private final RatingRollupService ratingRollups;
+    private final StageMetrics metrics;
+    private final PlaceVersionService placeVersions;
+
+    @Value("${trends.ewma-alpha:0.3}")
+    private double ewmaAlpha;
 
     // -------------------------------------------------------
     // 🔥 TREND ANALYSE
     // -------------------------------------------------------
     public TrendAnalysisResult analyzeTrends(String placeId) {
+        return analyzeTrends(placeId, null, null, RollupGranularity.DAY);
+    }
 
-        List<Review> reviews = reviewRepository.findByPlaceId(placeId);
+    /**
+     * Durchschnitt, Anzahl und Sterne-Verteilung pro Bucket – gelesen aus den
+     * Rating-Rollups (eine Zeile pro Tag/Woche/Monat statt aller Reviews).
+     */
+    public TrendAnalysisResult analyzeTrends(String placeId, LocalDate from, LocalDate to,
+                                             RollupGranularity granularity) {
 
-        if (reviews.isEmpty()) {
+        List<RatingRollup> buckets = metrics.observe("trend.query", placeId, () ->
+                ratingRollups.find(placeId, granularity,
+                        from != null ? from : TRENDS_FROM,
+                        to != null ? to : TRENDS_TO));
+
+        if (buckets.isEmpty() && from == null && to == null) {
             throw new NoReviewsFoundException(placeId);
         }
 
-        Map<LocalDate, List<Review>> grouped = reviews.stream()
-                .collect(Collectors.groupingBy(
-                        r -> ReviewDateParser.parseRelativeDate(r.getReviewDate())
-                ));
+        int m = buckets.size();
+        LocalDate[] dates = new LocalDate[m];
+        long[] days = new long[m];
+        double[] averages = new double[m];
+        long[] counts = new long[m];
+
+        Map<LocalDate, Double> avgRating = new TreeMap<>();
+        Map<LocalDate, Integer> count = new TreeMap<>();
+        Map<LocalDate, long[]> stars = new TreeMap<>();
+        for (int i = 0; i < m; i++) {
+            RatingRollup bucket = buckets.get(i);
+            dates[i] = bucket.getBucketStart();
+            days[i] = dates[i].toEpochDay();
+            averages[i] = bucket.averageRating();
+            counts[i] = bucket.getReviewCount();
+
+            avgRating.put(dates[i], averages[i]);
+            count.put(dates[i], (int) counts[i]);
+            stars.put(dates[i], bucket.starHistogram());
+        }
 
-        Map<LocalDate, Double> avgRating = grouped.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        e -> e.getValue().stream().mapToInt(Review::getRating).average().orElse(0)
-                ));
+        TrendStatistics.Result stats = metrics.observe("trend.compute", placeId,
+                () -> TrendStatistics.compute(days, averages, counts, ewmaAlpha));
 
-        Map<LocalDate, Integer> count = grouped.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        e -> e.getValue().size()
-                ));
+        Map<LocalDate, Double> smoothed = new TreeMap<>();
+        for (int i = 0; i < m; i++) {
+            smoothed.put(dates[i], stats.smoothed()[i]);
+        }
 
-        String trendSummary = summarizeTrend(avgRating);
+        List<TrendChangePoint> changePoints = new ArrayList<>();
+        for (TrendStatistics.ChangePoint c : stats.changePoints()) {
+            changePoints.add(new TrendChangePoint(dates[c.index()], c.direction() > 0 ? "UP" : "DOWN",
+                    stats.smoothed()[c.index() - 1], averages[c.index()]));
+        }
 
         TrendAnalysisResult result = new TrendAnalysisResult();
+        result.setGranularity(granularity);
         result.setAverageRatingPerDate(avgRating);
         result.setReviewsCountPerDate(count);
-        result.setTrendSummary(trendSummary);
+        result.setStarHistogramPerDate(stars);
+        result.setSmoothedRatingPerDate(smoothed);
+        result.setSlopePerMonth(Double.isNaN(stats.slopePerDay()) ? null : stats.slopePerDay() * DAYS_PER_MONTH);
+        result.setSlopeConfidence(stats.slopeConfidence());
+        result.setChangePoints(changePoints);
+        result.setTrendSummary(summarizeTrend(m, stats));
 
         return result;
     }
 
-    private String summarizeTrend(Map<LocalDate, Double> data) {
-
-        if (data.size() < 2) return "Nicht genug Daten für Trendanalyse";
+    /**
+     * Richtung nur bei signifikanter Steigung; bei genau zwei Buckets gibt es
+     * keine Konfidenz → Vorzeichen der Steigung wie bisher (erster vs. letzter Wert).
+     */
+    private String summarizeTrend(int buckets, TrendStatistics.Result stats) {
 
-        List<Map.Entry<LocalDate, Double>> sorted = data.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .toList();
+        if (buckets < 2) return "Nicht genug Daten für Trendanalyse";
 
-        double first = sorted.get(0).getValue();
-        double last = sorted.get(sorted.size() - 1).getValue();
+        double slope = stats.slopePerDay();
+        boolean decided = buckets == 2 || stats.slopeConfidence() >= TREND_CONFIDENCE;
 
-        if (last > first) return "🔥 Bewertungen steigen";
-        if (last < first) return "⚠️ Bewertungen fallen";
+        if (decided && slope > 0) return "🔥 Bewertungen steigen";
+        if (decided && slope < 0) return "⚠️ Bewertungen fallen";
         return "➖ Stabil";
     }
 
@@ -77,153 +126,109 @@ public class ReviewAnalysisService {
     // -------------------------------------------------------
     // 🔥 REVIEW ANALYSE (mit stabiler ID-Zuordnung)
     // -------------------------------------------------------
-    public AnalysisResult analyzeReviews(String placeId) throws Exception {
+    public AnalysisResult analyzeReviews(String placeId) {
+        return analyzeReviews(placeId, AnalysisProgressListener.NONE);
+    }
 
-        List<Review> reviews = reviewRepository.findByPlaceId(placeId);
+    public AnalysisResult analyzeReviews(String placeId, AnalysisProgressListener listener) {
 
-        if (reviews.isEmpty()) {
-            throw new NoReviewsFoundException(placeId);
+        // Unveränderte Review-Menge → Ergebnis aus dem Cache, ohne OpenAI-Aufruf
+        String digest = analysisCache.digest(placeId);
+        AnalysisResult cached = analysisCache.get(placeId, digest);
+        if (cached != null) {
+            return cached;
         }
 
-        // -------------------------------------------------------
-        // ⭐ WICHTIG: Wir senden OpenAI Reviews MIT ID!
-        // -------------------------------------------------------
-        StringBuilder sb = new StringBuilder();
-
-        for (Review r : reviews) {
-            sb.append("{\"id\": ").append(r.getId())
-                    .append(", \"rating\": ").append(r.getRating())
-                    .append(", \"text\": \"")
-                    .append(r.getText().replace("\"", "'"))
-                    .append("\"}\n");
-        }
-
-        // -------------------------------------------------------
-        // ⭐ OPENAI PROMPT – IDs MÜSSEN GENUTZT WERDEN
-        // -------------------------------------------------------
-        String prompt = """
-Du bist ein professioneller Review-Analyst.
-
-Hier sind die Reviews im Format:
-{id: NUMMER, rating: ZAHL, text: "INHALT"}
-
-Du MUSST diese IDs verwenden — du darfst KEINE eigene ID erfinden.
-
-Antworte IMMER als valides JSON:
-
-{
-  "negative_keywords": [],
-  "positive_keywords": [],
-  "top_keywords": {},
-  "summary": "",
-  "categories": {
-    "food": {"positive": 0, "negative": 0},
-    "service": {"positive": 0, "negative": 0},
-    "ambience": {"positive": 0, "negative": 0},
-    "price": {"positive": 0, "negative": 0}
-  },
-  "monthly_trend": {},
-  "fake_reviews": [
-    { "review_id": 12, "probability": 0.87 }
-  ]
-}
-
-#############################################################
-### WICHTIGE ANWEISUNGEN — STRIKT EINHALTEN! ###
-#############################################################
-
-SUMMARY-REGELN:
-- Die Summary muss **zuerst** eine Bewertung der Gesamtsituation enthalten.
-- Danach MUSST du eine **NEUE ZEILE** machen.
-- Danach MUSST du die Überschrift schreiben:
-  "Verbesserungsvorschläge:"
-- Direkt darunter MUSST du mindestens **2 Bullet Points** liefern.
-- Beispiel (FORMAT IST PFLICHT):
-  
-  "Verbesserungsvorschläge:
-   • Wartezeiten reduzieren
-   • Speisekarte erweitern"
+        // Nur neue Reviews gehen an OpenAI, der Rest kommt aus dem gespeicherten Zustand
+        AnalysisResult result = incrementalAnalysis.analyze(placeId, listener);
+        result.setFakeReviewDetails(fakeReviewDetails(placeId, result));
 
-KEIN ANDERES FORMAT IST ERLAUBT.
+        analysisCache.put(placeId, digest, result);
 
-FAKE REVIEW ERKENNUNG:
-Markiere nur Reviews als Fake, wenn mehrere klare Spam- oder KI-Muster gleichzeitig auftreten:
-- extrem generische Inhalte
-- Copy/Paste ähnliche Formulierungen
-- widersprüchliche Inhalte
-- Werbung oder Spam-Anmutung
-- KI-typische Floskeln
-- realitätsferne Behauptungen
-- nur schlechte Bewertung  ohne Begründungen 
-
-WICHTIG:
-- Normale positive Bewertungen dürfen NICHT als Fake markiert werden.
-- Nur eindeutige Fälle markieren.
-- probability realistisch zwischen 0.50 und 0.90.
-- Ein Review ohne Text (nur Sterne) darf NICHT als Fake markiert werden,
-  außer es existiert ein klarer Spam-Verdacht (z. B. viele identische Bewertungen
-  in sehr kurzer Zeit). Wenn kein Text vorhanden ist, probability = 0.
+        return result;
+    }
 
+    /**
+     * Erstellt die Summary auf Anfrage neu – inkl. aller seit der letzten Summary
+     * hinzugekommenen Reviews.
+     */
+    public AnalysisResult regenerateSummary(String placeId) {
 
-AUSGABE:
-- Nur JSON, keine Erklärungen.
-- Keine zusätzlichen Felder.
+        String digest = analysisCache.digest(placeId);
 
-Reviews:
-""" + sb;
+        AnalysisResult result = incrementalAnalysis.regenerateSummary(placeId);
+        result.setFakeReviewDetails(fakeReviewDetails(placeId, result));
 
+        analysisCache.put(placeId, digest, result);
+        // neue Summary bei gleichen Reviews → ETags ungültig
+        placeVersions.bump(placeId);
 
+        return result;
+    }
 
-        String aiResponse = openAIClient.analyze(prompt);
+    /**
+     * Nur die lokale Fake-Erkennung, ohne OpenAI-Aufruf.
+     */
+    public List<FakeReviewDetail> detectFakeReviews(String placeId) {
 
+        List<Review> reviews = reviewRepository.findByPlaceId(placeId);
 
-        String cleanJson = extractJson(aiResponse);
+        if (reviews.isEmpty()) {
+            throw new NoReviewsFoundException(placeId);
+        }
 
-        AnalysisResult result = new ObjectMapper().readValue(cleanJson, AnalysisResult.class);
+        return fakeDetector.detect(reviews);
+    }
 
-        List<FakeReviewDetail> details = new ArrayList<>();
+    /**
+     * Kombiniert lokale Erkennung (result.fakeReviewDetails, inkrementell aus dem
+     * Analysezustand) und LLM-Markierungen:
+     * eindeutige lokale Treffer zählen immer, lokale Grenzfälle nur, wenn
+     * auch das LLM sie markiert hat. Reine LLM-Treffer bleiben erhalten.
+     */
+    private List<FakeReviewDetail> fakeReviewDetails(String placeId, AnalysisResult result) {
 
+        Map<Long, Double> llm = new HashMap<>();
         if (result.getFake_reviews() != null) {
             for (FakeReviewEntry entry : result.getFake_reviews()) {
-
-                Review match = reviews.stream()
-                        .filter(r -> Objects.equals(r.getId(), entry.getReviewId()))
-                        .findFirst()
-                        .orElse(null);
-
-                if (match != null) {
-                    FakeReviewDetail d = new FakeReviewDetail();
-                    d.setId(match.getId());
-                    d.setAuthor(match.getAuthor());
-                    d.setRating(match.getRating());
-                    d.setText(match.getText());
-                    d.setReviewDate(match.getReviewDate());
-                    d.setProbability(entry.getProbability());
-                    details.add(d);
-                }
+                if (entry.getReviewId() != null) llm.put(entry.getReviewId(), entry.getProbability());
             }
         }
 
-        result.setFakeReviewDetails(details);
-
-        result.setReviewCount(reviews.size());
+        Map<Long, FakeReviewDetail> details = new TreeMap<>();
 
-        return result;
-    }
+        for (FakeReviewDetail local : result.getFakeReviewDetails()) {
+            Double llmProbability = llm.get(local.getId());
+            if (LocalFakeReviewDetector.isBorderline(local.getProbability()) && llmProbability == null) {
+                continue;
+            }
+            if (llmProbability != null) {
+                local.setProbability(Math.max(local.getProbability(), llmProbability));
+            }
+            details.put(local.getId(), local);
+        }
 
+        // nur die reinen LLM-Treffer nachladen – und nur vom eigenen Place, das LLM kann IDs erfinden
+        Map<Long, Review> byId = reviewRepository.findByIdInAndPlaceId(
+                        llm.keySet().stream().filter(id -> !details.containsKey(id)).toList(), placeId)
+                .stream()
+                .collect(Collectors.toMap(Review::getId, r -> r));
+
+        llm.forEach((id, probability) -> {
+            Review match = byId.get(id);
+            if (match != null) {
+                FakeReviewDetail d = new FakeReviewDetail();
+                d.setId(match.getId());
+                d.setAuthor(match.getAuthor());
+                d.setRating(match.getRating());
+                d.setText(match.getText());
+                d.setReviewDate(match.getReviewDate());
+                d.setProbability(probability);
+                details.put(id, d);
+            }
+        });
 
-    private String extractJson(String aiResponse) {
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            var tree = mapper.readTree(aiResponse);
-            String content = tree.get("choices").get(0)
-                    .get("message").get("content").asText();
-            return content.replace("```json", "")
-                    .replace("```", "")
-                    .trim();
-        } catch (Exception e) {
-            throw new RuntimeException("Konnte JSON aus AI-Antwort nicht extrahieren:\n" + aiResponse, e);
-        }
+        return new ArrayList<>(details.values());
     }
 
 }
@@ -0,0 +1,233 @@
+package spring.GoogleReview.Analyzer.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import spring.GoogleReview.Analyzer.exception.SerpApiException;
+import spring.GoogleReview.Analyzer.model.ImportResult;
+import spring.GoogleReview.Analyzer.model.Review;
+import spring.GoogleReview.Analyzer.model.SerpApiReview;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+
+/**
+ * Import als zweistufige Pipeline:
+ * ein Producer-Thread holt die SerpAPI-Seiten, der aufrufende Thread mappt und
+ * speichert jede Seite, während die nächste bereits geladen wird.
+ * Die Queue ist beschränkt → der Producer wartet, wenn die DB langsamer ist (Backpressure).
+ *
+ * {@link #replay} nutzt dieselbe Pipeline mit dem Seitenarchiv (RawPageArchive) als Quelle.
+ */
+@Service
+public class ReviewImportService {
+
+    private static final ImportPage END = new ImportPage(List.of(), null, false, null);
+
+    private final SerpApiReviewService serpApiReviewService;
+    private final RawPageArchive archive;
+    private final ReviewService reviewService;
+    private final ReviewMapper reviewMapper;
+    private final AnalysisCacheService analysisCache;
+    private final KnownReviewIndex knownReviews;
+    private final AsyncTaskExecutor importExecutor;
+    private final StageMetrics metrics;
+    private final int queueCapacity;
+    private final int replayBatchSize;
+
+    public ReviewImportService(
+            SerpApiReviewService serpApiReviewService,
+            RawPageArchive archive,
+            ReviewService reviewService,
+            ReviewMapper reviewMapper,
+            AnalysisCacheService analysisCache,
+            KnownReviewIndex knownReviews,
+            @Qualifier("importExecutor") AsyncTaskExecutor importExecutor,
+            StageMetrics metrics,
+            @Value("${import.pipeline.queue-capacity:1}") int queueCapacity,
+            @Value("${archive.replay.batch-size:1000}") int replayBatchSize) {
+        this.serpApiReviewService = serpApiReviewService;
+        this.archive = archive;
+        this.reviewService = reviewService;
+        this.reviewMapper = reviewMapper;
+        this.analysisCache = analysisCache;
+        this.knownReviews = knownReviews;
+        this.importExecutor = importExecutor;
+        this.metrics = metrics;
+        this.queueCapacity = queueCapacity;
+        this.replayBatchSize = replayBatchSize;
+    }
+
+    public ImportResult importReviews(String placeId) {
+        return importReviews(placeId, false);
+    }
+
+    /**
+     * @param incremental neueste Reviews zuerst und Abbruch bei der ersten Seite,
+     *                    deren externalIds alle bekannt sind (siehe KnownReviewIndex).
+     *                    Sonst Vollabgleich über alle Seiten.
+     */
+    public ImportResult importReviews(String placeId, boolean incremental) {
+        ImportResult result = new ImportResult();
+        result.setIncremental(incremental);
+        return run(placeId, result, incremental ? "incremental" : "full",
+                queue -> fetch(placeId, incremental, queue));
+    }
+
+    /**
+     * Liest die archivierten Rohseiten erneut ein (Mapping, Dedup, Speichern wie beim Import),
+     * ohne SerpAPI-Aufruf. Bereits gespeicherte Reviews werden wie üblich übersprungen –
+     * nach einer Mapping-Änderung also vorher die Reviews des Places löschen.
+     *
+     * @param from nur Seiten ab diesem Abrufzeitpunkt, null = alle
+     */
+    public ImportResult replay(String placeId, Instant from) {
+        ImportResult result = new ImportResult();
+        result.setReplay(true);
+        return run(placeId, result, "replay", queue -> replayArchive(placeId, from, queue));
+    }
+
+    private ImportResult run(String placeId, ImportResult result, String mode, PageSource source) {
+
+        long start = System.nanoTime();
+
+        BlockingQueue<ImportPage> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Future<?> producer = importExecutor.submit(() -> produce(source, queue));
+
+        result.setPlaceId(placeId);
+
+        try {
+            while (true) {
+                ImportPage page = queue.take();
+
+                if (page.error() != null) {
+                    if (page.error() instanceof RuntimeException re) throw re;
+                    throw new SerpApiException("Import fehlgeschlagen für Place-ID: " + placeId, page.error());
+                }
+                if (page == END) break;
+
+                if (page.known()) {
+                    result.setPages(result.getPages() + 1);
+                    result.setSkipped(result.getSkipped() + page.reviews().size());
+                    result.setStoppedEarly(true);
+                    continue;
+                }
+
+                List<Review> mapped = metrics.observe("import.mapping", placeId, () -> page.reviews().stream()
+                        .map(r -> reviewMapper.mapToReview(r, placeId, page.fetchedOn()))
+                        .toList());
+
+                List<Review> saved = reviewService.saveNewReviews(mapped);
+                knownReviews.addAll(placeId, saved.stream().map(Review::getExternalId).toList());
+
+                result.setPages(result.getPages() + 1);
+                result.setInserted(result.getInserted() + saved.size());
+                result.setSkipped(result.getSkipped() + mapped.size() - saved.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import unterbrochen für Place-ID: " + placeId, e);
+        } finally {
+            // Bei Fehlern im Consumer darf der Producer nicht weiter SerpAPI-Credits verbrauchen
+            producer.cancel(true);
+        }
+
+        if (result.getInserted() > 0) {
+            analysisCache.invalidate(placeId);
+        }
+
+        result.setDurationMillis((System.nanoTime() - start) / 1_000_000);
+
+        metrics.count("import.reviews", placeId, result.getInserted(), "result", "inserted", "mode", mode);
+        metrics.count("import.reviews", placeId, result.getSkipped(), "result", "skipped", "mode", mode);
+        metrics.count("import.pages", placeId, result.getPages(), "mode", mode);
+        return result;
+    }
+
+    private void fetch(String placeId, boolean incremental, BlockingQueue<ImportPage> queue) {
+        serpApiReviewService.fetchReviewPages(placeId, incremental, reviews -> {
+            // alles bekannt → ältere Seiten sind es auch, keine weiteren SerpAPI-Credits
+            boolean known = incremental && knownReviews.allKnown(placeId, externalIds(reviews));
+            put(queue, new ImportPage(reviews, LocalDate.now(ZoneOffset.UTC), known, null));
+            return !known;
+        });
+    }
+
+    // Archivseiten sind klein (~10 Reviews) → Seiten mit gleichem Abrufdatum zu größeren
+    // Batches zusammenfassen, damit nicht jede Seite eine eigene Transaktion kostet
+    private void replayArchive(String placeId, Instant from, BlockingQueue<ImportPage> queue) {
+        List<SerpApiReview> batch = new ArrayList<>();
+        LocalDate[] batchDate = new LocalDate[1];
+
+        try {
+            archive.replay(placeId, from, (reviews, fetchedAt) -> {
+                LocalDate fetchedOn = LocalDate.ofInstant(fetchedAt, ZoneOffset.UTC);
+                if (!batch.isEmpty() && (!fetchedOn.equals(batchDate[0])
+                        || batch.size() + reviews.size() > replayBatchSize)) {
+                    put(queue, new ImportPage(List.copyOf(batch), batchDate[0], false, null));
+                    batch.clear();
+                }
+                batch.addAll(reviews);
+                batchDate[0] = fetchedOn;
+                return true;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Seitenarchiv von " + placeId + " nicht lesbar", e);
+        }
+        if (!batch.isEmpty()) put(queue, new ImportPage(List.copyOf(batch), batchDate[0], false, null));
+    }
+
+    private static void put(BlockingQueue<ImportPage> queue, ImportPage page) {
+        try {
+            queue.put(page);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationSignal();
+        }
+    }
+
+    private void produce(PageSource source, BlockingQueue<ImportPage> queue) {
+        try {
+            source.pages(queue);
+            queue.put(END);
+        } catch (CancellationSignal | InterruptedException e) {
+            // Consumer hat abgebrochen → nichts mehr zu tun
+        } catch (Throwable t) {
+            try {
+                queue.put(new ImportPage(List.of(), null, false, t));
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static List<String> externalIds(List<SerpApiReview> reviews) {
+        return reviews.stream().map(SerpApiReview::reviewId).toList();
+    }
+
+    @FunctionalInterface
+    private interface PageSource {
+        void pages(BlockingQueue<ImportPage> queue) throws Exception;
+    }
+
+    // fetchedOn: Abrufdatum der Seite, Anker für relative Datumsangaben
+    // known: alle IDs bereits gespeichert → nur zählen, nicht speichern
+    private record ImportPage(List<SerpApiReview> reviews, LocalDate fetchedOn, boolean known,
+                              Throwable error) {
+    }
+
+    private static class CancellationSignal extends RuntimeException {
+        CancellationSignal() {
+            super(null, null, false, false);
+        }
+    }
+}
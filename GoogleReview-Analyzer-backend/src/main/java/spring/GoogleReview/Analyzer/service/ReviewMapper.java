@@ -0,0 +1,56 @@
+package spring.GoogleReview.Analyzer.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import spring.GoogleReview.Analyzer.model.Review;
+import spring.GoogleReview.Analyzer.model.SerpApiReview;
+import spring.GoogleReview.Analyzer.util.ReviewDateParser;
+import spring.GoogleReview.Analyzer.util.ReviewFingerprint;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Mappt Reviews aus der SerpAPI-Antwort auf die Entity (Datum, Fingerprint, Kategorien).
+ */
+@Service
+@RequiredArgsConstructor
+public class ReviewMapper {
+
+    private final CategoryClassifier categoryClassifier;
+
+    public Review mapToReview(SerpApiReview apiReview, String placeId) {
+        return mapToReview(apiReview, placeId, LocalDate.now(ZoneOffset.UTC));
+    }
+
+    /**
+     * @param fetchedOn Abrufdatum – Anker für relative Angaben wie "vor 2 Wochen"
+     */
+    public Review mapToReview(SerpApiReview apiReview, String placeId, LocalDate fetchedOn) {
+        Review review = new Review();
+
+        review.setPlaceId(placeId);
+        review.setExternalId(apiReview.reviewId());
+        review.setAuthor(apiReview.author() != null ? apiReview.author() : "Unknown");
+
+        int rating = apiReview.rating();
+
+        review.setRating(rating);
+        review.setText(apiReview.snippet() != null ? apiReview.snippet() : "");
+        review.setReviewDate(apiReview.date() != null ? apiReview.date() : "unknown");
+        review.setReviewedAt(resolveDate(apiReview.isoDate(), review.getReviewDate(), fetchedOn));
+        review.setFingerprint(ReviewFingerprint.of(placeId, review.getAuthor(), rating, review.getText()));
+        review.setCategoryMask(categoryClassifier.classify(review.getText()));
+
+        return review;
+    }
+
+    // iso_date der SerpAPI ist exakt; sonst relativen Text auflösen, notfalls Abrufdatum
+    private static LocalDate resolveDate(String isoDate, String relative, LocalDate fetchedOn) {
+        LocalDate date = ReviewDateParser.parse(isoDate, fetchedOn);
+        if (date == null) {
+            date = ReviewDateParser.parse(relative, fetchedOn);
+        }
+        return date != null ? date : fetchedOn;
+    }
+}
@@ -0,0 +1,118 @@
+package spring.GoogleReview.Analyzer.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import spring.GoogleReview.Analyzer.exception.InvalidRequestException;
+import spring.GoogleReview.Analyzer.model.ReviewListItem;
+import spring.GoogleReview.Analyzer.model.ReviewPage;
+import spring.GoogleReview.Analyzer.model.ReviewSort;
+import spring.GoogleReview.Analyzer.repository.ReviewPageRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Seitenweise Review-Liste mit opakem Cursor.
+ *
+ * Der Cursor kodiert Sortierung, Richtung und den Schlüssel des letzten
+ * Elements ("rating:desc:4:1234" → Base64). Er ist nur mit derselben
+ * Sortierung gültig.
+ */
+@Service
+public class ReviewPageService {
+
+    private final ReviewPageRepository pageRepository;
+    private final CategoryClassifier categoryClassifier;
+    private final int defaultSize;
+    private final int maxSize;
+
+    public ReviewPageService(ReviewPageRepository pageRepository,
+                             CategoryClassifier categoryClassifier,
+                             @Value("${reviews.page.default-size:50}") int defaultSize,
+                             @Value("${reviews.page.max-size:200}") int maxSize) {
+        this.pageRepository = pageRepository;
+        this.categoryClassifier = categoryClassifier;
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    public ReviewPage page(String placeId, String cursor, Integer size, String sort, String direction,
+                           String category, boolean includeText) {
+
+        ReviewSort reviewSort = sort == null ? ReviewSort.ID : ReviewSort.parse(sort);
+        if (reviewSort == null) {
+            throw new InvalidRequestException("Unbekannte Sortierung: " + sort);
+        }
+        boolean descending = parseDirection(direction);
+        int pageSize = size == null ? defaultSize : Math.max(1, Math.min(size, maxSize));
+
+        ReviewPage page = new ReviewPage();
+        page.setSize(pageSize);
+
+        List<Integer> categoryMasks = List.of();
+        if (category != null && !category.isBlank()) {
+            categoryMasks = categoryClassifier.masksContaining(category);
+            if (categoryMasks.isEmpty()) {
+                page.setItems(List.of());
+                return page;
+            }
+        }
+
+        Long afterKey = null, afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            long[] position = decode(cursor, reviewSort, descending);
+            afterKey = position[0];
+            afterId = position[1];
+        }
+
+        // eine Zeile mehr lesen → wissen, ob es eine nächste Seite gibt
+        List<ReviewListItem> rows = pageRepository.findPage(placeId, reviewSort, descending,
+                afterKey, afterId, categoryMasks, includeText, pageSize + 1);
+
+        if (rows.size() > pageSize) {
+            rows = new ArrayList<>(rows.subList(0, pageSize));
+            page.setNextCursor(encode(reviewSort, descending, rows.get(rows.size() - 1)));
+        }
+        page.setItems(rows);
+        return page;
+    }
+
+    private static boolean parseDirection(String direction) {
+        if (direction == null || direction.equalsIgnoreCase("desc")) return true;
+        if (direction.equalsIgnoreCase("asc")) return false;
+        throw new InvalidRequestException("Unbekannte Richtung: " + direction);
+    }
+
+    private static long sortKey(ReviewSort sort, ReviewListItem item) {
+        return switch (sort) {
+            case ID -> item.getId();
+            case RATING -> item.getRating();
+            case DATE -> item.getReviewedAt() == null
+                    ? ReviewPageRepository.NULL_DATE_KEY
+                    : item.getReviewedAt().toEpochDay();
+        };
+    }
+
+    static String encode(ReviewSort sort, boolean descending, ReviewListItem last) {
+        String raw = sort.name() + ":" + (descending ? "desc" : "asc") + ":"
+                + sortKey(sort, last) + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long[] decode(String cursor, ReviewSort sort, boolean descending) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length == 4
+                    && parts[0].equals(sort.name())
+                    && parts[1].equals(descending ? "desc" : "asc")) {
+                return new long[]{Long.parseLong(parts[2]), Long.parseLong(parts[3])};
+            }
+        } catch (IllegalArgumentException ignored) {
+            // kaputtes Base64 oder keine Zahl → unten
+        }
+        throw new InvalidRequestException("Ungültiger Cursor für diese Sortierung");
+    }
+}
@@ -0,0 +1,252 @@
+package spring.GoogleReview.Analyzer.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import spring.GoogleReview.Analyzer.exception.InvalidRequestException;
+import spring.GoogleReview.Analyzer.model.Review;
+import spring.GoogleReview.Analyzer.model.ReviewSearchHit;
+import spring.GoogleReview.Analyzer.model.ReviewSearchResult;
+import spring.GoogleReview.Analyzer.repository.ReviewRepository;
+import spring.GoogleReview.Analyzer.util.InvertedIndex;
+import spring.GoogleReview.Analyzer.util.SearchAnalyzer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Volltextsuche über alle Reviews (GET /api/reviews/search).
+ *
+ * Der Index liegt im Speicher (InvertedIndex) und wird nach dem Start einmal
+ * blockweise aus der DB aufgebaut – in einem virtuellen Thread, der Start wartet nicht.
+ * Danach kommen neue Reviews nach dem Commit von ReviewService.saveNewReviews hinzu.
+ * Bis der Aufbau fertig ist, liefert die Suche nur die schon indexierten Reviews.
+ */
+@Slf4j
+@Service
+public class ReviewSearchService {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ReviewRepository reviewRepository;
+    private final StageMetrics metrics;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final int snippetChars;
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    // Während des Aufbaus können Commits den gerade gelesenen Block überholen:
+    // wer eine ID zuerst einträgt, indexiert sie (keine doppelten Treffer).
+    // Gilt schon ab Konstruktion – auch Imports vor ApplicationReadyEvent werden erfasst.
+    private final Set<Long> claimedIds = new HashSet<>();
+    private boolean rebuilding = true;
+
+    public ReviewSearchService(ReviewRepository reviewRepository,
+                               StageMetrics metrics,
+                               @Value("${search.default-limit:20}") int defaultLimit,
+                               @Value("${search.max-limit:100}") int maxLimit,
+                               @Value("${search.snippet-chars:200}") int snippetChars) {
+        this.reviewRepository = reviewRepository;
+        this.metrics = metrics;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.snippetChars = snippetChars;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        Thread.ofVirtual().name("review-search-index").start(this::rebuild);
+    }
+
+    /**
+     * Indexiert gespeicherte Reviews nach dem Commit (ohne Transaktion sofort) –
+     * ein Rollback hinterlässt so keine Geister-Treffer.
+     */
+    public void indexAfterCommit(List<Review> reviews) {
+        if (reviews.isEmpty()) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(reviews);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index(reviews);
+            }
+        });
+    }
+
+    /**
+     * @param query Wörter (alle müssen vorkommen) und "Phrasen in Anführungszeichen"
+     */
+    public ReviewSearchResult search(String query, String placeId, Integer minRating, Integer maxRating,
+                                     LocalDate from, LocalDate to, Integer limit) {
+
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Suchbegriff q fehlt");
+        }
+        int min = minRating == null ? 0 : minRating;
+        int max = maxRating == null ? 5 : maxRating;
+        if (min < 0 || max > 5 || min > max) {
+            throw new InvalidRequestException("Erwartet 0 <= minRating <= maxRating <= 5");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidRequestException("from liegt nach to");
+        }
+        int size = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+
+        long started = System.nanoTime();
+        ReviewSearchResult result = new ReviewSearchResult();
+
+        int place = -1;
+        if (placeId != null && !placeId.isBlank()) {
+            place = index.placeNumber(placeId);
+            if (place < 0) {
+                result.setHits(List.of());
+                return result;
+            }
+        }
+        InvertedIndex.Filter filter = new InvertedIndex.Filter(place, min, max,
+                from == null ? Integer.MIN_VALUE : (int) from.toEpochDay(),
+                to == null ? Integer.MAX_VALUE : (int) to.toEpochDay());
+
+        InvertedIndex.Result found = metrics.observe("search.query", placeId,
+                () -> index.search(query, filter, size));
+
+        result.setTotal(found.total());
+        result.setHits(toHits(found));
+        result.setTookMillis((System.nanoTime() - started) / 1_000_000);
+        return result;
+    }
+
+    // Texte nur für die angezeigten Treffer laden
+    private List<ReviewSearchHit> toHits(InvertedIndex.Result found) {
+        if (found.hits().isEmpty()) return List.of();
+
+        Map<Long, Review> reviews = reviewRepository.findAllById(
+                        found.hits().stream().map(InvertedIndex.Hit::reviewId).toList())
+                .stream()
+                .collect(Collectors.toMap(Review::getId, Function.identity()));
+
+        Set<String> stems = new HashSet<>(found.stems());
+        List<ReviewSearchHit> hits = new ArrayList<>(found.hits().size());
+        for (InvertedIndex.Hit hit : found.hits()) {
+            Review review = reviews.get(hit.reviewId());
+            if (review == null) continue;  // inzwischen gelöscht
+            hits.add(new ReviewSearchHit(review.getId(), review.getPlaceId(), review.getRating(),
+                    review.getReviewedAt(), hit.score(), snippet(review.getText(), stems, snippetChars)));
+        }
+        return hits;
+    }
+
+    private void rebuild() {
+        try {
+            long maxId = reviewRepository.findMaxId();
+            long lastId = 0;
+
+            while (lastId < maxId) {
+                List<Review> batch = reviewRepository.findTop1000ByIdGreaterThanOrderByIdAsc(lastId);
+                if (batch.isEmpty()) break;
+
+                synchronized (claimedIds) {
+                    for (Review review : batch) {
+                        if (claimedIds.add(review.getId())) add(review);
+                    }
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+                if (batch.size() < BATCH_SIZE) break;
+            }
+        } catch (RuntimeException e) {
+            log.error("Aufbau des Suchindex abgebrochen – Suche liefert nur {} indexierte Reviews", index.size(), e);
+        } finally {
+            // spätere Reviews kommen über indexAfterCommit
+            synchronized (claimedIds) {
+                rebuilding = false;
+                claimedIds.clear();
+            }
+        }
+    }
+
+    private void index(List<Review> reviews) {
+        List<Review> claimed = reviews;
+        synchronized (claimedIds) {
+            if (rebuilding) {
+                claimed = reviews.stream().filter(r -> claimedIds.add(r.getId())).toList();
+            }
+        }
+        claimed.forEach(this::add);
+    }
+
+    private void add(Review review) {
+        index.add(review.getId(), review.getPlaceId(), review.getRating(), review.getReviewedAt(), review.getText());
+    }
+
+    /**
+     * Ausschnitt um die dichteste Stelle mit Suchbegriffen, HTML-escaped, Treffer in &lt;em&gt;.
+     */
+    static String snippet(String text, Set<String> stems, int maxChars) {
+        if (text == null || text.isEmpty()) return "";
+
+        List<int[]> matches = new ArrayList<>();
+        SearchAnalyzer.analyze(text, (stem, position, start, end) -> {
+            if (stems.contains(stem)) matches.add(new int[]{start, end});
+        });
+
+        // Fenster mit den meisten Treffern (zwei Zeiger über die Trefferliste)
+        int windowStart = 0, best = 0;
+        for (int i = 0, j = 0; i < matches.size(); i++) {
+            while (j < matches.size() && matches.get(j)[1] - matches.get(i)[0] <= maxChars) j++;
+            if (j - i > best) {
+                best = j - i;
+                windowStart = matches.get(i)[0];
+            }
+        }
+        // etwas Kontext vor dem ersten Treffer, Start an einer Wortgrenze
+        int start = Math.max(0, windowStart - maxChars / 4);
+        while (start > 0 && !Character.isWhitespace(text.charAt(start - 1))) start--;
+        int end = Math.min(text.length(), start + maxChars);
+        while (end < text.length() && end > start && !Character.isWhitespace(text.charAt(end - 1))) end--;
+        if (end <= start) end = Math.min(text.length(), start + maxChars);
+
+        StringBuilder sb = new StringBuilder(end - start + 32);
+        if (start > 0) sb.append('…');
+        int cursor = start;
+        for (int[] match : matches) {
+            if (match[0] < start || match[1] > end) continue;
+            escape(text, cursor, match[0], sb);
+            sb.append("<em>");
+            escape(text, match[0], match[1], sb);
+            sb.append("</em>");
+            cursor = match[1];
+        }
+        escape(text, cursor, end, sb);
+        if (end < text.length()) sb.append('…');
+        return sb.toString();
+    }
+
+    private static void escape(String text, int from, int to, StringBuilder sb) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '&' -> sb.append("&amp;");
+                case '"' -> sb.append("&quot;");
+                case '\'' -> sb.append("&#39;");
+                default -> sb.append(c);
+            }
+        }
+    }
+}
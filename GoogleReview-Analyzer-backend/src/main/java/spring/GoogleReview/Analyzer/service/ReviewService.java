@@ -4,11 +4,16 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import spring.GoogleReview.Analyzer.model.Review;
+import spring.GoogleReview.Analyzer.model.SerpApiReview;
+import spring.GoogleReview.Analyzer.repository.ReviewInsertRepository;
+import spring.GoogleReview.Analyzer.repository.ReviewKey;
 import spring.GoogleReview.Analyzer.repository.ReviewRepository;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -16,35 +21,34 @@ public class ReviewService {
 
     private final SerpApiReviewService serpApiReviewService;
     private final ReviewRepository reviewRepository;
+    private final ReviewInsertRepository reviewInserts;
+    private final AnalysisCacheService analysisCache;
+    private final ReviewMapper reviewMapper;
+    private final RatingRollupService ratingRollups;
+    private final StageMetrics metrics;
+    private final ReviewSearchService searchService;
+    private final PlaceVersionService placeVersions;
 
     /**
      * Lädt Reviews von der SerpAPI und speichert sie in der Datenbank.
      */
     @Transactional
     public List<Review> fetchAndSaveReviews(String placeId) {
-        List<Map<String, Object>> apiReviews = serpApiReviewService.fetchReviews(placeId);
+        List<SerpApiReview> apiReviews = serpApiReviewService.fetchReviews(placeId);
 
         if (apiReviews == null || apiReviews.isEmpty()) {
             return new ArrayList<>();
         }
 
-        List<Review> savedReviews = new ArrayList<>();
+        List<Review> reviews = apiReviews.stream()
+                .map(r -> reviewMapper.mapToReview(r, placeId))
+                .toList();
 
-        for (Map<String, Object> apiReview : apiReviews) {
-            Review review = mapToReview(apiReview, placeId);
-
-            List<Review> existing = reviewRepository.findByPlaceId(placeId)
-                    .stream()
-                    .filter(r -> r.getAuthor().equals(review.getAuthor()) &&
-                            r.getText().equals(review.getText()))
-                    .toList();
-
-            if (existing.isEmpty()) {
-                savedReviews.add(reviewRepository.save(review));
-            }
+        List<Review> saved = saveNewReviews(reviews);
+        if (!saved.isEmpty()) {
+            analysisCache.invalidate(placeId);
         }
-
-        return savedReviews;
+        return saved;
     }
 
 
@@ -53,15 +57,73 @@ public class ReviewService {
     }
 
 
-    private Review mapToReview(Map<String, Object> apiReview, String placeId) {
-        Review review = new Review();
+    /**
+     * Speichert eine Seite gemappter Reviews in einer eigenen Transaktion.
+     * Bekannte externalIds (bei Reviews ohne externalId: Fingerprints) werden mit einer
+     * Abfrage ermittelt und übersprungen, ebenso Duplikate innerhalb der Seite; was ein
+     * paralleler Import inzwischen gespeichert hat, überspringt der Insert selbst
+     * (on conflict do nothing, siehe ReviewInsertRepository).
+     * Die Rating-Rollups und die Place-Version werden in derselben Transaktion
+     * fortgeschrieben, der Suchindex nach dem Commit.
+     */
+    @Transactional
+    public List<Review> saveNewReviews(List<Review> reviews) {
+
+        if (reviews.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String placeId = reviews.get(0).getPlaceId();
+        List<Review> newReviews = metrics.observe("db.dedup", placeId, () -> withoutKnown(reviews));
+
+        return metrics.observe("db.save", placeId, () -> {
+            List<Review> saved = reviewInserts.insertNew(newReviews);
+            ratingRollups.record(saved);
+            if (!saved.isEmpty()) placeVersions.bump(placeId);
+            searchService.indexAfterCommit(saved);
+            return saved;
+        });
+    }
+
+    // Identität ist die externalId; der Fingerprint gilt nur für Reviews ohne externalId
+    private List<Review> withoutKnown(List<Review> reviews) {
+
+        List<String> externalIds = reviews.stream()
+                .map(Review::getExternalId)
+                .filter(Objects::nonNull)
+                .toList();
 
-        review.setPlaceId(placeId);
-        review.setAuthor((String) apiReview.getOrDefault("user", "Unknown"));
-        review.setRating((int) apiReview.getOrDefault("rating", 0));
-        review.setText((String) apiReview.getOrDefault("snippet", ""));
-        review.setReviewDate((String) apiReview.getOrDefault("date", ""));
+        List<Long> fingerprints = reviews.stream()
+                .filter(r -> r.getExternalId() == null)
+                .map(Review::getFingerprint)
+                .toList();
+
+        Set<String> knownIds = new HashSet<>();
+        Set<Long> knownFingerprints = new HashSet<>();
+
+        // IN () ist ungültiges SQL → nur die Abfragen mit Werten; im Normalfall nur die nach IDs
+        if (!externalIds.isEmpty()) {
+            for (ReviewKey key : reviewRepository.findExistingKeys(externalIds)) {
+                knownIds.add(key.getExternalId());
+            }
+        }
+        if (!fingerprints.isEmpty()) {
+            for (ReviewKey key : reviewRepository.findExistingKeysByFingerprints(fingerprints)) {
+                knownFingerprints.add(key.getFingerprint());
+            }
+        }
+        return withoutKnown(reviews, knownIds, knownFingerprints);
+    }
 
-        return review;
+    /**
+     * Entfernt bekannte Reviews und Duplikate innerhalb der Seite.
+     * Die Sets werden um die behaltenen Reviews ergänzt.
+     */
+    static List<Review> withoutKnown(List<Review> reviews, Set<String> knownIds, Set<Long> knownFingerprints) {
+        return reviews.stream()
+                .filter(r -> r.getExternalId() != null
+                        ? knownIds.add(r.getExternalId())
+                        : knownFingerprints.add(r.getFingerprint()))
+                .toList();
     }
 }
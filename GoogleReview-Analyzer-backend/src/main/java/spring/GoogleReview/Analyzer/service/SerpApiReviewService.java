@@ -1,15 +1,26 @@
 package spring.GoogleReview.Analyzer.service;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import spring.GoogleReview.Analyzer.exception.SerpApiException;
+import spring.GoogleReview.Analyzer.model.SerpApiReview;
+import spring.GoogleReview.Analyzer.util.SerpApiPageParser;
+import spring.GoogleReview.Analyzer.util.TokenBucketRateLimiter;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
 @Service
-@RequiredArgsConstructor
 public class SerpApiReviewService {
 
     @Value("${serpapi.key}")
@@ -18,45 +29,128 @@ public class SerpApiReviewService {
     private static final String BASE_URL =
             "https://serpapi.com/search.json?engine=google_maps_reviews";
 
-    public List<Map<String, Object>> fetchReviews(String placeId) {
+    // RestTemplate ist thread-safe → eine Instanz für alle Abrufe (Connection-Reuse)
+    private final RestTemplate rest = new RestTemplate();
+
+    // gemeinsames Budget für alle Abrufe (manuelle Importe und RefreshScheduler)
+    private final TokenBucketRateLimiter rateLimiter;
+
+    // Antworten werden gestreamt gelesen (SerpApiPageParser), nicht als Map-Baum
+    private final JsonFactory jsonFactory;
+    private final StageMetrics metrics;
+    // rohe Antworten für spätere Replays ohne SerpAPI-Credits
+    private final RawPageArchive archive;
+    private final KnownReviewIndex knownReviews;
+
+    public SerpApiReviewService(
+            ObjectMapper objectMapper,
+            StageMetrics metrics,
+            RawPageArchive archive,
+            KnownReviewIndex knownReviews,
+            @Value("${serpapi.rate-limit.requests-per-second:5}") double requestsPerSecond,
+            @Value("${serpapi.rate-limit.burst:5}") int burst) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.metrics = metrics;
+        this.archive = archive;
+        this.knownReviews = knownReviews;
+        this.rateLimiter = new TokenBucketRateLimiter(requestsPerSecond, burst);
+    }
 
-        RestTemplate rest = new RestTemplate();
-        List<Map<String, Object>> allReviews = new ArrayList<>();
+    /**
+     * Lädt alle Seiten und sammelt sie in einer Liste.
+     * Für große Places besser {@link #fetchReviewPages} verwenden.
+     */
+    public List<SerpApiReview> fetchReviews(String placeId) {
+        List<SerpApiReview> allReviews = new ArrayList<>();
+        fetchReviewPages(placeId, allReviews::addAll);
+        return allReviews;
+    }
+
+    /**
+     * Folgt dem next_page_token und übergibt jede Seite sofort an den Consumer,
+     * statt alle Seiten im Speicher zu halten.
+     *
+     * @return Anzahl der abgerufenen Seiten
+     */
+    public int fetchReviewPages(String placeId, Consumer<List<SerpApiReview>> pageConsumer) {
+        return fetchReviewPages(placeId, false, page -> {
+            pageConsumer.accept(page);
+            return true;
+        });
+    }
+
+    /**
+     * @param newestFirst  neueste Reviews zuerst (sort_by=newestFirst) – Voraussetzung
+     *                     dafür, beim ersten bekannten Stand aufhören zu können
+     * @param pageConsumer false = keine weiteren Seiten abrufen
+     * @return Anzahl der abgerufenen Seiten
+     */
+    public int fetchReviewPages(String placeId, boolean newestFirst,
+                                Predicate<List<SerpApiReview>> pageConsumer) {
 
         String nextPageToken = null;
+        int pages = 0;
 
         do {
             String url = BASE_URL +
                     "&place_id=" + placeId +
                     "&hl=de" +
                     "&gl=de" +
+                    (newestFirst ? "&sort_by=newestFirst" : "") +
                     "&api_key=" + apiKey;
 
             if (nextPageToken != null) {
                 url += "&next_page_token=" + nextPageToken;
             }
 
-            Map response = rest.getForObject(url, Map.class);
+            List<SerpApiReview> reviews = new ArrayList<>();
+            SerpApiPageParser.PageInfo page;
+            byte[][] rawBody = new byte[1][];
+            Instant fetchedAt = Instant.now();
+            try {
+                long waitStart = System.nanoTime();
+                rateLimiter.acquire();
+                // Wartezeit im Rate-Limiter getrennt von der Abrufzeit
+                metrics.time("serpapi.ratelimit.wait", Duration.ofNanos(System.nanoTime() - waitStart));
+
+                String pageUrl = url;
+                page = metrics.observe("serpapi.fetch", placeId, () ->
+                        rest.execute(pageUrl, HttpMethod.GET, null, response -> {
+                            // fürs Archiv einmal komplett lesen, sonst direkt vom Stream parsen
+                            if (archive.isEnabled()) rawBody[0] = response.getBody().readAllBytes();
+                            try (JsonParser parser = rawBody[0] != null
+                                    ? jsonFactory.createParser(rawBody[0])
+                                    : jsonFactory.createParser(response.getBody())) {
+                                return SerpApiPageParser.parse(parser, reviews::add);
+                            }
+                        }));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SerpApiException("SerpAPI-Abruf abgebrochen für Place-ID: " + placeId, e);
+            } catch (RestClientException e) {
+                throw new SerpApiException("SerpAPI-Abruf fehlgeschlagen für Place-ID: " + placeId, e);
+            }
 
-            if (response == null || !response.containsKey("reviews")) {
+            if (page == null || !page.hasReviews()) {
                 break;
             }
 
-            List<Map<String, Object>> reviews =
-                    (List<Map<String, Object>>) response.get("reviews");
-
-            allReviews.addAll(reviews);
+            pages++;
+            metrics.record("serpapi.page.reviews", reviews.size());
+            // bereits bekannte Seiten (v. a. die ersten eines inkrementellen Imports) liegen schon
+            // im Archiv; vor dem Consumer prüfen, der die IDs sonst selbst als bekannt einträgt
+            if (rawBody[0] != null && !knownReviews.allKnown(placeId,
+                    reviews.stream().map(SerpApiReview::reviewId).toList())) {
+                archive.store(placeId, fetchedAt, rawBody[0]);
+            }
+            if (!pageConsumer.test(reviews)) {
+                break;
+            }
 
-            nextPageToken = response.containsKey("serpapi_pagination")
-                    ? (String) ((Map) response.get("serpapi_pagination")).get("next_page_token")
-                    : null;
+            nextPageToken = page.nextPageToken();
 
         } while (nextPageToken != null);
 
-        return allReviews;
+        return pages;
     }
 }
-
-
-
-
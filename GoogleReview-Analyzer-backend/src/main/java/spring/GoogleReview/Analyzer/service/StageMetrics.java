@@ -0,0 +1,121 @@
+package spring.GoogleReview.Analyzer.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Messpunkte für die einzelnen Verarbeitungsstufen (Import, Speichern, Analyse).
+ *
+ * - {@link #observe}: Observation "analyzer.stage" mit den Tags stage, outcome und place.bucket.
+ *   Spring Boot macht daraus einen Timer (analyzer.stage, /actuator/prometheus) und –
+ *   falls eine Tracing-Bridge auf dem Classpath liegt – einen Span pro Stufe.
+ * - {@link #count}/{@link #record}/{@link #time}: Zähler, Verteilungen und Wartezeiten mit
+ *   denselben Place-Buckets. Die Meter werden pro Name und Tags einmal registriert und
+ *   danach aus einer Map geholt – die Aufrufe liegen im Seiten- bzw. Chunk-Takt.
+ *
+ * Place-IDs werden nie direkt als Tag verwendet (unbegrenzte Kardinalität),
+ * sondern auf metrics.place-buckets feste Buckets gehasht.
+ */
+@Service
+public class StageMetrics {
+
+    public static final String STAGE = "analyzer.stage";
+
+    private final ObservationRegistry observations;
+    private final MeterRegistry meters;
+    private final int placeBuckets;
+    private final Map<MeterKey, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<MeterKey, DistributionSummary> summaries = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public StageMetrics(ObservationRegistry observations,
+                        MeterRegistry meters,
+                        @Value("${metrics.place-buckets:16}") int placeBuckets) {
+        this.observations = observations;
+        this.meters = meters;
+        this.placeBuckets = Math.max(1, placeBuckets);
+    }
+
+    /**
+     * @param stage    z. B. "serpapi.fetch", "db.save", "prompt.build"
+     * @param placeId  darf null sein (stufenübergreifend)
+     */
+    public <T> T observe(String stage, String placeId, Supplier<T> action) {
+
+        Observation observation = Observation.createNotStarted(STAGE, observations)
+                .lowCardinalityKeyValue("stage", stage)
+                .lowCardinalityKeyValue("place.bucket", placeBucket(placeId))
+                .start();
+
+        try (Observation.Scope ignored = observation.openScope()) {
+            T result = action.get();
+            observation.lowCardinalityKeyValue("outcome", "success");
+            return result;
+        } catch (RuntimeException | Error e) {
+            observation.lowCardinalityKeyValue("outcome", "error");
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * Zähler, z. B. count("import.reviews", placeId, inserted, "result", "inserted").
+     */
+    public void count(String name, String placeId, long amount, String... tags) {
+        if (amount <= 0) return;
+        String bucket = placeBucket(placeId);
+        MeterKey key = new MeterKey(name, List.of(tags), bucket);
+        counters.computeIfAbsent(key, k -> Counter.builder("analyzer." + name)
+                        .tags(tags)
+                        .tag("place.bucket", bucket)
+                        .register(meters))
+                .increment(amount);
+    }
+
+    /**
+     * Verteilung (Größen pro Vorgang), z. B. Reviews pro Seite oder Tokens pro Aufruf.
+     */
+    public void record(String name, double amount, String... tags) {
+        MeterKey key = new MeterKey(name, List.of(tags), null);
+        summaries.computeIfAbsent(key, k -> DistributionSummary.builder("analyzer." + name)
+                        .tags(tags)
+                        .publishPercentileHistogram()
+                        .register(meters))
+                .record(amount);
+    }
+
+    /**
+     * Dauer ohne eigene Stufe, z. B. die Wartezeit im Rate-Limiter.
+     */
+    public void time(String name, Duration duration, String... tags) {
+        MeterKey key = new MeterKey(name, List.of(tags), null);
+        timers.computeIfAbsent(key, k -> Timer.builder("analyzer." + name)
+                        .tags(tags)
+                        .publishPercentileHistogram()
+                        .register(meters))
+                .record(duration);
+    }
+
+    String placeBucket(String placeId) {
+        if (placeId == null) return "none";
+        return "b" + Math.floorMod(placeId.hashCode(), placeBuckets);
+    }
+
+    // bucket = null bei Metern ohne Place-Tag
+    private record MeterKey(String name, List<String> tags, String bucket) {
+    }
+}
@@ -0,0 +1,128 @@
+package spring.GoogleReview.Analyzer.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Aho-Corasick-Automat für viele Schlüsselwörter gleichzeitig.
+ *
+ * Jedes Muster trägt eine Bitmaske; {@link #match} läuft einmal über den Text
+ * und liefert das ODER aller Masken, deren Muster als Teilstring vorkommen
+ * (wie String.contains, Groß-/Kleinschreibung egal, ohne toLowerCase-Kopie).
+ *
+ * Die Übergänge sind vollständig vorberechnet (DFA) → ein Tabellenzugriff pro Zeichen.
+ */
+public final class AhoCorasick {
+
+    // Zeichen, die in keinem Muster vorkommen, teilen sich Klasse 0
+    private final int[] latinClass = new int[256];
+    private final Map<Character, Integer> otherClass = new HashMap<>();
+    private final int classes;
+
+    private final int[] next;       // next[state * classes + class]
+    private final long[] output;    // Masken inkl. aller Suffix-Treffer
+    private final long allBits;
+
+    private AhoCorasick(Map<String, Long> patterns) {
+
+        // 1) Alphabet
+        int k = 1;
+        for (String p : patterns.keySet()) {
+            for (char c : p.toCharArray()) {
+                if (classOf(c) == 0) {
+                    if (c < 256) latinClass[c] = k++;
+                    else otherClass.put(c, k++);
+                }
+            }
+        }
+        this.classes = k;
+
+        // 2) Trie
+        List<int[]> trie = new ArrayList<>();
+        List<Long> out = new ArrayList<>();
+        trie.add(new int[classes]);
+        out.add(0L);
+        long bits = 0;
+
+        for (Map.Entry<String, Long> e : patterns.entrySet()) {
+            int state = 0;
+            for (char c : e.getKey().toCharArray()) {
+                int cls = classOf(c);
+                if (trie.get(state)[cls] == 0) {
+                    trie.get(state)[cls] = trie.size();
+                    trie.add(new int[classes]);
+                    out.add(0L);
+                }
+                state = trie.get(state)[cls];
+            }
+            out.set(state, out.get(state) | e.getValue());
+            bits |= e.getValue();
+        }
+
+        // 3) Failure-Links per BFS und Übergänge zu einer DFA vervollständigen
+        int n = trie.size();
+        this.next = new int[n * classes];
+        this.output = new long[n];
+        int[] fail = new int[n];
+        for (int s = 0; s < n; s++) {
+            System.arraycopy(trie.get(s), 0, next, s * classes, classes);
+            output[s] = out.get(s);
+        }
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < classes; c++) {
+            int child = next[c];
+            if (child != 0) queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            output[s] |= output[fail[s]];
+            for (int c = 0; c < classes; c++) {
+                int child = next[s * classes + c];
+                if (child != 0) {
+                    fail[child] = next[fail[s] * classes + c];
+                    queue.add(child);
+                } else {
+                    next[s * classes + c] = next[fail[s] * classes + c];
+                }
+            }
+        }
+        this.allBits = bits;
+    }
+
+    /**
+     * @param patterns Muster → Bitmaske; leere Muster werden ignoriert
+     */
+    public static AhoCorasick build(Map<String, Long> patterns) {
+        Map<String, Long> normalized = new HashMap<>();
+        patterns.forEach((p, mask) -> {
+            if (p != null && !p.isBlank()) {
+                normalized.merge(p.strip().toLowerCase(Locale.ROOT), mask, (x, y) -> x | y);
+            }
+        });
+        return new AhoCorasick(normalized);
+    }
+
+    public long match(CharSequence text) {
+        if (text == null) return 0;
+
+        long found = 0;
+        int state = 0;
+        for (int i = 0, len = text.length(); i < len; i++) {
+            state = next[state * classes + classOf(Character.toLowerCase(text.charAt(i)))];
+            found |= output[state];
+            if (found == allBits) break;  // alles gefunden → Rest egal
+        }
+        return found;
+    }
+
+    private int classOf(char c) {
+        if (c < 256) return latinClass[c];
+        Integer cls = otherClass.get(c);
+        return cls == null ? 0 : cls;
+    }
+}
@@ -0,0 +1,67 @@
+package spring.GoogleReview.Analyzer.util;
+
+import lombok.Data;
+import spring.GoogleReview.Analyzer.model.AnalysisResult;
+import spring.GoogleReview.Analyzer.model.FakeReviewEntry;
+
+import java.util.*;
+
+/**
+ * Aufsummierte Kennzahlen aus beliebig vielen Teilanalysen.
+ *
+ * Wird sowohl für das Merge der Chunks einer Analyse als auch als
+ * persistierter Analysezustand eines Places verwendet (siehe PlaceAnalysisState):
+ * Zähler werden summiert, Fake-Scores pro Review-ID gehalten (höchste
+ * Wahrscheinlichkeit gewinnt). Keywords und Aspekt-Kategorien zählt
+ * IncrementalAnalysisService lokal (KeywordStatistics, AspectCounts), sie kommen
+ * nicht mehr von OpenAI.
+ * Reihenfolge-unabhängig → deterministisches Ergebnis.
+ */
+@Data
+public class AnalysisAccumulator {
+
+    private Map<String, Integer> monthlyTrend = new TreeMap<>();
+    private Map<Long, Double> fakeScores = new TreeMap<>();
+
+    public AnalysisAccumulator add(AnalysisResult part) {
+        sumInto(monthlyTrend, part.getMonthly_trend());
+
+        if (part.getFake_reviews() != null) {
+            for (FakeReviewEntry entry : part.getFake_reviews()) {
+                if (entry.getReviewId() == null) continue;
+                fakeScores.merge(entry.getReviewId(), entry.getProbability(), Math::max);
+            }
+        }
+        return this;
+    }
+
+    public AnalysisAccumulator addAll(List<AnalysisResult> parts) {
+        parts.forEach(this::add);
+        return this;
+    }
+
+    /**
+     * Ergebnis ohne Summary – die entsteht in einem eigenen Aufruf.
+     */
+    public AnalysisResult toResult() {
+        AnalysisResult result = new AnalysisResult();
+        result.setMonthly_trend(new TreeMap<>(monthlyTrend));
+
+        List<FakeReviewEntry> fakes = new ArrayList<>();
+        fakeScores.forEach((id, probability) -> {
+            FakeReviewEntry entry = new FakeReviewEntry();
+            entry.setReviewId(id);
+            entry.setProbability(probability);
+            fakes.add(entry);
+        });
+        result.setFake_reviews(fakes);
+        return result;
+    }
+
+    private static void sumInto(Map<String, Integer> target, Map<String, Integer> source) {
+        if (source == null) return;
+        source.forEach((k, v) -> {
+            if (k != null && v != null) target.merge(k, v, Integer::sum);
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package spring.GoogleReview.Analyzer.util;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Positive/negative Erwähnungen pro Aspekt (Kategorie) über beliebig viele Reviews.
+ *
+ * Summierbar ({@link #add}) → Teilergebnisse paralleler Läufe und Deltas
+ * späterer Analysen lassen sich zusammenführen. Wird als JSON im
+ * PlaceAnalysisState gespeichert; aspects hält die Reihenfolge der Zähler fest.
+ */
+@Data
+@NoArgsConstructor
+public class AspectCounts {
+
+    private List<String> aspects = new ArrayList<>();
+    private int[] positive = new int[0];
+    private int[] negative = new int[0];
+
+    public AspectCounts(List<String> aspects) {
+        this.aspects = new ArrayList<>(aspects);
+        this.positive = new int[aspects.size()];
+        this.negative = new int[aspects.size()];
+    }
+
+    public AspectCounts add(AspectCounts other) {
+        if (!aspects.equals(other.aspects)) {
+            throw new IllegalArgumentException("Unterschiedliche Aspekte: " + aspects + " / " + other.aspects);
+        }
+        for (int i = 0; i < positive.length; i++) {
+            positive[i] += other.positive[i];
+            negative[i] += other.negative[i];
+        }
+        return this;
+    }
+
+    /**
+     * Format von AnalysisResult.categories: {"food": {"positive": 3, "negative": 1}, …}
+     */
+    public Map<String, Map<String, Integer>> toMap() {
+        Map<String, Map<String, Integer>> result = new TreeMap<>();
+        for (int i = 0; i < aspects.size(); i++) {
+            Map<String, Integer> counts = new TreeMap<>();
+            counts.put("positive", positive[i]);
+            counts.put("negative", negative[i]);
+            result.put(aspects.get(i), counts);
+        }
+        return result;
+    }
+}
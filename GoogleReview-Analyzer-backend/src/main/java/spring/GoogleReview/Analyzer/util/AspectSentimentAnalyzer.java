@@ -0,0 +1,236 @@
+package spring.GoogleReview.Analyzer.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Lokale Aspekt-Sentiment-Analyse: zählt pro Aspekt (food, service, …) positive
+ * und negative Reviews – ohne Modellaufruf.
+ *
+ * Ein Review wird in Sätze (. ! ? ; Zeilenumbruch) und Teilsätze ("aber", "but", …)
+ * zerlegt. Pro Teilsatz:
+ * - Aspekte: Aspekt-Schlüsselwörter als Teilstring eines Wortes (wie CategoryClassifier)
+ * - Polarität: Summe der wertenden Wörter (gestemmt), Verstärker ("sehr") verdoppeln
+ *   das nächste wertende Wort, Negationen ("nicht", "kein") kehren die nächsten
+ *   drei Wörter um
+ * - ein Teilsatz ohne Aspekt bezieht sich auf den Aspekt davor im selben Satz
+ *   ("Der Service war schnell, aber unfreundlich")
+ *
+ * Pro Review und Aspekt zählt das Vorzeichen der Summe einmal. Wird ein Aspekt
+ * ohne wertendes Wort erwähnt, entscheiden die Sterne (≥ 4 positiv, ≤ 2 negativ).
+ *
+ * Unveränderlich und thread-safe; {@link #countAll} verteilt große Mengen per Fork/Join.
+ */
+public final class AspectSentimentAnalyzer {
+
+    private static final int NEGATION_SCOPE = 3;
+    private static final int INTENSIFIER_SCOPE = 2;
+    private static final double INTENSIFIER_WEIGHT = 2;
+    // darunter lohnt sich das Aufteilen nicht
+    private static final int FORK_THRESHOLD = 256;
+
+    // Adjektivendungen kurzer Wörter, die der Keyword-Stemmer stehen lässt ("guter" → "gut")
+    private static final String[] SHORT_ENDINGS = {"em", "en", "er", "es", "e"};
+
+    private static final Set<String> CLAUSE_BREAKS = Set.of(
+            "aber", "jedoch", "doch", "allerdings", "sondern", "trotzdem",
+            "but", "however", "although", "though");
+
+    private final List<String> aspects;
+    private final AhoCorasick aspectAutomaton;
+    private final Map<String, Integer> polarity = new HashMap<>();
+    private final Set<String> negations = new HashSet<>();
+    private final Set<String> intensifiers = new HashSet<>();
+
+    /**
+     * @param aspects Aspekt → Schlüsselwörter, max. 64 Aspekte
+     */
+    public AspectSentimentAnalyzer(Map<String, List<String>> aspects,
+                                   List<String> positive, List<String> negative,
+                                   List<String> negations, List<String> intensifiers) {
+
+        if (aspects.size() > Long.SIZE) {
+            throw new IllegalArgumentException("Maximal " + Long.SIZE + " Aspekte");
+        }
+        this.aspects = new ArrayList<>();
+        Map<String, Long> patterns = new HashMap<>();
+        int bit = 0;
+        for (Map.Entry<String, List<String>> e : aspects.entrySet()) {
+            this.aspects.add(e.getKey().toLowerCase(Locale.ROOT));
+            for (String keyword : e.getValue()) {
+                patterns.merge(keyword, 1L << bit, (x, y) -> x | y);
+            }
+            bit++;
+        }
+        this.aspectAutomaton = AhoCorasick.build(patterns);
+
+        for (String word : positive) polarity.put(KeywordTokenizer.stem(normalize(word)), 1);
+        for (String word : negative) polarity.put(KeywordTokenizer.stem(normalize(word)), -1);
+        for (String word : negations) this.negations.add(normalize(word));
+        for (String word : intensifiers) this.intensifiers.add(normalize(word));
+    }
+
+    public List<String> aspects() {
+        return aspects;
+    }
+
+    public AspectCounts count(String text, int rating) {
+        AspectCounts counts = new AspectCounts(aspects);
+        addReview(text, rating, counts);
+        return counts;
+    }
+
+    /**
+     * Zählt alle Reviews eines Places in einem Durchlauf, aufgeteilt auf den Common-Pool.
+     */
+    public <T> AspectCounts countAll(List<T> reviews, Function<T, String> text, ToIntFunction<T> rating) {
+        if (reviews.size() <= FORK_THRESHOLD) {
+            return new CountTask<>(reviews, 0, reviews.size(), text, rating).compute();
+        }
+        return ForkJoinPool.commonPool().invoke(new CountTask<>(reviews, 0, reviews.size(), text, rating));
+    }
+
+    private void addReview(String text, int rating, AspectCounts counts) {
+        if (text == null || text.isEmpty()) return;
+
+        ReviewState review = new ReviewState(aspects.size());
+
+        int i = 0, len = text.length();
+        while (i < len) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                if (c == '.' || c == '!' || c == '?' || c == ';' || c == '\n') review.endClause(true);
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < len && Character.isLetterOrDigit(text.charAt(i))) i++;
+            review.word(text.substring(start, i).toLowerCase(Locale.ROOT));
+        }
+        review.endClause(true);
+
+        for (int a = 0; a < aspects.size(); a++) {
+            boolean mentioned = (review.mentioned & (1L << a)) != 0;
+            double score = review.score[a];
+            if (score > 0 || (score == 0 && mentioned && rating >= 4)) counts.getPositive()[a]++;
+            else if (score < 0 || (score == 0 && mentioned && rating > 0 && rating <= 2)) counts.getNegative()[a]++;
+        }
+    }
+
+    private Integer polarityOf(String word) {
+        Integer value = polarity.get(KeywordTokenizer.stem(word));
+        if (value != null) return value;
+        for (String ending : SHORT_ENDINGS) {
+            if (word.length() - ending.length() >= 3 && word.endsWith(ending)) {
+                return polarity.get(word.substring(0, word.length() - ending.length()));
+            }
+        }
+        return null;
+    }
+
+    private static String normalize(String word) {
+        return word.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Zustand beim Lesen eines Reviews
+    private final class ReviewState {
+        private final double[] score;
+        private long mentioned;
+
+        private long clauseMask;
+        private long sentenceMask;
+        private double clauseScore;
+        private int negationLeft;
+        private int intensifierLeft;
+
+        ReviewState(int aspects) {
+            this.score = new double[aspects];
+        }
+
+        void word(String word) {
+            if (CLAUSE_BREAKS.contains(word)) {
+                endClause(false);
+                return;
+            }
+            if (negations.contains(word)) {
+                negationLeft = NEGATION_SCOPE;
+                return;
+            }
+            if (intensifiers.contains(word)) {
+                intensifierLeft = INTENSIFIER_SCOPE;
+                return;
+            }
+
+            clauseMask |= aspectAutomaton.match(word);
+
+            Integer value = polarityOf(word);
+            if (value != null) {
+                double v = value;
+                if (intensifierLeft > 0) v *= INTENSIFIER_WEIGHT;
+                if (negationLeft > 0) v = -v;
+                clauseScore += v;
+                intensifierLeft = 0;
+            }
+            if (negationLeft > 0) negationLeft--;
+            if (intensifierLeft > 0) intensifierLeft--;
+        }
+
+        void endClause(boolean endOfSentence) {
+            long target = clauseMask != 0 ? clauseMask : sentenceMask;
+            if (clauseScore != 0) {
+                for (long bits = target; bits != 0; bits &= bits - 1) {
+                    score[Long.numberOfTrailingZeros(bits)] += clauseScore;
+                }
+            }
+            mentioned |= clauseMask;
+            if (clauseMask != 0) sentenceMask = clauseMask;
+            if (endOfSentence) sentenceMask = 0;
+
+            clauseMask = 0;
+            clauseScore = 0;
+            negationLeft = 0;
+            intensifierLeft = 0;
+        }
+    }
+
+    private final class CountTask<T> extends RecursiveTask<AspectCounts> {
+        private final List<T> reviews;
+        private final int from, to;
+        private final Function<T, String> text;
+        private final ToIntFunction<T> rating;
+
+        CountTask(List<T> reviews, int from, int to, Function<T, String> text, ToIntFunction<T> rating) {
+            this.reviews = reviews;
+            this.from = from;
+            this.to = to;
+            this.text = text;
+            this.rating = rating;
+        }
+
+        @Override
+        protected AspectCounts compute() {
+            if (to - from <= FORK_THRESHOLD) {
+                AspectCounts counts = new AspectCounts(aspects);
+                for (int i = from; i < to; i++) {
+                    T review = reviews.get(i);
+                    addReview(text.apply(review), rating.applyAsInt(review), counts);
+                }
+                return counts;
+            }
+            int mid = (from + to) >>> 1;
+            CountTask<T> left = new CountTask<>(reviews, from, mid, text, rating);
+            left.fork();
+            AspectCounts right = new CountTask<>(reviews, mid, to, text, rating).compute();
+            return left.join().add(right);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package spring.GoogleReview.Analyzer.util;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+
+/**
+ * Nicht-blockierende Semaphore für Reactor-Pipelines.
+ *
+ * {@link #acquire()} liefert ein Mono, das erst mit einem freien Permit emittiert –
+ * Wartende belegen keinen Thread, sondern stehen in einer FIFO-Queue und werden von
+ * {@link #release()} in Anforderungsreihenfolge bedient. Gedacht für
+ * Mono.usingWhen(acquire(), …, release): der Permit wird bei Erfolg, Fehler und
+ * Abbruch zurückgegeben.
+ *
+ * Abbruch während des Wartens entfernt den Wartenden; wurde ihm der Permit schon
+ * zugeteilt, aber nicht mehr zugestellt, geht er an den Nächsten weiter.
+ */
+public final class AsyncPermits {
+
+    private final int permits;
+    private final ArrayDeque<Waiter> waiting = new ArrayDeque<>();
+    private int available;
+
+    public AsyncPermits(int permits) {
+        if (permits < 1) throw new IllegalArgumentException("permits >= 1 erforderlich");
+        this.permits = permits;
+        this.available = permits;
+    }
+
+    public Mono<AsyncPermits> acquire() {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            // MonoSink: entweder wird der Wert zugestellt oder onCancel läuft – nie beides
+            sink.onCancel(() -> cancel(waiter));
+
+            boolean granted = false;
+            synchronized (this) {
+                if (waiter.cancelled) return;
+                if (available > 0) {
+                    available--;
+                    waiter.granted = granted = true;
+                } else {
+                    waiting.add(waiter);
+                }
+            }
+            if (granted) sink.success(this);
+        });
+    }
+
+    public void release() {
+        Waiter next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) {
+                if (available == permits) throw new IllegalStateException("release() ohne acquire()");
+                available++;
+                return;
+            }
+            next.granted = true;
+        }
+        next.sink.success(this);
+    }
+
+    public synchronized int inUse() {
+        return permits - available;
+    }
+
+    public synchronized int waiting() {
+        return waiting.size();
+    }
+
+    private void cancel(Waiter waiter) {
+        boolean granted;
+        synchronized (this) {
+            waiter.cancelled = true;
+            waiting.remove(waiter);
+            granted = waiter.granted;
+        }
+        if (granted) release();
+    }
+
+    // Felder nur unter dem Lock der AsyncPermits-Instanz
+    private static final class Waiter {
+        private final MonoSink<AsyncPermits> sink;
+        private boolean granted;
+        private boolean cancelled;
+
+        private Waiter(MonoSink<AsyncPermits> sink) {
+            this.sink = sink;
+        }
+    }
+}
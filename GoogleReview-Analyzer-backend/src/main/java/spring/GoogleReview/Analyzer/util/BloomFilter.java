@@ -0,0 +1,73 @@
+package spring.GoogleReview.Analyzer.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom-Filter für Strings (bekannte Review-IDs eines Places).
+ *
+ * "nicht enthalten" ist sicher, "enthalten" gilt mit der Fehlerrate, für die
+ * der Filter dimensioniert wurde – solange nicht mehr als {@code capacity}
+ * Einträge hinzukommen. Thread-safe: Bits werden per CAS gesetzt.
+ */
+public final class BloomFilter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray bits;
+    private final long numBits;
+    private final int numHashes;
+    private final int capacity;
+
+    public BloomFilter(int capacity, double falsePositiveRate) {
+        int n = Math.max(1, capacity);
+        // m = -n·ln(p) / ln(2)², k = m/n · ln(2)
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.numBits = Math.max(64, (m + 63) / 64 * 64);
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) (numBits / 64));
+        this.capacity = n;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void add(String value) {
+        long h = hash(value);
+        long h1 = h, h2 = (h >>> 32) | 1;  // Double Hashing: g_i = h1 + i·h2
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long old;
+            while (((old = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, old, old | mask)) {
+                // CAS wiederholen
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long h = hash(value);
+        long h1 = h, h2 = (h >>> 32) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    // FNV-1a + Murmur3-Finalizer (wie ReviewFingerprint)
+    private static long hash(String value) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
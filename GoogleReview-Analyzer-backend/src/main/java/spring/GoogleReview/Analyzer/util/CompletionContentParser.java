@@ -0,0 +1,82 @@
+package spring.GoogleReview.Analyzer.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Holt choices[0].message.content und den Token-Verbrauch (usage) aus einer
+ * Chat-Completions-Antwort, ohne die Antwort als JsonNode-Baum aufzubauen.
+ */
+public final class CompletionContentParser {
+
+    /**
+     * @param content          Inhalt der ersten Choice oder null, wenn nicht vorhanden
+     * @param promptTokens     usage.prompt_tokens (0, wenn nicht geliefert)
+     * @param completionTokens usage.completion_tokens (0, wenn nicht geliefert)
+     */
+    public record Completion(String content, int promptTokens, int completionTokens) {
+    }
+
+    private CompletionContentParser() {
+    }
+
+    /**
+     * @return Inhalt der ersten Choice oder null, wenn nicht vorhanden
+     */
+    public static String content(JsonParser p) throws IOException {
+        return parse(p).content();
+    }
+
+    public static Completion parse(JsonParser p) throws IOException {
+
+        if (p.nextToken() != JsonToken.START_OBJECT) return new Completion(null, 0, 0);
+
+        String content = null;
+        int promptTokens = 0, completionTokens = 0;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if ("choices".equals(field) && value == JsonToken.START_ARRAY) {
+                // nur die erste Choice ist relevant, weitere werden übersprungen
+                if (p.nextToken() == JsonToken.START_OBJECT) {
+                    content = firstChoiceContent(p);
+                    while (p.nextToken() != JsonToken.END_ARRAY) p.skipChildren();
+                }
+            } else if ("usage".equals(field) && value == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String usageField = p.currentName();
+                    p.nextToken();
+                    if ("prompt_tokens".equals(usageField)) promptTokens = p.getValueAsInt();
+                    else if ("completion_tokens".equals(usageField)) completionTokens = p.getValueAsInt();
+                    else p.skipChildren();
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+        return new Completion(content, promptTokens, completionTokens);
+    }
+
+    // liest das Choice-Objekt bis zu seinem Ende
+    private static String firstChoiceContent(JsonParser p) throws IOException {
+        String content = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if ("message".equals(field) && value == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String messageField = p.currentName();
+                    p.nextToken();
+                    if ("content".equals(messageField)) content = p.getValueAsString();
+                    else p.skipChildren();
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+        return content;
+    }
+}
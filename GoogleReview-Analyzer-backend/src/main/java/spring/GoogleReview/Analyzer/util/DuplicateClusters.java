@@ -0,0 +1,49 @@
+package spring.GoogleReview.Analyzer.util;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Copy/Paste-Cluster eines Places als Union-Find über Review-IDs.
+ *
+ * Gespeichert werden nur Reviews, die zu einem Cluster mit mindestens zwei
+ * Mitgliedern gehören – die Größe hängt also an der Zahl der Duplikate,
+ * nicht an der Zahl der Reviews. Repräsentant ist immer die kleinste ID.
+ *
+ * Wird als JSON im PlaceAnalysisState gespeichert.
+ */
+@Data
+public class DuplicateClusters {
+
+    // Review-ID → Repräsentant ihres Clusters
+    private Map<Long, Long> roots = new HashMap<>();
+
+    public long root(long reviewId) {
+        return roots.getOrDefault(reviewId, reviewId);
+    }
+
+    public void union(long x, long y) {
+        long rx = root(x), ry = root(y);
+        if (rx == ry) return;
+
+        long root = Math.min(rx, ry), merged = Math.max(rx, ry);
+        // Cluster sind klein → Umhängen durch einen Durchlauf statt Pfadkompression
+        roots.replaceAll((id, r) -> r == merged ? root : r);
+        roots.put(merged, root);
+        roots.put(root, root);
+    }
+
+    /**
+     * @return Review-ID → Größe ihres Clusters, für alle Reviews in Clustern
+     */
+    public Map<Long, Integer> clusterSizes() {
+        Map<Long, Integer> perRoot = new HashMap<>();
+        roots.values().forEach(r -> perRoot.merge(r, 1, Integer::sum));
+
+        Map<Long, Integer> sizes = new HashMap<>();
+        roots.forEach((id, r) -> sizes.put(id, perRoot.get(r)));
+        return sizes;
+    }
+}
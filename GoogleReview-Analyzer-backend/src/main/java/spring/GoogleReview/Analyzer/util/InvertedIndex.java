@@ -0,0 +1,367 @@
+package spring.GoogleReview.Analyzer.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Invertierter Index über Review-Texte mit BM25-Ranking und Phrasensuche.
+ *
+ * - Dokumente bekommen eine fortlaufende interne Nummer; Place, Sterne und Datum liegen
+ *   in primitiven Arrays daneben (Filter ohne Objektzugriff)
+ * - Postings pro Term in zwei Byte-Strömen mit Varint-Kodierung:
+ *   (Dokument-Delta, Häufigkeit) und getrennt die Positions-Deltas –
+ *   Positionen werden nur für Phrasen gelesen
+ * - Neue Dokumente werden nur angehängt (Nummern wachsen) → kein Neuaufbau
+ * - Suche: alle Terme müssen vorkommen (Leapfrog-Schnitt, seltenster Term führt),
+ *   "…" = Phrase; Top-k per Heap
+ *
+ * Thread-safe: Lesen parallel, Schreiben exklusiv.
+ */
+public final class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * @param place     Place-Nummer (siehe {@link #placeNumber}) oder -1 = alle
+     * @param fromDay   Epoch-Day inklusive, Integer.MIN_VALUE = offen
+     * @param toDay     Epoch-Day inklusive, Integer.MAX_VALUE = offen
+     */
+    public record Filter(int place, int minRating, int maxRating, int fromDay, int toDay) {
+
+        public static final Filter NONE = new Filter(-1, 0, 5, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public record Hit(long reviewId, double score) {
+    }
+
+    /**
+     * @param total  Anzahl aller Treffer (vor dem Limit)
+     * @param stems  analysierte Suchterme (für die Hervorhebung)
+     */
+    public record Result(int total, List<Hit> hits, List<String> stems) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> terms = new HashMap<>();
+    private final Map<String, Integer> placeNumbers = new HashMap<>();
+
+    private int documents;
+    private long totalLength;
+    private long[] reviewIds = new long[1024];
+    private int[] places = new int[1024];
+    private byte[] ratings = new byte[1024];
+    private int[] days = new int[1024];
+    private int[] lengths = new int[1024];
+
+    public void add(long reviewId, String placeId, int rating, LocalDate date, String text) {
+
+        // Analyse außerhalb der Sperre
+        Map<String, IntList> positions = new LinkedHashMap<>();
+        int length = SearchAnalyzer.analyze(text, (stem, position, start, end) ->
+                positions.computeIfAbsent(stem, s -> new IntList()).add(position));
+
+        lock.writeLock().lock();
+        try {
+            int doc = documents++;
+            ensureCapacity(documents);
+            reviewIds[doc] = reviewId;
+            places[doc] = placeNumbers.computeIfAbsent(placeId, p -> placeNumbers.size());
+            ratings[doc] = (byte) rating;
+            days[doc] = date != null ? (int) date.toEpochDay() : Integer.MIN_VALUE;
+            lengths[doc] = length;
+            totalLength += length;
+
+            positions.forEach((stem, list) -> terms.computeIfAbsent(stem, s -> new Postings()).add(doc, list));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Place-Nummer für {@link Filter}, -1 wenn der Place keine indexierten Reviews hat
+     */
+    public int placeNumber(String placeId) {
+        lock.readLock().lock();
+        try {
+            return placeNumbers.getOrDefault(placeId, -1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Result search(String query, Filter filter, int limit) {
+
+        List<List<int[]>> clauses = new ArrayList<>();  // pro Klausel: (Term-Index, relative Position)
+        List<String> stems = new ArrayList<>();
+        parse(query, clauses, stems);
+
+        if (stems.isEmpty()) return new Result(0, List.of(), stems);
+
+        lock.readLock().lock();
+        try {
+            Cursor[] cursors = new Cursor[stems.size()];
+            for (int t = 0; t < cursors.length; t++) {
+                Postings postings = terms.get(stems.get(t));
+                if (postings == null) return new Result(0, List.of(), stems);
+                cursors[t] = new Cursor(postings);
+            }
+
+            double avgLength = documents == 0 ? 1 : (double) totalLength / documents;
+            double[] idf = new double[cursors.length];
+            for (int t = 0; t < cursors.length; t++) {
+                int df = cursors[t].postings.documents;
+                idf[t] = Math.log(1 + (documents - df + 0.5) / (df + 0.5));
+            }
+
+            // seltenster Term zuerst → wenigste Sprünge
+            Cursor[] order = cursors.clone();
+            Arrays.sort(order, Comparator.comparingInt(c -> c.postings.documents));
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+            int total = 0;
+            int target = 0;
+
+            outer:
+            while (order[0].advance(target)) {
+                int doc = order[0].doc;
+                for (int i = 1; i < order.length; i++) {
+                    if (!order[i].advance(doc)) break outer;
+                    if (order[i].doc > doc) {
+                        target = order[i].doc;
+                        continue outer;
+                    }
+                }
+                target = doc + 1;
+
+                if (!accept(doc, filter) || !phrasesMatch(clauses, cursors)) continue;
+
+                total++;
+                double norm = K1 * (1 - B + B * lengths[doc] / avgLength);
+                double score = 0;
+                for (int t = 0; t < cursors.length; t++) {
+                    int tf = cursors[t].freq;
+                    score += idf[t] * tf * (K1 + 1) / (tf + norm);
+                }
+
+                if (top.size() < limit) {
+                    top.add(new Hit(reviewIds[doc], score));
+                } else if (limit > 0 && score > top.peek().score()) {
+                    top.poll();
+                    top.add(new Hit(reviewIds[doc], score));
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+            return new Result(total, hits, stems);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean accept(int doc, Filter filter) {
+        return (filter.place() < 0 || places[doc] == filter.place())
+                && ratings[doc] >= filter.minRating() && ratings[doc] <= filter.maxRating()
+                && days[doc] >= filter.fromDay() && days[doc] <= filter.toDay();
+    }
+
+    // Alle Cursor stehen auf demselben Dokument
+    private static boolean phrasesMatch(List<List<int[]>> clauses, Cursor[] cursors) {
+        for (List<int[]> clause : clauses) {
+            if (clause.size() < 2) continue;
+
+            int[] first = cursors[clause.get(0)[0]].positions();
+            int firstOffset = clause.get(0)[1];
+            boolean found = false;
+
+            for (int i = 0; i < first.length && !found; i++) {
+                int start = first[i] - firstOffset;
+                found = true;
+                for (int k = 1; k < clause.size() && found; k++) {
+                    int[] positions = cursors[clause.get(k)[0]].positions();
+                    found = Arrays.binarySearch(positions, start + clause.get(k)[1]) >= 0;
+                }
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Wörter und "Phrasen in Anführungszeichen"; gleiche Terme teilen sich einen Cursor.
+     */
+    static void parse(String query, List<List<int[]>> clauses, List<String> stems) {
+        if (query == null) return;
+
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            int end;
+            String part;
+            if (c == '"') {
+                end = query.indexOf('"', i + 1);
+                if (end < 0) end = query.length();
+                part = query.substring(i + 1, end);
+                end++;
+            } else {
+                end = i;
+                while (end < query.length() && !Character.isWhitespace(query.charAt(end))) end++;
+                part = query.substring(i, end);
+            }
+            i = end;
+
+            List<int[]> clause = new ArrayList<>();
+            SearchAnalyzer.analyze(part, (stem, position, s, e) -> {
+                int t = stems.indexOf(stem);
+                if (t < 0) {
+                    t = stems.size();
+                    stems.add(stem);
+                }
+                clause.add(new int[]{t, position});
+            });
+            if (!clause.isEmpty()) clauses.add(clause);
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (reviewIds.length >= size) return;
+        int capacity = Math.max(size, reviewIds.length * 2);
+        reviewIds = Arrays.copyOf(reviewIds, capacity);
+        places = Arrays.copyOf(places, capacity);
+        ratings = Arrays.copyOf(ratings, capacity);
+        days = Arrays.copyOf(days, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+
+    private static final class Postings {
+        private byte[] docs = new byte[8];
+        private int docsLength;
+        private byte[] positions = new byte[8];
+        private int positionsLength;
+        private int lastDoc = -1;
+        private int documents;
+
+        void add(int doc, IntList list) {
+            docs = ensure(docs, docsLength + 10);
+            docsLength = writeVarint(docs, docsLength, doc - lastDoc);
+            docsLength = writeVarint(docs, docsLength, list.size);
+
+            positions = ensure(positions, positionsLength + 5 * list.size);
+            int previous = 0;
+            for (int i = 0; i < list.size; i++) {
+                positionsLength = writeVarint(positions, positionsLength, list.values[i] - previous);
+                previous = list.values[i];
+            }
+            lastDoc = doc;
+            documents++;
+        }
+
+        private static byte[] ensure(byte[] buffer, int size) {
+            return buffer.length >= size ? buffer : Arrays.copyOf(buffer, Math.max(size, buffer.length * 2));
+        }
+
+        private static int writeVarint(byte[] buffer, int offset, int value) {
+            while ((value & ~0x7F) != 0) {
+                buffer[offset++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[offset++] = (byte) value;
+            return offset;
+        }
+    }
+
+    // Liest die Postings eines Terms vorwärts; Positionen werden erst bei Bedarf dekodiert
+    private static final class Cursor {
+        private final Postings postings;
+        private int docOffset;
+        private int positionOffset;
+        private int doc = -1;
+        private int freq;
+        private boolean exhausted;
+        // Positionen übersprungener Dokumente, die vor dem nächsten Lesen zu überspringen sind
+        private int skipPositions;
+        private int[] positions;
+
+        Cursor(Postings postings) {
+            this.postings = postings;
+        }
+
+        boolean advance(int target) {
+            while (!exhausted && doc < target) {
+                if (docOffset >= postings.docsLength) {
+                    exhausted = true;
+                    break;
+                }
+                skipPositions += positions == null && doc >= 0 ? freq : 0;
+                positions = null;
+                doc += readVarint(postings.docs, true);
+                freq = readVarint(postings.docs, true);
+            }
+            return !exhausted;
+        }
+
+        int[] positions() {
+            if (positions == null) {
+                for (; skipPositions > 0; skipPositions--) {
+                    while ((postings.positions[positionOffset++] & 0x80) != 0) {
+                        // Varint-Fortsetzungsbytes
+                    }
+                }
+                positions = new int[freq];
+                int position = 0;
+                for (int i = 0; i < freq; i++) {
+                    position += readVarint(postings.positions, false);
+                    positions[i] = position;
+                }
+            }
+            return positions;
+        }
+
+        private int readVarint(byte[] buffer, boolean docStream) {
+            int offset = docStream ? docOffset : positionOffset;
+            int value = 0, shift = 0;
+            byte b;
+            do {
+                b = buffer[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            if (docStream) docOffset = offset;
+            else positionOffset = offset;
+            return value;
+        }
+    }
+}
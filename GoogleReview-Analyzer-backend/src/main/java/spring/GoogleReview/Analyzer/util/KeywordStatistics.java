@@ -0,0 +1,196 @@
+package spring.GoogleReview.Analyzer.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Lokale Keyword-Statistik eines Places – Ersatz für die Keyword-Felder der KI-Analyse.
+ *
+ * Pro Term (Wort oder Wortpaar, siehe KeywordTokenizer) wird gezählt, in wie vielen
+ * Reviews er vorkommt, getrennt nach positiven (≥ 4 Sterne) und negativen (≤ 2 Sterne)
+ * Reviews. Terme bekommen eine fortlaufende int-ID, die Zähler liegen in int-Arrays
+ * → neue Reviews werden mit {@link #add} eingezählt, ohne die alten neu zu zählen.
+ *
+ * - top:      Dokumentfrequenz, gedämpft für Terme, die in fast jedem Review stehen (TF-IDF-artig)
+ * - positiv/negativ: Log-Odds-Verhältnis positiv vs. negativ mit Glättung,
+ *             gewichtet mit der Stützung (Anzahl Reviews)
+ *
+ * Wird als JSON im PlaceAnalysisState gespeichert.
+ */
+@Data
+public class KeywordStatistics {
+
+    private static final int MIN_SUPPORT = 2;
+    // Wortpaare sind aussagekräftiger als Einzelwörter ("lange wartezeit" vs. "lange")
+    private static final double PHRASE_BOOST = 1.5;
+    private static final double SMOOTHING = 0.5;
+    // darüber werden beim Speichern Einmal-Terme verworfen (begrenzt die JSON-Größe)
+    private static final int MAX_TERMS = 50_000;
+
+    private int documents;
+    private int positiveDocuments;
+    private int negativeDocuments;
+
+    private List<String> stems = new ArrayList<>();
+    // kürzeste bisher gesehene Originalform pro Term
+    private List<String> labels = new ArrayList<>();
+    private int[] documentFrequency = new int[0];
+    private int[] positiveFrequency = new int[0];
+    private int[] negativeFrequency = new int[0];
+
+    @JsonIgnore
+    private Map<String, Integer> termIds;
+    @JsonIgnore
+    private int[] seenInDocument = new int[0];
+
+    public KeywordStatistics add(String text, int rating) {
+
+        documents++;
+        boolean positive = rating >= 4, negative = rating > 0 && rating <= 2;
+        if (positive) positiveDocuments++;
+        if (negative) negativeDocuments++;
+
+        // Dokument-Marke statt Set: jeder Term zählt pro Review nur einmal
+        int mark = documents;
+        KeywordTokenizer.tokenize(text, (stem, label) -> {
+            int id = termId(stem, label);
+            if (seenInDocument[id] == mark) return;
+            seenInDocument[id] = mark;
+            documentFrequency[id]++;
+            if (positive) positiveFrequency[id]++;
+            if (negative) negativeFrequency[id]++;
+        });
+        return this;
+    }
+
+    /**
+     * @return Term → Anzahl Reviews, wichtigste zuerst
+     */
+    public Map<String, Integer> top(int limit) {
+        int n = stems.size();
+        double[] score = new double[n];
+        for (int id = 0; id < n; id++) {
+            int df = documentFrequency[id];
+            if (df < MIN_SUPPORT) continue;
+            score[id] = df * Math.log(1 + (double) documents / df) * boost(id);
+        }
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int id : best(score, limit)) {
+            result.put(labels.get(id), documentFrequency[id]);
+        }
+        return result;
+    }
+
+    public List<String> positive(int limit) {
+        return polar(limit, positiveFrequency, positiveDocuments, negativeFrequency, negativeDocuments);
+    }
+
+    public List<String> negative(int limit) {
+        return polar(limit, negativeFrequency, negativeDocuments, positiveFrequency, positiveDocuments);
+    }
+
+    /**
+     * Kapazitätsreserve der Arrays abschneiden (vor dem Speichern).
+     * Bei sehr großem Vokabular fallen Terme weg, die nur in einem Review vorkommen –
+     * sie erreichen MIN_SUPPORT erst wieder, wenn sie erneut zweimal auftauchen.
+     */
+    public KeywordStatistics trimToSize() {
+        int n = stems.size();
+        if (n > MAX_TERMS) {
+            int kept = 0;
+            for (int id = 0; id < n; id++) {
+                if (documentFrequency[id] < MIN_SUPPORT) continue;
+                stems.set(kept, stems.get(id));
+                labels.set(kept, labels.get(id));
+                documentFrequency[kept] = documentFrequency[id];
+                positiveFrequency[kept] = positiveFrequency[id];
+                negativeFrequency[kept] = negativeFrequency[id];
+                kept++;
+            }
+            stems.subList(kept, n).clear();
+            labels.subList(kept, n).clear();
+            n = kept;
+            termIds = null;
+            seenInDocument = new int[0];
+        }
+        documentFrequency = Arrays.copyOf(documentFrequency, n);
+        positiveFrequency = Arrays.copyOf(positiveFrequency, n);
+        negativeFrequency = Arrays.copyOf(negativeFrequency, n);
+        return this;
+    }
+
+    private List<String> polar(int limit, int[] own, int ownDocs, int[] other, int otherDocs) {
+        int n = stems.size();
+        double[] score = new double[n];
+        for (int id = 0; id < n; id++) {
+            int hits = own[id];
+            if (hits < MIN_SUPPORT) continue;
+            double logOdds = Math.log((hits + SMOOTHING) / (ownDocs - hits + SMOOTHING))
+                    - Math.log((other[id] + SMOOTHING) / (otherDocs - other[id] + SMOOTHING));
+            if (logOdds > 0) score[id] = logOdds * Math.log1p(hits) * boost(id);
+        }
+
+        List<String> result = new ArrayList<>();
+        for (int id : best(score, limit)) result.add(labels.get(id));
+        return result;
+    }
+
+    private double boost(int id) {
+        return stems.get(id).indexOf(' ') >= 0 ? PHRASE_BOOST : 1;
+    }
+
+    // IDs mit Score > 0, absteigend; bei Gleichstand alphabetisch → reproduzierbar
+    private int[] best(double[] score, int limit) {
+        return IntStream.range(0, score.length)
+                .filter(id -> score[id] > 0)
+                .boxed()
+                .sorted((a, b) -> score[a] != score[b]
+                        ? Double.compare(score[b], score[a])
+                        : labels.get(a).compareTo(labels.get(b)))
+                .limit(limit)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private int termId(String stem, String label) {
+        if (termIds == null) {
+            termIds = new HashMap<>(stems.size() * 2);
+            for (int id = 0; id < stems.size(); id++) termIds.put(stems.get(id), id);
+        }
+
+        Integer id = termIds.get(stem);
+        if (id != null) {
+            if (label.length() < labels.get(id).length()) labels.set(id, label);
+            ensureCapacity(id + 1);
+            return id;
+        }
+
+        int newId = stems.size();
+        stems.add(stem);
+        labels.add(label);
+        termIds.put(stem, newId);
+        ensureCapacity(newId + 1);
+        return newId;
+    }
+
+    private void ensureCapacity(int size) {
+        if (documentFrequency.length < size) {
+            int capacity = Math.max(size, documentFrequency.length * 2);
+            documentFrequency = Arrays.copyOf(documentFrequency, capacity);
+            positiveFrequency = Arrays.copyOf(positiveFrequency, capacity);
+            negativeFrequency = Arrays.copyOf(negativeFrequency, capacity);
+        }
+        if (seenInDocument.length < size) {
+            seenInDocument = Arrays.copyOf(seenInDocument, Math.max(size, seenInDocument.length * 2));
+        }
+    }
+}
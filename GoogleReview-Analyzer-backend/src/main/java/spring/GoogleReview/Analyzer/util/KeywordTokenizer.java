@@ -0,0 +1,112 @@
+package spring.GoogleReview.Analyzer.util;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Zerlegt Review-Texte (deutsch/englisch) in Schlüsselwort-Kandidaten nach RAKE-Art:
+ * Stoppwörter und Satzzeichen trennen Phrasen, innerhalb einer Phrase werden
+ * einzelne Wörter und benachbarte Wortpaare gemeldet.
+ *
+ * Wörter werden kleingeschrieben und leicht gestemmt (häufige Endungen ab),
+ * damit "Preis"/"Preise" oder "lecker"/"leckeres" zusammen gezählt werden.
+ */
+public final class KeywordTokenizer {
+
+    /**
+     * @param stem  Zählschlüssel (gestemmt, bei Paaren "stamm1 stamm2")
+     * @param label Anzeigeform (Originalwort(e), kleingeschrieben)
+     */
+    public interface Sink {
+        void accept(String stem, String label);
+    }
+
+    private static final int MIN_WORD_LENGTH = 3;
+    private static final int MIN_STEM_LENGTH = 4;
+    private static final String[] SUFFIXES = {"ern", "em", "en", "er", "es", "ing", "ed", "e", "s", "n"};
+
+    private static final Set<String> STOPWORDS = Set.of(
+            // deutsch
+            "aber", "alle", "allem", "allen", "aller", "alles", "als", "also", "am", "an", "auch", "auf",
+            "aus", "bei", "bin", "bis", "bist", "da", "dann", "das", "dass", "dem", "den", "denn", "der",
+            "des", "die", "dies", "diese", "diesem", "diesen", "dieser", "dieses", "doch", "dort", "du",
+            "durch", "ein", "eine", "einem", "einen", "einer", "eines", "etwas", "euch", "euer", "für",
+            "gab", "ganz", "gar", "gibt", "hab", "habe", "haben", "hat", "hatte", "hatten", "hier", "hin",
+            "ich", "ihr", "ihre", "ihm", "ihn", "im", "immer", "in", "ist", "ja", "jede", "jeder", "jedes",
+            "jetzt", "kann", "kein", "keine", "keinen", "mal", "man", "mehr", "mein", "meine", "mich",
+            "mir", "mit", "muss", "nach", "nicht", "nichts", "noch", "nur", "ob", "oder", "ohne", "schon",
+            "sehr", "sein", "seine", "sich", "sie", "sind", "so", "sowie", "über", "um", "und", "uns",
+            "unser", "unsere", "unter", "vom", "von", "vor", "war", "waren", "warst", "was", "weil",
+            "wenn", "wer", "werden", "wie", "wieder", "wir", "wird", "wo", "wurde", "wurden", "zu", "zum",
+            "zur", "zwar", "einfach", "total", "echt", "wirklich", "eigentlich", "leider", "dabei",
+            // englisch
+            "about", "after", "again", "all", "and", "any", "are", "but", "can", "could", "did",
+            "does", "for", "from", "had", "has", "have", "her", "here", "him", "his", "how", "its", "just",
+            "more", "most", "not", "now", "our", "out", "she", "some", "than", "that", "the", "their",
+            "them", "then", "there", "these", "they", "this", "too", "very", "were", "what", "when",
+            "which", "while", "who", "will", "with", "would", "you", "your", "really", "definitely"
+    );
+
+    private KeywordTokenizer() {
+    }
+
+    public static void tokenize(String text, Sink sink) {
+        if (text == null) return;
+
+        String previousStem = null, previousWord = null;
+        int i = 0, len = text.length();
+
+        while (i < len) {
+            // Trenner überspringen; Satzzeichen beenden die aktuelle Phrase
+            char c = text.charAt(i);
+            if (!Character.isLetter(c)) {
+                if (!Character.isWhitespace(c) && c != '-' && c != '\'') previousStem = null;
+                i++;
+                continue;
+            }
+
+            int start = i;
+            while (i < len && Character.isLetter(text.charAt(i))) i++;
+            String word = text.substring(start, i).toLowerCase(Locale.ROOT);
+
+            if (word.length() < MIN_WORD_LENGTH || STOPWORDS.contains(word)) {
+                previousStem = null;
+                continue;
+            }
+
+            String stem = stem(word);
+            sink.accept(stem, word);
+            if (previousStem != null) {
+                sink.accept(previousStem + " " + stem, previousWord + " " + word);
+            }
+            previousStem = stem;
+            previousWord = word;
+        }
+    }
+
+    /**
+     * Stoppwort-Prüfung für bereits kleingeschriebene Wörter.
+     */
+    public static boolean isStopword(String word) {
+        return STOPWORDS.contains(word);
+    }
+
+    // höchstens zwei Endungen ab ("leckeres" → "lecker" → "leck"), Stamm mind. 4 Zeichen
+    public static String stem(String word) {
+        for (int pass = 0; pass < 2; pass++) {
+            String stripped = stripSuffix(word);
+            if (stripped == word) break;
+            word = stripped;
+        }
+        return word;
+    }
+
+    private static String stripSuffix(String word) {
+        for (String suffix : SUFFIXES) {
+            if (word.length() - suffix.length() >= MIN_STEM_LENGTH && word.endsWith(suffix)) {
+                return word.substring(0, word.length() - suffix.length());
+            }
+        }
+        return word;
+    }
+}
@@ -0,0 +1,250 @@
+package spring.GoogleReview.Analyzer.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Findet Copy/Paste-Cluster unter Review-Texten in nahezu linearer Zeit.
+ *
+ * Ablauf: Text → Wort-3-Gramme (Shingles) → MinHash-Signatur (numHashes × int)
+ * → LSH-Banding: Texte mit identischem Band landen im selben Bucket und werden
+ * nur dann verglichen. Treffer mit geschätzter Jaccard-Ähnlichkeit ≥ threshold
+ * werden per Union-Find zu Clustern verbunden.
+ *
+ * Kurze Texte (weniger als minTokens Wörter) werden ignoriert – "Sehr gut!"
+ * ist kein Copy/Paste-Indiz.
+ *
+ * {@link #signature}, {@link #bandKeys} und {@link #similar} sind dieselben Schritte
+ * für einzelne Texte – damit lassen sich die Buckets dauerhaft speichern und neue
+ * Reviews einsortieren, ohne die alten erneut zu signieren (LocalFakeReviewDetector).
+ */
+public final class MinHashLsh {
+
+    private static final int SHINGLE_SIZE = 3;
+
+    private final int numHashes;
+    private final int bands;
+    private final int rows;
+    private final double threshold;
+    private final int minTokens;
+
+    // Multiply-Shift-Hashing: h_i(x) = (a_i * x + b_i) >>> 33 (31 Bit, immer positiv)
+    private final long[] a;
+    private final long[] b;
+
+    public MinHashLsh(int numHashes, int bands, double threshold, int minTokens) {
+        if (numHashes % bands != 0) {
+            throw new IllegalArgumentException("numHashes muss durch bands teilbar sein");
+        }
+        this.numHashes = numHashes;
+        this.bands = bands;
+        this.rows = numHashes / bands;
+        this.threshold = threshold;
+        this.minTokens = minTokens;
+
+        SplittableRandom random = new SplittableRandom(0x5EEDL);
+        this.a = new long[numHashes];
+        this.b = new long[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            a[i] = random.nextLong() | 1L;
+            b[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * @return pro Text den Index des Cluster-Repräsentanten; -1 = zu kurz / kein Cluster.
+     *         Texte ohne Duplikat zeigen auf sich selbst.
+     */
+    public int[] cluster(List<String> texts) {
+
+        int n = texts.size();
+        int[] signatures = new int[n * numHashes];
+        boolean[] valid = new boolean[n];
+
+        long[] words = new long[64];
+        for (int i = 0; i < n; i++) {
+            words = tokenize(texts.get(i), words);
+            int count = (int) words[words.length - 1];
+            if (count >= minTokens) {
+                valid[i] = true;
+                sign(words, count, signatures, i * numHashes);
+            }
+        }
+
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) parent[i] = i;
+
+        LongIntMap buckets = new LongIntMap(Math.max(16, n));
+        for (int band = 0; band < bands; band++) {
+            buckets.clear();
+            for (int i = 0; i < n; i++) {
+                if (!valid[i]) continue;
+                long key = bandKey(signatures, i * numHashes + band * rows, band);
+                int other = buckets.putIfAbsent(key, i);
+                if (other >= 0 && find(parent, other) != find(parent, i)
+                        && similarity(signatures, other, i) >= threshold) {
+                    union(parent, other, i);
+                }
+            }
+        }
+
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = valid[i] ? find(parent, i) : -1;
+        }
+        return result;
+    }
+
+    /**
+     * @return MinHash-Signatur; null, wenn der Text kürzer als minTokens Wörter ist
+     */
+    public int[] signature(String text) {
+        long[] words = tokenize(text, new long[64]);
+        int count = (int) words[words.length - 1];
+        if (count < minTokens) return null;
+
+        int[] signature = new int[numHashes];
+        sign(words, count, signature, 0);
+        return signature;
+    }
+
+    /**
+     * @return ein Bucket-Schlüssel pro Band (der Schlüssel enthält die Band-Nummer)
+     */
+    public long[] bandKeys(int[] signature) {
+        long[] keys = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            keys[band] = bandKey(signature, band * rows, band);
+        }
+        return keys;
+    }
+
+    public boolean similar(int[] x, int[] y) {
+        int equal = 0;
+        for (int k = 0; k < numHashes; k++) {
+            if (x[k] == y[k]) equal++;
+        }
+        return (double) equal / numHashes >= threshold;
+    }
+
+    /**
+     * Geschätzte Jaccard-Ähnlichkeit zweier Signaturen (Anteil gleicher Minima).
+     */
+    private double similarity(int[] signatures, int x, int y) {
+        int ox = x * numHashes, oy = y * numHashes, equal = 0;
+        for (int k = 0; k < numHashes; k++) {
+            if (signatures[ox + k] == signatures[oy + k]) equal++;
+        }
+        return (double) equal / numHashes;
+    }
+
+    private void sign(long[] words, int count, int[] signatures, int offset) {
+        Arrays.fill(signatures, offset, offset + numHashes, Integer.MAX_VALUE);
+
+        int shingles = Math.max(1, count - SHINGLE_SIZE + 1);
+        for (int s = 0; s < shingles; s++) {
+            long h = words[s];
+            for (int w = 1; w < SHINGLE_SIZE && s + w < count; w++) {
+                h = Long.rotateLeft(h, 21 * w) ^ words[s + w];
+            }
+            h = mix(h);
+            for (int k = 0; k < numHashes; k++) {
+                int v = (int) ((a[k] * h + b[k]) >>> 33);
+                if (v < signatures[offset + k]) signatures[offset + k] = v;
+            }
+        }
+    }
+
+    /**
+     * Wort-Hashes ohne String-Allokation; die Anzahl steht im letzten Element.
+     */
+    private static long[] tokenize(String text, long[] words) {
+        int count = 0;
+        long h = 0;
+        boolean inWord = false;
+
+        int len = text == null ? 0 : text.length();
+        for (int i = 0; i <= len; i++) {
+            char c = i < len ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                h = (h ^ Character.toLowerCase(c)) * 0x100000001b3L;
+                if (!inWord) inWord = true;
+            } else if (inWord) {
+                if (count + 1 >= words.length) words = Arrays.copyOf(words, words.length * 2);
+                words[count++] = h;
+                h = 0;
+                inWord = false;
+            }
+        }
+        words[words.length - 1] = count;
+        return words;
+    }
+
+    private long bandKey(int[] signatures, int from, int band) {
+        long h = band * 0x9E3779B97F4A7C15L;
+        for (int r = 0; r < rows; r++) {
+            h = mix(h ^ signatures[from + r]);
+        }
+        return h;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int x, int y) {
+        int rx = find(parent, x), ry = find(parent, y);
+        // kleinerer Index wird Repräsentant → stabil über Läufe hinweg
+        if (rx < ry) parent[ry] = rx;
+        else parent[rx] = ry;
+    }
+
+    /**
+     * Open-Addressing-Map long → int ohne Boxing für die LSH-Buckets.
+     */
+    private static final class LongIntMap {
+        private long[] keys;
+        private int[] values;
+        private boolean[] used;
+        private int mask;
+
+        LongIntMap(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected) * 2 - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            used = new boolean[capacity];
+            mask = capacity - 1;
+        }
+
+        void clear() {
+            Arrays.fill(used, false);
+        }
+
+        /** @return vorhandener Wert oder -1, wenn neu eingefügt */
+        int putIfAbsent(long key, int value) {
+            int slot = (int) mix(key) & mask;
+            while (used[slot]) {
+                if (keys[slot] == key) return values[slot];
+                slot = (slot + 1) & mask;
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            values[slot] = value;
+            return -1;
+        }
+    }
+}
@@ -1,44 +1,84 @@
 package spring.GoogleReview.Analyzer.util;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * Wandelt die Datumsangaben der SerpAPI in ein absolutes Datum um.
+ *
+ * Unterstützt:
+ * - ISO: "2024-05-03", "2024-05-03T18:22:11Z"
+ * - Englisch: "a day ago", "3 weeks ago", "an hour ago", "a year ago", "yesterday", "Edited 2 months ago"
+ * - Deutsch: "vor einem Tag", "vor 3 Wochen", "vor einer Stunde", "vor 2 Jahren", "gestern", "heute"
+ *
+ * Relative Angaben werden gegen ein festes Ankerdatum (Abrufzeitpunkt) aufgelöst,
+ * damit das Ergebnis einmalig beim Import gespeichert werden kann.
+ * Die Patterns sind vorkompiliert, der Text wird nicht kopiert (kein toLowerCase/replaceAll).
+ */
 public class ReviewDateParser {
 
-    public static LocalDate parseRelativeDate(String relative) {
+    private static final Pattern ISO_DATE = Pattern.compile("(\\d{4})-(\\d{2})-(\\d{2})");
 
-        relative = relative.toLowerCase().trim();
+    // Menge + Einheit; Einheit nur über den Wortanfang bestimmt (week/weeks/Woche/Wochen …)
+    private static final Pattern RELATIVE = Pattern.compile(
+            "\\b(?:(\\d+)|an?|one|eine[mnr]?|ein)\\s+"
+                    + "(sec|sek|min|hour|stunde|day|tag|week|woche|month|monat|year|jahr)",
+            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
 
-        LocalDate today = LocalDate.now();
+    private static final Pattern YESTERDAY = Pattern.compile("\\b(?:yesterday|gestern)\\b",
+            Pattern.CASE_INSENSITIVE);
 
-        if (relative.contains("a week ago")) {
-            return today.minusWeeks(1);
-        }
+    private static final Pattern TODAY = Pattern.compile("\\b(?:today|heute|just now|gerade eben)\\b",
+            Pattern.CASE_INSENSITIVE);
 
-        if (relative.contains("week ago") || relative.contains("weeks ago")) {
-            int num = extractNumber(relative);
-            return today.minusWeeks(num);
-        }
+    /**
+     * @param anchor Datum, auf das sich "vor …" bezieht (Abrufdatum)
+     * @return absolutes Datum oder null, wenn das Format unbekannt ist
+     */
+    public static LocalDate parse(String text, LocalDate anchor) {
+
+        if (text == null || text.isBlank()) return null;
 
-        if (relative.contains("day ago") || relative.contains("days ago")) {
-            int num = extractNumber(relative);
-            return today.minusDays(num);
+        Matcher m = ISO_DATE.matcher(text);
+        if (m.find()) {
+            try {
+                return LocalDate.of(Integer.parseInt(m.group(1)),
+                        Integer.parseInt(m.group(2)),
+                        Integer.parseInt(m.group(3)));
+            } catch (RuntimeException e) {
+                return null;  // z. B. 2024-13-45
+            }
         }
 
-        if (relative.contains("month ago") || relative.contains("months ago")) {
-            int num = extractNumber(relative);
-            return today.minusMonths(num);
+        m = RELATIVE.matcher(text);
+        if (m.find()) {
+            int amount = m.group(1) != null ? parseAmount(m.group(1)) : 1;
+            return switch (Character.toLowerCase(text.charAt(m.start(2)))) {
+                case 'd', 't' -> anchor.minusDays(amount);             // day, Tag
+                case 'w' -> anchor.minusWeeks(amount);                 // week, Woche
+                case 'y', 'j' -> anchor.minusYears(amount);            // year, Jahr
+                case 'm' -> isMonth(text, m.start(2))                  // month/Monat vs. min
+                        ? anchor.minusMonths(amount) : anchor;
+                default -> anchor;                                     // Sekunden, Stunden
+            };
         }
 
-        // fallback → heutiges Datum
-        return today;
+        if (YESTERDAY.matcher(text).find()) return anchor.minusDays(1);
+        if (TODAY.matcher(text).find()) return anchor;
+
+        return null;
+    }
+
+    private static boolean isMonth(String text, int unitStart) {
+        return text.regionMatches(true, unitStart, "mon", 0, 3);
     }
 
-    private static int extractNumber(String text) {
+    private static int parseAmount(String digits) {
         try {
-            return Integer.parseInt(text.replaceAll("[^0-9]", ""));
-        } catch (Exception e) {
-            return 1;
+            return Integer.parseInt(digits);
+        } catch (NumberFormatException e) {
+            return 1;  // unrealistisch große Zahl
         }
     }
 }
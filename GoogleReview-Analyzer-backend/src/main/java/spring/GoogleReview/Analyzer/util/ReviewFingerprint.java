@@ -0,0 +1,57 @@
+package spring.GoogleReview.Analyzer.util;
+
+/**
+ * 64-Bit-Inhaltsfingerprint eines Reviews (FNV-1a + Murmur3-Finalizer).
+ *
+ * Grundlage sind Place-ID, Autor, Sterne und Text – jeweils normalisiert
+ * (Kleinschreibung, Whitespace zusammengefasst). Das relative Datum
+ * ("vor 2 Wochen") fließt bewusst NICHT ein, da es sich bei jedem Abruf ändert.
+ */
+public final class ReviewFingerprint {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ReviewFingerprint() {
+    }
+
+    public static long of(String placeId, String author, int rating, String text) {
+        long h = FNV_OFFSET;
+        h = mix(h, placeId);
+        h = mix(h, author);
+        h = (h ^ rating) * FNV_PRIME;
+        h = mix(h, text);
+        return finalizeHash(h);
+    }
+
+    private static long mix(long h, String value) {
+        if (value != null) {
+            boolean pendingSpace = false;
+            boolean started = false;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    pendingSpace = started;
+                    continue;
+                }
+                if (pendingSpace) {
+                    h = (h ^ ' ') * FNV_PRIME;
+                    pendingSpace = false;
+                }
+                h = (h ^ Character.toLowerCase(c)) * FNV_PRIME;
+                started = true;
+            }
+        }
+        // Feldtrenner, damit ("ab", "c") und ("a", "bc") verschieden sind
+        return (h ^ 0x1F) * FNV_PRIME;
+    }
+
+    private static long finalizeHash(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
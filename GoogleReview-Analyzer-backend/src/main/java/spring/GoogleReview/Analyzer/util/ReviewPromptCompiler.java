@@ -0,0 +1,178 @@
+package spring.GoogleReview.Analyzer.util;
+
+import spring.GoogleReview.Analyzer.model.Review;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Baut aus Reviews die Review-Blöcke der Analyse-Prompts – kompakt und mit festem Token-Budget.
+ *
+ * Format: eine Zeile pro Text, "ID|STERNE|TEXT" (siehe AnalysisPrompts).
+ * - Reviews ohne Text (nur Sterne, Emojis, Satzzeichen) werden weggelassen,
+ *   der Prompt wertet sie ohnehin nicht aus
+ * - Google-Übersetzungen: nur die Übersetzung, nicht zusätzlich das Original
+ * - Zeilenumbrüche/Mehrfach-Leerzeichen werden zusammengefasst, lange Texte gekürzt
+ * - identische Texte mit gleichen Sternen werden zu einer Zeile mit mehreren IDs
+ *   ("12,45|5|Sehr gut!") – für die Fake-Erkennung bleibt die Kopie sichtbar
+ *
+ * Die Token-Zahl wird lokal geschätzt (TokenEstimator) und pro Chunk mitgeliefert.
+ */
+public final class ReviewPromptCompiler {
+
+    private static final String[] TRANSLATION_MARKERS = {"(Übersetzt von Google)", "(Translated by Google)"};
+    private static final String ORIGINAL_MARKER = "(Original)";
+
+    /**
+     * @param text    Review-Block für den Prompt (ohne Prompt-Text)
+     * @param tokens  geschätzte Tokens des Blocks
+     * @param reviews Anzahl enthaltener Reviews (inkl. zusammengefasster Duplikate)
+     */
+    public record Chunk(String text, int tokens, int reviews) {
+    }
+
+    /**
+     * @param skipped    Reviews ohne auswertbaren Text
+     * @param merged     Reviews, die als Duplikat an eine andere Zeile angehängt wurden
+     * @param truncated  gekürzte Texte
+     */
+    public record Result(List<Chunk> chunks, int skipped, int merged, int truncated) {
+
+        public int tokens() {
+            return chunks.stream().mapToInt(Chunk::tokens).sum();
+        }
+    }
+
+    private final int chunkTokens;
+    private final int maxTextChars;
+
+    /**
+     * @param chunkTokens  Token-Budget pro Chunk (nur Reviews, ohne Prompt-Text)
+     * @param maxTextChars längere Texte werden an einer Wortgrenze gekürzt
+     */
+    public ReviewPromptCompiler(int chunkTokens, int maxTextChars) {
+        this.chunkTokens = Math.max(1, chunkTokens);
+        this.maxTextChars = Math.max(16, maxTextChars);
+    }
+
+    public Result compile(List<Review> reviews) {
+
+        // (Sterne, Text) → Zeile; Reihenfolge der ersten Vorkommen bleibt erhalten
+        Map<String, Line> lines = new LinkedHashMap<>();
+        int skipped = 0, merged = 0, truncated = 0;
+
+        for (Review r : reviews) {
+            String text = normalize(r.getText());
+            if (text == null) {
+                skipped++;
+                continue;
+            }
+            if (text.length() > maxTextChars) {
+                text = truncate(text, maxTextChars);
+                truncated++;
+            }
+
+            Line line = lines.get(r.getRating() + "|" + text);
+            if (line == null) {
+                lines.put(r.getRating() + "|" + text, new Line(r.getId(), r.getRating(), text));
+            } else {
+                line.ids.append(',').append(r.getId());
+                line.count++;
+                merged++;
+            }
+        }
+
+        return new Result(pack(lines.values()), skipped, merged, truncated);
+    }
+
+    private List<Chunk> pack(Iterable<Line> lines) {
+
+        List<Chunk> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int currentTokens = 0, currentReviews = 0;
+
+        for (Line line : lines) {
+            String encoded = line.encode();
+            int tokens = TokenEstimator.estimate(encoded);
+
+            if (currentTokens > 0 && currentTokens + tokens > chunkTokens) {
+                chunks.add(new Chunk(current.toString(), currentTokens, currentReviews));
+                current.setLength(0);
+                currentTokens = 0;
+                currentReviews = 0;
+            }
+            current.append(encoded);
+            currentTokens += tokens;
+            currentReviews += line.count;
+        }
+
+        if (currentTokens > 0) {
+            chunks.add(new Chunk(current.toString(), currentTokens, currentReviews));
+        }
+        return chunks;
+    }
+
+    /**
+     * @return bereinigter Text oder null, wenn nichts Auswertbares übrig bleibt
+     */
+    static String normalize(String text) {
+        if (text == null) return null;
+
+        text = stripGoogleTranslation(text);
+
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = false, meaningful = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                space = sb.length() > 0;
+                continue;
+            }
+            if (space) {
+                sb.append(' ');
+                space = false;
+            }
+            sb.append(c);
+            meaningful |= Character.isLetterOrDigit(c);
+        }
+        return meaningful ? sb.toString() : null;
+    }
+
+    // "(Übersetzt von Google) Sehr gut (Original) Very good" → "Sehr gut"
+    private static String stripGoogleTranslation(String text) {
+        for (String marker : TRANSLATION_MARKERS) {
+            if (text.startsWith(marker)) {
+                int original = text.indexOf(ORIGINAL_MARKER, marker.length());
+                return original < 0
+                        ? text.substring(marker.length())
+                        : text.substring(marker.length(), original);
+            }
+        }
+        return text;
+    }
+
+    private static String truncate(String text, int maxChars) {
+        int cut = text.lastIndexOf(' ', maxChars - 1);
+        if (cut < maxChars / 2) cut = maxChars - 1;
+        return text.substring(0, cut) + "…";
+    }
+
+    private static final class Line {
+        private final StringBuilder ids = new StringBuilder();
+        private final int rating;
+        private final String text;
+        private int count = 1;
+
+        private Line(Long id, int rating, String text) {
+            this.ids.append(id);
+            this.rating = rating;
+            this.text = text;
+        }
+
+        private String encode() {
+            return ids + "|" + rating + "|" + text + "\n";
+        }
+    }
+}
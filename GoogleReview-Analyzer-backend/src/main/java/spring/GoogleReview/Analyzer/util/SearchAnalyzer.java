@@ -0,0 +1,52 @@
+package spring.GoogleReview.Analyzer.util;
+
+import java.util.Locale;
+
+/**
+ * Analyzer für die Volltextsuche (deutsch/englisch): Wörter aus Buchstaben/Ziffern,
+ * kleingeschrieben und gestemmt wie bei den Keywords (KeywordTokenizer).
+ *
+ * Stoppwörter werden nicht gemeldet, zählen aber bei den Positionen mit –
+ * so passt die Phrase "essen war kalt" auch ohne indexiertes "war".
+ */
+public final class SearchAnalyzer {
+
+    private static final int MIN_WORD_LENGTH = 2;
+
+    public interface Sink {
+        /**
+         * @param position Wortposition im Text (inkl. Stoppwörter)
+         * @param start    Zeichen-Offset im Originaltext (für Snippets)
+         * @param end      exklusives Ende
+         */
+        void accept(String stem, int position, int start, int end);
+    }
+
+    private SearchAnalyzer() {
+    }
+
+    /**
+     * @return Anzahl Wortpositionen (Dokumentlänge für BM25)
+     */
+    public static int analyze(String text, Sink sink) {
+        if (text == null) return 0;
+
+        int position = 0;
+        int i = 0, len = text.length();
+        while (i < len) {
+            if (!Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < len && Character.isLetterOrDigit(text.charAt(i))) i++;
+
+            String word = text.substring(start, i).toLowerCase(Locale.ROOT);
+            if (word.length() >= MIN_WORD_LENGTH && !KeywordTokenizer.isStopword(word)) {
+                sink.accept(KeywordTokenizer.stem(word), position, start, i);
+            }
+            position++;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,239 @@
+package spring.GoogleReview.Analyzer.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only Archiv komprimierter Datensätze in einem Verzeichnis.
+ *
+ * - segment-NNNNN.seg: Datensätze hintereinander, je Header
+ *   (Magic, Rohlänge, komprimierte Länge, Zeitstempel, CRC32 der Rohdaten) + Deflate-Daten;
+ *   ein Segment wird bis maxSegmentBytes gefüllt, dann beginnt das nächste
+ * - index: feste 20-Byte-Einträge (Zeitstempel, Segment, Offset), nach Zeit sortiert
+ *
+ * Der Index-Eintrag wird erst nach dem Datensatz geschrieben → ein Absturz hinterlässt
+ * höchstens einen unreferenzierten Datensatz, nie einen Verweis ins Leere.
+ * Gelesen wird per Memory-Mapping; die Startposition für {@link #read} per Binärsuche im Index.
+ *
+ * Schreiben ist pro Instanz synchronisiert, Lesen parallel dazu möglich
+ * (sieht den Stand des Index beim Start).
+ */
+public final class SegmentArchive {
+
+    private static final int MAGIC = 0x52415731;  // "RAW1"
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 8 + 4;
+    private static final int INDEX_ENTRY_BYTES = 8 + 4 + 8;
+    private static final String INDEX_FILE = "index";
+
+    @FunctionalInterface
+    public interface RecordConsumer {
+        /**
+         * @param data nur die ersten length Bytes sind gültig (Puffer wird wiederverwendet)
+         * @return false = nicht weiterlesen
+         */
+        boolean accept(long timestamp, byte[] data, int length);
+    }
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+
+    // -1 = noch nicht aus dem Index gelesen
+    private int segment = -1;
+    private long segmentBytes;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    public SegmentArchive(Path directory, long maxSegmentBytes) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+    }
+
+    /**
+     * Zeitstempel, die kleiner als der letzte sind (parallele Schreiber), werden auf
+     * diesen angehoben – der Index bleibt sortiert.
+     */
+    public synchronized void append(long timestamp, byte[] data, int offset, int length) throws IOException {
+
+        Files.createDirectories(directory);
+        if (segment < 0) restoreState();
+
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+
+        // Deflater und Puffer nur für diesen Aufruf – eine Instanz pro Place hält sonst
+        // dauerhaft nativen zlib-Speicher, ohne dass jemand end() aufruft
+        byte[] compressBuffer = new byte[Math.max(1024, length / 2)];
+        int compressed = 0;
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(data, offset, length);
+            deflater.finish();
+            while (!deflater.finished()) {
+                if (compressed == compressBuffer.length) {
+                    compressBuffer = Arrays.copyOf(compressBuffer, compressBuffer.length * 2);
+                }
+                compressed += deflater.deflate(compressBuffer, compressed, compressBuffer.length - compressed);
+            }
+        } finally {
+            deflater.end();
+        }
+
+        long recordBytes = HEADER_BYTES + compressed;
+        if (segmentBytes > 0 && segmentBytes + recordBytes > maxSegmentBytes) {
+            segment++;
+            segmentBytes = 0;
+        }
+        timestamp = Math.max(timestamp, lastTimestamp);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC).putInt(length).putInt(compressed).putLong(timestamp).putInt((int) crc.getValue())
+                .flip();
+        long offsetInSegment;
+        try (FileChannel channel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            offsetInSegment = channel.size();
+            writeFully(channel, header);
+            writeFully(channel, ByteBuffer.wrap(compressBuffer, 0, compressed));
+        }
+
+        ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES)
+                .putLong(timestamp).putInt(segment).putLong(offsetInSegment)
+                .flip();
+        try (FileChannel channel = FileChannel.open(directory.resolve(INDEX_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            writeFully(channel, entry);
+        }
+
+        segmentBytes = offsetInSegment + recordBytes;
+        lastTimestamp = timestamp;
+    }
+
+    /**
+     * Liest alle Datensätze ab fromTimestamp (inklusive) in Schreibreihenfolge.
+     *
+     * @return Anzahl gelesener Datensätze
+     * @throws IOException auch bei beschädigten Datensätzen (Magic/CRC)
+     */
+    public int read(long fromTimestamp, RecordConsumer consumer) throws IOException {
+
+        Path indexPath = directory.resolve(INDEX_FILE);
+        if (!Files.exists(indexPath)) return 0;
+
+        Inflater inflater = new Inflater();
+        try (FileChannel indexChannel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            // unvollständiger letzter Eintrag (Absturz beim Schreiben) wird ignoriert
+            long entries = indexChannel.size() / INDEX_ENTRY_BYTES;
+            if (entries == 0) return 0;
+            MappedByteBuffer index = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, entries * INDEX_ENTRY_BYTES);
+
+            byte[] data = new byte[64 * 1024];
+            MappedByteBuffer mapped = null;
+            int mappedSegment = -1;
+            int count = 0;
+
+            for (long i = firstAtOrAfter(index, entries, fromTimestamp); i < entries; i++) {
+                int position = (int) (i * INDEX_ENTRY_BYTES);
+                long timestamp = index.getLong(position);
+                int recordSegment = index.getInt(position + 8);
+                int offset = (int) index.getLong(position + 12);
+
+                if (recordSegment != mappedSegment) {
+                    mapped = map(recordSegment);
+                    mappedSegment = recordSegment;
+                }
+
+                if (mapped.getInt(offset) != MAGIC) {
+                    throw new IOException("Beschädigter Datensatz in Segment " + recordSegment + " bei " + offset);
+                }
+                int length = mapped.getInt(offset + 4);
+                int compressed = mapped.getInt(offset + 8);
+                int expectedCrc = mapped.getInt(offset + 20);
+
+                if (data.length < length) data = new byte[Math.max(length, data.length * 2)];
+                inflater.reset();
+                inflater.setInput(mapped.slice(offset + HEADER_BYTES, compressed));
+                try {
+                    int read = 0;
+                    while (read < length && !inflater.finished()) {
+                        int n = inflater.inflate(data, read, length - read);
+                        if (n == 0 && inflater.needsInput()) break;
+                        read += n;
+                    }
+                    if (read != length) throw new IOException("Unvollständiger Datensatz in Segment " + recordSegment);
+                } catch (DataFormatException e) {
+                    throw new IOException("Beschädigter Datensatz in Segment " + recordSegment + " bei " + offset, e);
+                }
+
+                CRC32 crc = new CRC32();
+                crc.update(data, 0, length);
+                if ((int) crc.getValue() != expectedCrc) {
+                    throw new IOException("Prüfsumme falsch in Segment " + recordSegment + " bei " + offset);
+                }
+
+                count++;
+                if (!consumer.accept(timestamp, data, length)) break;
+            }
+            return count;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    // ein Segment ist höchstens maxSegmentBytes groß (bzw. ein einzelner größerer Datensatz) → passt in ein Mapping
+    private MappedByteBuffer map(int segmentNumber) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segmentNumber), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static long firstAtOrAfter(ByteBuffer index, long entries, long timestamp) {
+        long low = 0, high = entries;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (index.getLong((int) (mid * INDEX_ENTRY_BYTES)) < timestamp) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // Fortsetzung nach einem Neustart: letztes Segment und letzter Zeitstempel aus dem Index
+    private void restoreState() throws IOException {
+        segment = 0;
+        segmentBytes = 0;
+
+        Path indexPath = directory.resolve(INDEX_FILE);
+        if (!Files.exists(indexPath)) return;
+
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long entries = channel.size() / INDEX_ENTRY_BYTES;
+            // halben Eintrag eines Absturzes abschneiden, sonst verrutschen alle folgenden
+            channel.truncate(entries * INDEX_ENTRY_BYTES);
+            if (entries == 0) return;
+
+            ByteBuffer last = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+            channel.read(last, (entries - 1) * INDEX_ENTRY_BYTES);
+            last.flip();
+            lastTimestamp = last.getLong();
+            segment = last.getInt();
+        }
+        Path current = segmentPath(segment);
+        segmentBytes = Files.exists(current) ? Files.size(current) : 0;
+    }
+
+    private Path segmentPath(int segmentNumber) {
+        return directory.resolve(String.format("segment-%05d.seg", segmentNumber));
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+}
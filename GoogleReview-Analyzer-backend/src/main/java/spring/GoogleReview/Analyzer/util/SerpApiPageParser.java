@@ -0,0 +1,99 @@
+package spring.GoogleReview.Analyzer.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import spring.GoogleReview.Analyzer.model.SerpApiReview;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Liest eine SerpAPI-Seite direkt vom Token-Stream:
+ * jedes Review wird einzeln an den Consumer übergeben, ohne Map-Baum
+ * für die ganze Antwort. Unbekannte Felder (Bilder, Antworten des Inhabers …)
+ * werden per skipChildren übersprungen, ohne Objekte anzulegen.
+ */
+public final class SerpApiPageParser {
+
+    /**
+     * @param hasReviews    Antwort enthielt ein "reviews"-Array (sonst Ende/Fehler)
+     * @param nextPageToken serpapi_pagination.next_page_token oder null
+     */
+    public record PageInfo(boolean hasReviews, String nextPageToken) {
+    }
+
+    private SerpApiPageParser() {
+    }
+
+    public static PageInfo parse(JsonParser p, Consumer<SerpApiReview> sink) throws IOException {
+
+        if (p.nextToken() != JsonToken.START_OBJECT) {
+            return new PageInfo(false, null);
+        }
+
+        boolean hasReviews = false;
+        String nextPageToken = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+
+            if ("reviews".equals(field) && value == JsonToken.START_ARRAY) {
+                hasReviews = true;
+                while (p.nextToken() == JsonToken.START_OBJECT) {
+                    sink.accept(readReview(p));
+                }
+            } else if ("serpapi_pagination".equals(field) && value == JsonToken.START_OBJECT) {
+                nextPageToken = readNextPageToken(p);
+            } else {
+                p.skipChildren();
+            }
+        }
+        return new PageInfo(hasReviews, nextPageToken);
+    }
+
+    private static SerpApiReview readReview(JsonParser p) throws IOException {
+        String reviewId = null, author = null, snippet = null, date = null, isoDate = null;
+        int rating = 0;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "review_id" -> reviewId = p.getValueAsString();
+                case "rating" -> rating = value.isNumeric() ? p.getValueAsInt() : 0;
+                case "snippet" -> snippet = p.getValueAsString();
+                case "date" -> date = p.getValueAsString();
+                case "iso_date" -> isoDate = p.getValueAsString();
+                case "user" -> {
+                    if (value == JsonToken.START_OBJECT) author = readUserName(p);
+                    else p.skipChildren();
+                }
+                default -> p.skipChildren();
+            }
+        }
+        return new SerpApiReview(reviewId, author, rating, snippet, date, isoDate);
+    }
+
+    private static String readUserName(JsonParser p) throws IOException {
+        String name = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if ("name".equals(field)) name = p.getValueAsString();
+            else p.skipChildren();
+        }
+        return name;
+    }
+
+    private static String readNextPageToken(JsonParser p) throws IOException {
+        String token = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if ("next_page_token".equals(field)) token = p.getValueAsString();
+            else p.skipChildren();
+        }
+        return token;
+    }
+}
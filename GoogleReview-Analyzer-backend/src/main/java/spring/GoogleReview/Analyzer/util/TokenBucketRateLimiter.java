@@ -0,0 +1,64 @@
+package spring.GoogleReview.Analyzer.util;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Globales Request-Budget (Token-Bucket).
+ *
+ * acquire() reserviert ein Token und wartet ggf. außerhalb des Locks, bis es
+ * fällig ist – Wartende blockieren sich also nicht gegenseitig und werden in
+ * Reservierungsreihenfolge bedient. Bis zu {@code burst} Tokens werden angespart.
+ */
+public final class TokenBucketRateLimiter {
+
+    private final double permitsPerNano;
+    private final double burst;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    // nanoClock austauschbar → Tests prüfen die Wartezeiten ohne echte Uhr
+    TokenBucketRateLimiter(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond > 0 und burst >= 1 erforderlich");
+        }
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+        this.tokens = burst;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * Blockiert, bis ein Token verfügbar ist.
+     *
+     * @throws InterruptedException wenn der Thread beim Warten unterbrochen wird
+     */
+    public void acquire() throws InterruptedException {
+        long deadline = nanoClock.getAsLong() + reserve();
+        long remaining;
+        while ((remaining = deadline - nanoClock.getAsLong()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) throw new InterruptedException();
+        }
+    }
+
+    /**
+     * @return Wartezeit in Nanosekunden bis zum reservierten Token
+     */
+    synchronized long reserve() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+
+        // negativer Stand = bereits reservierte zukünftige Tokens
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+    }
+}
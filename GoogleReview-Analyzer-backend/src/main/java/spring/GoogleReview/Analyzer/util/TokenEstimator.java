@@ -0,0 +1,16 @@
+package spring.GoogleReview.Analyzer.util;
+
+/**
+ * Grobe lokale Token-Schätzung ohne Tokenizer-Bibliothek
+ * (≈ 4 Zeichen pro Token bei deutsch/englischem Text).
+ */
+public final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null || text.isEmpty()) return 0;
+        return (text.length() + 3) / 4;
+    }
+}
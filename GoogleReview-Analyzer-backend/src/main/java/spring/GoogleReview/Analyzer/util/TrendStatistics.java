@@ -0,0 +1,193 @@
+package spring.GoogleReview.Analyzer.util;
+
+import java.util.Arrays;
+
+/**
+ * Trend-Kennzahlen einer Rating-Zeitreihe in einem einzigen Durchlauf über
+ * primitive Arrays (keine Boxing-Maps, keine Sortierung – die Buckets kommen
+ * bereits sortiert aus den Rollups).
+ *
+ * - EWMA: exponentiell geglätteter Durchschnitt pro Bucket
+ * - Steigung: gewichtete kleinste Quadrate (Gewicht = Anzahl Reviews im Bucket),
+ *   online nach West/Welford berechnet, mit Standardfehler und Konfidenz
+ *   (Student-t mit Anzahl Buckets - 2 Freiheitsgraden)
+ * - Change-Points: zweiseitige CUSUM auf den standardisierten Abweichungen
+ *   vom bisherigen EWMA
+ */
+public final class TrendStatistics {
+
+    // CUSUM-Parameter in Standardabweichungen (üblich: k = 0.5, h = 4–5)
+    private static final double CUSUM_K = 0.5;
+    private static final double CUSUM_H = 4.0;
+    // Buckets, bevor die EW-Varianz als Maßstab taugt
+    private static final int WARMUP = 3;
+    // untere Schranke für die Streuung (Sterne), sonst explodiert z bei konstanten Reihen
+    private static final double MIN_STDDEV = 0.25;
+    // Koeffizienten der Lanczos-Näherung für logGamma
+    private static final double[] LANCZOS = {
+            0.99999999999980993, 676.5203681218851, -1259.1392167224028,
+            771.32342877765313, -176.61502916214059, 12.507343278686905,
+            -0.13857109526572012, 9.9843695780195716e-6, 1.5056327351493116e-7};
+
+    private TrendStatistics() {
+    }
+
+    /**
+     * @param index     Bucket-Index
+     * @param direction +1 = Anstieg, -1 = Abfall
+     */
+    public record ChangePoint(int index, int direction) {
+    }
+
+    /**
+     * @param smoothed        EWMA pro Bucket
+     * @param slopePerDay     Sterne pro Tag (NaN bei weniger als 2 Buckets)
+     * @param slopeStdError   Standardfehler der Steigung (NaN bei weniger als 3 Buckets)
+     * @param slopeConfidence 1 - p-Wert (zweiseitig) für Steigung ≠ 0, 0 wenn nicht bestimmbar
+     */
+    public record Result(double[] smoothed, double slopePerDay, double slopeStdError,
+                         double slopeConfidence, ChangePoint[] changePoints) {
+    }
+
+    /**
+     * @param days     Bucket-Start als Epoch-Day, aufsteigend
+     * @param averages Durchschnittsrating pro Bucket
+     * @param counts   Reviews pro Bucket (Gewicht)
+     * @param alpha    EWMA-Glättung (0 < alpha ≤ 1, größer = reagiert schneller)
+     */
+    public static Result compute(long[] days, double[] averages, long[] counts, double alpha) {
+
+        int m = averages.length;
+        double[] smoothed = new double[m];
+        ChangePoint[] changes = new ChangePoint[Math.max(1, m / 2)];
+        int changeCount = 0;
+
+        // gewichtete Momente (x relativ zum ersten Bucket → kleine Zahlen, stabil)
+        double sumW = 0, meanX = 0, meanY = 0, sxx = 0, sxy = 0, syy = 0;
+
+        double ewma = 0, ewVar = 0, cusumUp = 0, cusumDown = 0;
+
+        for (int i = 0; i < m; i++) {
+            double x = days[i] - days[0];
+            double y = averages[i];
+            double w = Math.max(1, counts[i]);
+
+            // 1) gewichtete Regression, inkrementell
+            sumW += w;
+            double dx = x - meanX;
+            double dy = y - meanY;
+            meanX += dx * w / sumW;
+            meanY += dy * w / sumW;
+            sxx += w * dx * (x - meanX);
+            sxy += w * dx * (y - meanY);
+            syy += w * dy * (y - meanY);
+
+            // 2) Change-Points gegen den Stand vor diesem Bucket
+            if (i >= WARMUP) {
+                double sd = Math.max(Math.sqrt(ewVar), MIN_STDDEV);
+                // Buckets mit vielen Reviews sind verlässlicher → Abweichung skaliert mit √n
+                double z = (y - ewma) / sd * Math.min(Math.sqrt(w), 3);
+                cusumUp = Math.max(0, cusumUp + z - CUSUM_K);
+                cusumDown = Math.max(0, cusumDown - z - CUSUM_K);
+                if (cusumUp > CUSUM_H || cusumDown > CUSUM_H) {
+                    if (changeCount == changes.length) changes = Arrays.copyOf(changes, changeCount * 2);
+                    changes[changeCount++] = new ChangePoint(i, cusumUp > CUSUM_H ? 1 : -1);
+                    cusumUp = 0;
+                    cusumDown = 0;
+                    // neues Niveau übernehmen
+                    ewma = y;
+                }
+            }
+
+            // 3) EWMA und EW-Varianz
+            if (i == 0) {
+                ewma = y;
+            } else {
+                double diff = y - ewma;
+                ewma += alpha * diff;
+                ewVar = (1 - alpha) * (ewVar + alpha * diff * diff);
+            }
+            smoothed[i] = ewma;
+        }
+
+        double slope = m >= 2 && sxx > 0 ? sxy / sxx : Double.NaN;
+        double stdError = Double.NaN;
+        double confidence = 0;
+
+        if (m >= 3 && sxx > 0) {
+            // Gewichte auf Mittelwert 1 normiert → Freiheitsgrade = Anzahl Buckets - 2
+            double ssr = Math.max(0, syy - sxy * sxy / sxx);
+            double scale = m / sumW;
+            double residualVar = ssr * scale / (m - 2);
+            stdError = Math.sqrt(residualVar / (sxx * scale));
+            if (stdError > 0) {
+                // wenige Buckets → t-Verteilung statt Normalverteilung, sonst zu optimistisch
+                confidence = studentTConfidence(Math.abs(slope) / stdError, m - 2);
+            } else if (slope != 0) {
+                confidence = 1;  // perfekte Gerade
+            }
+        }
+
+        return new Result(smoothed, slope, stdError, confidence, Arrays.copyOf(changes, changeCount));
+    }
+
+    /**
+     * P(|T| < t) einer Student-t-Verteilung mit df Freiheitsgraden,
+     * über 1 - I_x(df/2, 1/2) mit x = df / (df + t²).
+     */
+    static double studentTConfidence(double t, double df) {
+        if (Double.isInfinite(t)) return 1;
+        return 1 - regularizedBeta(df / (df + t * t), df / 2, 0.5);
+    }
+
+    /**
+     * Regularisierte unvollständige Beta-Funktion I_x(a, b) per Kettenbruch
+     * (Numerical Recipes 6.4); jenseits von (a+1)/(a+b+2) über I_x(a, b) = 1 - I_(1-x)(b, a),
+     * dort konvergiert der Kettenbruch schneller.
+     */
+    static double regularizedBeta(double x, double a, double b) {
+        if (x <= 0) return 0;
+        if (x >= 1) return 1;
+        double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b)
+                + a * Math.log(x) + b * Math.log1p(-x));
+        if (x < (a + 1) / (a + b + 2)) return front * betaContinuedFraction(x, a, b) / a;
+        return 1 - front * betaContinuedFraction(1 - x, b, a) / b;
+    }
+
+    // modifizierter Lentz-Algorithmus
+    private static double betaContinuedFraction(double x, double a, double b) {
+        double c = 1;
+        double d = nonZero(1 - (a + b) * x / (a + 1));
+        d = 1 / d;
+        double h = d;
+        for (int m = 1; m <= 200; m++) {
+            int m2 = 2 * m;
+            // gerader Schritt
+            double aa = m * (b - m) * x / ((a - 1 + m2) * (a + m2));
+            d = 1 / nonZero(1 + aa * d);
+            c = nonZero(1 + aa / c);
+            h *= d * c;
+            // ungerader Schritt
+            aa = -(a + m) * (a + b + m) * x / ((a + m2) * (a + 1 + m2));
+            d = 1 / nonZero(1 + aa * d);
+            c = nonZero(1 + aa / c);
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < 1e-12) break;
+        }
+        return h;
+    }
+
+    private static double nonZero(double v) {
+        return Math.abs(v) < 1e-300 ? 1e-300 : v;
+    }
+
+    // Lanczos-Näherung (g = 7, n = 9), hier nur für x ≥ 0.5
+    static double logGamma(double x) {
+        x -= 1;
+        double sum = LANCZOS[0];
+        for (int i = 1; i < LANCZOS.length; i++) sum += LANCZOS[i] / (x + i);
+        double t = x + 7.5;
+        return 0.5 * Math.log(2 * Math.PI) + (x + 0.5) * Math.log(t) - t + Math.log(sum);
+    }
+}
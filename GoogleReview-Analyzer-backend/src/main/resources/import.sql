@@ -0,0 +1,3 @@
+-- Von Hibernate nach dem Anlegen des Schemas ausgeführt (ddl-auto=create); eine Anweisung pro Zeile.
+-- Reviews ohne externalId: Fingerprint als Identität (partieller Index, per @Index nicht ausdrückbar)
+create unique index uk_review_fingerprint_without_id on review (fingerprint) where external_id is null;
@@ -0,0 +1,35 @@
+package spring.GoogleReview.Analyzer;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Repository-Fakes für Unit-Tests ohne Spring-Kontext und Datenbank.
+ */
+public final class FakeRepositories {
+
+    private FakeRepositories() {
+    }
+
+    /**
+     * @param method einzige implementierte Methode (per Name), alle anderen liefern null
+     * @param answer erhält die Aufrufargumente
+     */
+    public static <T> T answering(Class<T> repository, String method, Function<Object[], Object> answer) {
+        return answering(repository, Map.of(method, answer));
+    }
+
+    /**
+     * @param answers implementierte Methoden (per Name), alle anderen liefern null
+     */
+    public static <T> T answering(Class<T> repository, Map<String, Function<Object[], Object>> answers) {
+        return repository.cast(Proxy.newProxyInstance(
+                repository.getClassLoader(),
+                new Class<?>[]{repository},
+                (proxy, m, args) -> {
+                    Function<Object[], Object> answer = answers.get(m.getName());
+                    return answer != null ? answer.apply(args) : null;
+                }));
+    }
+}
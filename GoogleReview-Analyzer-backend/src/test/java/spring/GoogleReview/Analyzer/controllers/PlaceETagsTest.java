@@ -0,0 +1,87 @@
+package spring.GoogleReview.Analyzer.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import spring.GoogleReview.Analyzer.FakeRepositories;
+import spring.GoogleReview.Analyzer.model.PlaceVersion;
+import spring.GoogleReview.Analyzer.repository.PlaceVersionRepository;
+import spring.GoogleReview.Analyzer.service.PlaceVersionService;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlaceETagsTest {
+
+    private final Map<String, PlaceVersion> versions = new HashMap<>();
+
+    private final PlaceETags etags = new PlaceETags(new PlaceVersionService(
+            FakeRepositories.answering(PlaceVersionRepository.class, "findById",
+                    args -> Optional.ofNullable(versions.get((String) args[0])))));
+
+    private static final Instant UPDATED = Instant.parse("2025-06-01T12:00:00Z");
+
+    private void version(String placeId, long version, Instant updatedAt) {
+        PlaceVersion v = new PlaceVersion();
+        v.setPlaceId(placeId);
+        v.setVersion(version);
+        v.setUpdatedAt(updatedAt);
+        versions.put(placeId, v);
+    }
+
+    private static ServletWebRequest get(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reviews/p1");
+        if (ifNoneMatch != null) request.addHeader("If-None-Match", ifNoneMatch);
+        return new ServletWebRequest(request, response);
+    }
+
+    @Test
+    void answersNotModifiedUntilTheVersionChanges() {
+        version("p1", 3, UPDATED);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertFalse(etags.notModified(get(null, first), "p1", "reviews"));
+        String etag = first.getHeader("ETag");
+        assertEquals("W/\"reviews-3-" + UPDATED.toEpochMilli() + "\"", etag);
+        assertEquals("no-cache", first.getHeader("Cache-Control"));
+        assertTrue(first.containsHeader("Last-Modified"));
+
+        MockHttpServletResponse reload = new MockHttpServletResponse();
+        assertTrue(etags.notModified(get(etag, reload), "p1", "reviews"));
+        assertEquals(304, reload.getStatus());
+
+        version("p1", 4, UPDATED.plusSeconds(60));
+        MockHttpServletResponse changed = new MockHttpServletResponse();
+        assertFalse(etags.notModified(get(etag, changed), "p1", "reviews"));
+        assertEquals(200, changed.getStatus());
+        assertEquals("W/\"reviews-4-" + UPDATED.plusSeconds(60).toEpochMilli() + "\"", changed.getHeader("ETag"));
+    }
+
+    @Test
+    void restartedCounterDoesNotMatchAnOldETag() {
+        version("p1", 1, UPDATED);
+        MockHttpServletResponse before = new MockHttpServletResponse();
+        etags.notModified(get(null, before), "p1", "reviews");
+
+        // Schema neu erzeugt, Place neu importiert → wieder Version 1, aber später
+        version("p1", 1, UPDATED.plusSeconds(3600));
+        MockHttpServletResponse after = new MockHttpServletResponse();
+        assertFalse(etags.notModified(get(before.getHeader("ETag"), after), "p1", "reviews"));
+        assertEquals(200, after.getStatus());
+    }
+
+    @Test
+    void placesWithoutVersionAreNotConditional() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(etags.notModified(get("W/\"reviews-0\"", response), "neu", "reviews"));
+        assertNull(response.getHeader("ETag"));
+    }
+}
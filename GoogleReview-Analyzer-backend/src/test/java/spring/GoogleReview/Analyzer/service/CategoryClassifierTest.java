@@ -0,0 +1,43 @@
+package spring.GoogleReview.Analyzer.service;
+
+import org.junit.jupiter.api.Test;
+import spring.GoogleReview.Analyzer.CategoryProperties;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CategoryClassifierTest {
+
+    private final CategoryClassifier classifier = new CategoryClassifier(properties());
+
+    @Test
+    void classifiesLikeTheFormerContainsChain() {
+        assertEquals(0b0001, classifier.classify("Sehr FREUNDLICHES Personal"));
+        assertEquals(0b0110, classifier.classify("Leckeres Essen, aber zu teuer"));
+        assertEquals(0b1000, classifier.classify("Gemütlich und sauber"));
+        // Failure-Link: "ge" (gericht) bricht ab, "essen" steckt in "vergessen"
+        assertEquals(0b1110, classifier.classify("Nicht vergessen: Preisliste, Ambiente top"));
+        assertEquals(0, classifier.classify("Nichts davon"));
+        assertEquals(0, classifier.classify(null));
+    }
+
+    @Test
+    void masksContainingListsEveryMaskWithTheCategoryBit() {
+        List<Integer> food = classifier.masksContaining("food");
+
+        assertEquals(8, food.size());
+        assertTrue(food.stream().allMatch(m -> (m & 0b0010) != 0));
+        assertTrue(classifier.masksContaining("unbekannt").isEmpty());
+    }
+
+    private static CategoryProperties properties() {
+        CategoryProperties p = new CategoryProperties();
+        p.getCategories().put("service", List.of("service", "personal", "freund"));
+        p.getCategories().put("food", List.of("essen", "lecker", "shawarma", "gericht"));
+        p.getCategories().put("price", List.of("preis", "teuer", "günstig"));
+        p.getCategories().put("ambience", List.of("ambiente", "sauber", "gemütlich"));
+        return p;
+    }
+}
@@ -0,0 +1,175 @@
+package spring.GoogleReview.Analyzer.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import spring.GoogleReview.Analyzer.model.AnalysisResult;
+import spring.GoogleReview.Analyzer.model.FakeReviewEntry;
+import spring.GoogleReview.Analyzer.model.Review;
+import spring.GoogleReview.Analyzer.util.AnalysisAccumulator;
+import spring.GoogleReview.Analyzer.util.TokenEstimator;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft die Chunk-Analyse gegen einen lokalen Stub des Chat-Completions-Endpoints.
+ */
+class ChunkedAnalysisEngineTest {
+
+    private static final int PARALLELISM = 2;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger chunkCalls = new AtomicInteger();
+    private final AtomicInteger summaryCalls = new AtomicInteger();
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(java.util.concurrent.Executors.newFixedThreadPool(8));
+        server.createContext("/v1/chat/completions", exchange -> {
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            try {
+                JsonNode request = mapper.readTree(exchange.getRequestBody());
+                String prompt = request.get("messages").get(0).get("content").asText();
+                Thread.sleep(50);
+
+                byte[] body = completion(answer(prompt)).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void splitsLargePlacesAndMergesPartialResults() {
+        ChunkedAnalysisEngine engine = engine(400);
+
+        List<Review> reviews = reviews(60);
+        int chunks = engine.buildChunks(reviews).size();
+        List<Integer> progress = new CopyOnWriteArrayList<>();
+
+        List<AnalysisResult> parts = engine.analyzeChunks(reviews, (done, total, partial) -> {
+            assertEquals(chunks, total);
+            progress.add(done);
+        });
+
+        // wie IncrementalAnalysisService: Teile zusammenführen, Summary über die Teil-Summaries
+        AnalysisResult merged = new AnalysisAccumulator().addAll(parts).toResult();
+        String summary = engine.summarize(merged, null, ChunkedAnalysisEngine.partialSummaries(parts));
+
+        assertTrue(chunks > PARALLELISM);
+        assertEquals(chunks, parts.size());
+        assertEquals(chunks, chunkCalls.get());
+        assertEquals(1, summaryCalls.get());
+        assertTrue(maxInFlight.get() <= PARALLELISM);
+        assertEquals(IntStream.rangeClosed(1, chunks).boxed().toList(), progress);
+
+        assertEquals(List.of(1L, 11L, 21L, 31L, 41L, 51L),
+                merged.getFake_reviews().stream().map(FakeReviewEntry::getReviewId).toList());
+        assertEquals("Gesamt", summary);
+    }
+
+    @Test
+    void smallPlacesNeedASingleCall() {
+        List<AnalysisResult> parts = engine(100_000).analyzeChunks(reviews(5), AnalysisProgressListener.NONE);
+
+        // ein einzelner Chunk liefert die Summary direkt mit (IncrementalAnalysisService übernimmt sie)
+        assertEquals(1, chunkCalls.get());
+        assertEquals(0, summaryCalls.get());
+        assertEquals(List.of("Teil"), ChunkedAnalysisEngine.partialSummaries(parts));
+    }
+
+    private ChunkedAnalysisEngine engine(int maxTokens) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions";
+        OpenAIClient client = new OpenAIClient(url, "test-key", "gpt-4.1-mini", 8,
+                Duration.ofSeconds(5), 0, Duration.ofMillis(10), Duration.ofMillis(50), new SimpleMeterRegistry());
+        // Budget für die Reviews = maxTokens, der Prompt-Text kommt obendrauf
+        int promptTokens = TokenEstimator.estimate(AnalysisPrompts.ANALYSIS_PROMPT);
+        return new ChunkedAnalysisEngine(client, mapper,
+                new StageMetrics(ObservationRegistry.create(), new SimpleMeterRegistry(), 16), PARALLELISM, promptTokens + maxTokens, 1000);
+    }
+
+    private List<Review> reviews(int n) {
+        List<Review> reviews = new ArrayList<>();
+        for (long i = 1; i <= n; i++) {
+            Review r = new Review();
+            r.setId(i);
+            r.setRating(5);
+            r.setText("Sehr lecker, freundliches Personal und faire Preise. Review Nummer " + i);
+            reviews.add(r);
+        }
+        return reviews;
+    }
+
+    // Antwortet abhängig vom Prompt: Chunk-Analyse oder Abschluss-Summary
+    private Map<String, Object> answer(String prompt) {
+        if (prompt.contains("Teilzusammenfassungen:")) {
+            summaryCalls.incrementAndGet();
+            return Map.of("summary", "Gesamt");
+        }
+        chunkCalls.incrementAndGet();
+
+        List<Long> ids = new ArrayList<>();
+        for (String line : prompt.split("\n")) {
+            // Review-Zeilen: "ID[,ID…]|STERNE|TEXT"
+            if (line.matches("\\d[\\d,]*\\|.*")) {
+                for (String id : line.substring(0, line.indexOf('|')).split(",")) {
+                    ids.add(Long.parseLong(id));
+                }
+            }
+        }
+        List<Map<String, Object>> fakes = ids.stream()
+                .filter(id -> id % 10 == 1)
+                .map(id -> Map.<String, Object>of("review_id", id, "probability", 0.7))
+                .toList();
+
+        return Map.of(
+                "summary", "Teil",
+                "fake_reviews", fakes
+        );
+    }
+
+    private String completion(Map<String, Object> content) {
+        try {
+            return mapper.writeValueAsString(Map.of(
+                    "choices", List.of(Map.of("message", Map.of(
+                            "role", "assistant",
+                            "content", mapper.writeValueAsString(content))))));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package spring.GoogleReview.Analyzer.service;
+
+import org.junit.jupiter.api.Test;
+import spring.GoogleReview.Analyzer.FakeRepositories;
+import spring.GoogleReview.Analyzer.repository.ReviewKey;
+import spring.GoogleReview.Analyzer.repository.ReviewRepository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KnownReviewIndexTest {
+
+    private final AtomicInteger exactChecks = new AtomicInteger();
+
+    @Test
+    void confirmedPageIsKnown() {
+        KnownReviewIndex index = index(List.of("a", "b"), Set.of("a", "b"));
+
+        assertTrue(index.allKnown("place", List.of("a", "b")));
+        assertEquals(1, exactChecks.get());
+    }
+
+    @Test
+    void bloomFalsePositiveDoesNotStopTheImport() {
+        // Filter hält "b" für bekannt, die DB kennt es nicht
+        KnownReviewIndex index = index(List.of("a", "b"), Set.of("a"));
+
+        assertFalse(index.allKnown("place", List.of("a", "b")));
+    }
+
+    @Test
+    void unknownIdsNeedNoQuery() {
+        KnownReviewIndex index = index(List.of("a"), Set.of("a"));
+
+        assertFalse(index.allKnown("place", List.of("a", "neu")));
+        assertEquals(0, exactChecks.get());
+    }
+
+    private KnownReviewIndex index(List<String> bloomIds, Set<String> stored) {
+        ReviewRepository repository = FakeRepositories.answering(ReviewRepository.class, Map.of(
+                "findExternalIdsByPlaceId", args -> bloomIds,
+                "findExistingKeys", args -> {
+                    exactChecks.incrementAndGet();
+                    return ((Collection<?>) args[0]).stream()
+                            .filter(stored::contains)
+                            .map(id -> key((String) id))
+                            .toList();
+                }));
+        return new KnownReviewIndex(repository, 10, Duration.ofHours(1));
+    }
+
+    private static ReviewKey key(String externalId) {
+        return new ReviewKey() {
+            @Override
+            public String getExternalId() {
+                return externalId;
+            }
+
+            @Override
+            public Long getFingerprint() {
+                return 0L;
+            }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package spring.GoogleReview.Analyzer.service;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import spring.GoogleReview.Analyzer.exception.OpenAIException;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OpenAIClientTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private HttpServer server;
+    private volatile int failuresBeforeSuccess;
+    private volatile int failureStatus;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/chat/completions", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            int call = calls.incrementAndGet();
+            if (call <= failuresBeforeSuccess) {
+                exchange.getResponseHeaders().add("Retry-After", "0");
+                exchange.sendResponseHeaders(failureStatus, -1);
+            } else {
+                byte[] body = "{\"choices\":[]}".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void retriesRateLimitedAndServerErrors() {
+        failuresBeforeSuccess = 2;
+        failureStatus = 429;
+
+        assertEquals("{\"choices\":[]}", client(3).analyze("prompt"));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        failuresBeforeSuccess = 1;
+        failureStatus = 400;
+
+        assertThrows(OpenAIException.class, () -> client(3).analyze("prompt"));
+        assertEquals(1, calls.get());
+    }
+
+    private OpenAIClient client(int maxRetries) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions";
+        return new OpenAIClient(url, "test-key", "gpt-4.1-mini", 2, Duration.ofSeconds(5),
+                maxRetries, Duration.ofMillis(10), Duration.ofMillis(50), new SimpleMeterRegistry());
+    }
+}
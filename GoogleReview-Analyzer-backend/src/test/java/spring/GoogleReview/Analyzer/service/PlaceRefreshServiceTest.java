@@ -0,0 +1,22 @@
+package spring.GoogleReview.Analyzer.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PlaceRefreshServiceTest {
+
+    @Test
+    void intervalAdaptsToTheNumberOfNewReviews() {
+        assertEquals(7200L, PlaceRefreshService.nextInterval(3600, 0));
+        assertEquals(3600L, PlaceRefreshService.nextInterval(3600, 3));
+        assertEquals(1800L, PlaceRefreshService.nextInterval(3600, PlaceRefreshService.BUSY_THRESHOLD));
+    }
+
+    @Test
+    void failuresBackOffExponentiallyUpToTheMaximum() {
+        assertEquals(60L, PlaceRefreshService.backoff(60, 3600, 1));
+        assertEquals(240L, PlaceRefreshService.backoff(60, 3600, 3));
+        assertEquals(3600L, PlaceRefreshService.backoff(60, 3600, 30));
+    }
+}
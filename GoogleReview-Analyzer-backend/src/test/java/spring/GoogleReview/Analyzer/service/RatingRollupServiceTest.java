@@ -0,0 +1,50 @@
+package spring.GoogleReview.Analyzer.service;
+
+import org.junit.jupiter.api.Test;
+import spring.GoogleReview.Analyzer.FakeRepositories;
+import spring.GoogleReview.Analyzer.model.Review;
+import spring.GoogleReview.Analyzer.repository.RatingRollupRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RatingRollupServiceTest {
+
+    private final List<List<Object>> upserts = new ArrayList<>();
+
+    private final RatingRollupService service = new RatingRollupService(
+            FakeRepositories.answering(RatingRollupRepository.class, "upsert", args -> {
+                upserts.add(Arrays.asList(args));
+                return null;
+            }),
+            null);
+
+    @Test
+    void aggregatesInsertedReviewsIntoOneUpsertPerBucket() {
+        // Mi 11.06. und Do 12.06.2025 → zwei Tage, eine Woche (Mo 09.06.), ein Monat
+        service.record(List.of(
+                review(5, LocalDate.of(2025, 6, 11)),
+                review(3, LocalDate.of(2025, 6, 11)),
+                review(1, LocalDate.of(2025, 6, 12)),
+                review(4, null)));
+
+        assertEquals(4, upserts.size());
+        assertTrue(upserts.contains(List.of("p1", "DAY", LocalDate.of(2025, 6, 11), 2L, 8L, 0L, 0L, 1L, 0L, 1L)));
+        assertTrue(upserts.contains(List.of("p1", "DAY", LocalDate.of(2025, 6, 12), 1L, 1L, 1L, 0L, 0L, 0L, 0L)));
+        assertTrue(upserts.contains(List.of("p1", "WEEK", LocalDate.of(2025, 6, 9), 3L, 9L, 1L, 0L, 1L, 0L, 1L)));
+        assertTrue(upserts.contains(List.of("p1", "MONTH", LocalDate.of(2025, 6, 1), 3L, 9L, 1L, 0L, 1L, 0L, 1L)));
+    }
+
+    private static Review review(int rating, LocalDate reviewedAt) {
+        Review r = new Review();
+        r.setPlaceId("p1");
+        r.setRating(rating);
+        r.setReviewedAt(reviewedAt);
+        return r;
+    }
+}
@@ -0,0 +1,47 @@
+package spring.GoogleReview.Analyzer.service;
+
+import org.junit.jupiter.api.Test;
+import spring.GoogleReview.Analyzer.exception.InvalidRequestException;
+import spring.GoogleReview.Analyzer.model.ReviewListItem;
+import spring.GoogleReview.Analyzer.model.ReviewSort;
+import spring.GoogleReview.Analyzer.repository.ReviewPageRepository;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReviewPageServiceTest {
+
+    @Test
+    void cursorRoundTripsTheLastSortKey() {
+        ReviewListItem last = new ReviewListItem(1234L, "Anna", 4, "vor 2 Wochen", LocalDate.of(2025, 3, 1), null);
+
+        String cursor = ReviewPageService.encode(ReviewSort.RATING, true, last);
+
+        assertArrayEquals(new long[]{4, 1234}, ReviewPageService.decode(cursor, ReviewSort.RATING, true));
+    }
+
+    @Test
+    void reviewWithoutDateGetsTheNullDateKey() {
+        ReviewListItem last = new ReviewListItem(99L, "Ben", 5, "", null, null);
+
+        String cursor = ReviewPageService.encode(ReviewSort.DATE, false, last);
+
+        assertArrayEquals(new long[]{ReviewPageRepository.NULL_DATE_KEY, 99},
+                ReviewPageService.decode(cursor, ReviewSort.DATE, false));
+    }
+
+    @Test
+    void cursorIsOnlyValidForTheSameSortOrder() {
+        ReviewListItem last = new ReviewListItem(1234L, "Anna", 4, "vor 2 Wochen", LocalDate.of(2025, 3, 1), null);
+        String cursor = ReviewPageService.encode(ReviewSort.RATING, true, last);
+
+        assertThrows(InvalidRequestException.class,
+                () -> ReviewPageService.decode(cursor, ReviewSort.ID, true));
+        assertThrows(InvalidRequestException.class,
+                () -> ReviewPageService.decode(cursor, ReviewSort.RATING, false));
+        assertThrows(InvalidRequestException.class,
+                () -> ReviewPageService.decode("%%%", ReviewSort.RATING, true));
+    }
+}
@@ -0,0 +1,62 @@
+package spring.GoogleReview.Analyzer.service;
+
+import org.junit.jupiter.api.Test;
+import spring.GoogleReview.Analyzer.model.Review;
+import spring.GoogleReview.Analyzer.util.ReviewFingerprint;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReviewServiceTest {
+
+    @Test
+    void distinctIdsWithTheSameFingerprintAreBothKept() {
+        // nur Sterne, anonymer Autor → gleicher Fingerprint, aber zwei echte Reviews
+        Review first = review("r1", "Ein Google-Nutzer", 5, "");
+        Review second = review("r2", "Ein Google-Nutzer", 5, "");
+        assertEquals(first.getFingerprint(), second.getFingerprint());
+
+        Set<Long> knownFingerprints = new HashSet<>(Set.of(first.getFingerprint()));
+        List<Review> kept = ReviewService.withoutKnown(List.of(first, second), new HashSet<>(), knownFingerprints);
+
+        assertEquals(List.of(first, second), kept);
+    }
+
+    @Test
+    void knownAndRepeatedIdsAreSkipped() {
+        Review known = review("r1", "Anna", 4, "gut");
+        Review fresh = review("r2", "Ben", 3, "ok");
+        Review repeated = review("r2", "Ben", 3, "ok");
+
+        List<Review> kept = ReviewService.withoutKnown(List.of(known, fresh, repeated),
+                new HashSet<>(Set.of("r1")), new HashSet<>());
+
+        assertEquals(List.of(fresh), kept);
+    }
+
+    @Test
+    void reviewsWithoutIdFallBackToTheFingerprint() {
+        Review stored = review(null, "Anna", 4, "gut");
+        Review copy = review(null, "anna", 4, "  Gut ");
+        Review other = review(null, "Anna", 2, "gut");
+
+        List<Review> kept = ReviewService.withoutKnown(List.of(copy, other),
+                new HashSet<>(), new HashSet<>(Set.of(stored.getFingerprint())));
+
+        assertEquals(List.of(other), kept);
+    }
+
+    private static Review review(String externalId, String author, int rating, String text) {
+        Review r = new Review();
+        r.setPlaceId("p1");
+        r.setExternalId(externalId);
+        r.setAuthor(author);
+        r.setRating(rating);
+        r.setText(text);
+        r.setFingerprint(ReviewFingerprint.of("p1", author, rating, text));
+        return r;
+    }
+}
@@ -0,0 +1,86 @@
+package spring.GoogleReview.Analyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AspectSentimentAnalyzerTest {
+
+    private static AspectSentimentAnalyzer analyzer() {
+        Map<String, List<String>> aspects = new LinkedHashMap<>();
+        aspects.put("service", List.of("service", "personal", "freund"));
+        aspects.put("food", List.of("essen", "lecker", "gericht"));
+        aspects.put("price", List.of("preis", "teuer", "günstig"));
+        return new AspectSentimentAnalyzer(aspects,
+                List.of("gut", "lecker", "schnell", "nett", "fair", "freundlich"),
+                List.of("schlecht", "kalt", "langsam", "teuer", "unfreundlich"),
+                List.of("nicht", "kein", "keine"),
+                List.of("sehr", "zu"));
+    }
+
+    private static Map<String, Integer> counts(AspectCounts counts, String aspect) {
+        return counts.toMap().get(aspect);
+    }
+
+    @Test
+    void handlesNegationAndIntensifiers() {
+        AspectSentimentAnalyzer analyzer = analyzer();
+
+        assertEquals(Map.of("positive", 0, "negative", 1), counts(analyzer.count("Das Essen war nicht lecker.", 3), "food"));
+        assertEquals(Map.of("positive", 0, "negative", 1), counts(analyzer.count("Kein guter Service.", 3), "service"));
+        assertEquals(Map.of("positive", 1, "negative", 0), counts(analyzer.count("Preise nicht zu teuer!", 3), "price"));
+
+        // "sehr teuer" wiegt schwerer als "fair" im selben Satz
+        assertEquals(Map.of("positive", 0, "negative", 1), counts(analyzer.count("Preis fair, sehr teuer", 3), "price"));
+    }
+
+    @Test
+    void attributesSentimentPerClause() {
+        AspectCounts counts = analyzer().count("Der Service war langsam, aber das Essen war lecker. Preise ok.", 3);
+
+        assertEquals(Map.of("positive", 0, "negative", 1), counts(counts, "service"));
+        assertEquals(Map.of("positive", 1, "negative", 0), counts(counts, "food"));
+        // erwähnt, aber ohne Wertung und bei 3 Sternen → weder noch
+        assertEquals(Map.of("positive", 0, "negative", 0), counts(counts, "price"));
+
+        // Teilsatz ohne Aspekt gehört zum Aspekt davor
+        AspectCounts inherited = analyzer().count("Das Personal ist nett, aber sehr langsam.", 5);
+        assertEquals(Map.of("positive", 0, "negative", 1), counts(inherited, "service"));
+    }
+
+    @Test
+    void fallsBackToStarsWithoutOpinionWords() {
+        AspectSentimentAnalyzer analyzer = analyzer();
+
+        assertEquals(Map.of("positive", 1, "negative", 0), counts(analyzer.count("Wir hatten das Gericht des Tages.", 5), "food"));
+        assertEquals(Map.of("positive", 0, "negative", 1), counts(analyzer.count("Wir hatten das Gericht des Tages.", 1), "food"));
+        assertEquals(Map.of("positive", 0, "negative", 0), counts(analyzer.count("", 5), "food"));
+    }
+
+    @Test
+    void parallelCountMatchesSequentialCount() {
+        AspectSentimentAnalyzer analyzer = analyzer();
+        String[] texts = {
+                "Das Essen war sehr lecker und der Service schnell.",
+                "Zu teuer, aber freundliches Personal.",
+                "Essen kalt, Service unfreundlich!",
+                "Preis-Leistung fair.",
+                "Nichts besonderes."};
+
+        List<int[]> reviews = new ArrayList<>();
+        AspectCounts expected = new AspectCounts(analyzer.aspects());
+        for (int i = 0; i < 5000; i++) {
+            int rating = 1 + i % 5;
+            reviews.add(new int[]{i % texts.length, rating});
+            expected.add(analyzer.count(texts[i % texts.length], rating));
+        }
+
+        AspectCounts actual = analyzer.countAll(reviews, r -> texts[r[0]], r -> r[1]);
+        assertEquals(expected.toMap(), actual.toMap());
+    }
+}
@@ -0,0 +1,64 @@
+package spring.GoogleReview.Analyzer.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AsyncPermitsTest {
+
+    @Test
+    void waitersAreServedInOrderWhenPermitsAreReleased() {
+        AsyncPermits permits = new AsyncPermits(2);
+        List<Integer> granted = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            int n = i;
+            permits.acquire().subscribe(p -> granted.add(n));
+        }
+        assertEquals(List.of(0, 1), granted);
+        assertEquals(2, permits.waiting());
+
+        permits.release();
+        permits.release();
+        assertEquals(List.of(0, 1, 2, 3), granted);
+        assertEquals(2, permits.inUse());
+    }
+
+    @Test
+    void cancelledWaiterDoesNotKeepAPermit() {
+        AsyncPermits permits = new AsyncPermits(1);
+        permits.acquire().subscribe();
+
+        Disposable cancelled = permits.acquire().subscribe();
+        List<String> granted = new ArrayList<>();
+        permits.acquire().subscribe(p -> granted.add("dritter"));
+
+        cancelled.dispose();
+        assertEquals(1, permits.waiting());
+
+        permits.release();
+        assertEquals(List.of("dritter"), granted);
+        assertEquals(1, permits.inUse());
+    }
+
+    @Test
+    void usingWhenReturnsThePermitOnError() {
+        AsyncPermits permits = new AsyncPermits(1);
+
+        Mono<String> failing = Mono.usingWhen(permits.acquire(),
+                p -> Mono.<String>error(new IllegalStateException("kaputt")),
+                p -> Mono.fromRunnable(p::release),
+                (p, e) -> Mono.fromRunnable(p::release),
+                p -> Mono.fromRunnable(p::release));
+
+        assertThrows(IllegalStateException.class, failing::block);
+        assertEquals(0, permits.inUse());
+        assertThrows(IllegalStateException.class, permits::release);
+    }
+}
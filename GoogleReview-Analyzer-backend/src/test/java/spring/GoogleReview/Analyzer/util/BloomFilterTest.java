@@ -0,0 +1,24 @@
+package spring.GoogleReview.Analyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void hasNoFalseNegativesAndAboutTheConfiguredFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) filter.add("ChZDSUhNMG9nS0VJQ0FnSUR" + i);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("ChZDSUhNMG9nS0VJQ0FnSUR" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("unbekannt-" + i)) falsePositives++;
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,32 @@
+package spring.GoogleReview.Analyzer.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CompletionContentParserTest {
+
+    private final JsonFactory factory = new JsonFactory();
+
+    @Test
+    void extractsFirstCompletionContent() throws Exception {
+        String json = """
+                {"id": "c1", "choices": [
+                  {"index": 0, "message": {"role": "assistant", "content": "{\\"summary\\": \\"ok\\"}"}},
+                  {"index": 1, "message": {"role": "assistant", "content": "zweite"}}
+                ], "usage": {"prompt_tokens": 7, "completion_tokens": 3, "total_tokens": 10}}
+                """;
+        try (JsonParser parser = factory.createParser(json)) {
+            CompletionContentParser.Completion completion = CompletionContentParser.parse(parser);
+            assertEquals("{\"summary\": \"ok\"}", completion.content());
+            assertEquals(7, completion.promptTokens());
+            assertEquals(3, completion.completionTokens());
+        }
+        try (JsonParser parser = factory.createParser("{\"choices\": []}")) {
+            assertNull(CompletionContentParser.content(parser));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package spring.GoogleReview.Analyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DuplicateClustersTest {
+
+    @Test
+    void mergesClustersUnderTheSmallestId() {
+        DuplicateClusters clusters = new DuplicateClusters();
+        clusters.union(7, 3);
+        clusters.union(12, 20);
+        assertEquals(Map.of(3L, 2, 7L, 2, 12L, 2, 20L, 2), clusters.clusterSizes());
+
+        // ein neues Review verbindet beide Cluster
+        clusters.union(25, 20);
+        clusters.union(25, 7);
+        assertEquals(3L, clusters.root(20));
+        assertEquals(3L, clusters.root(25));
+        assertEquals(5, clusters.clusterSizes().get(12L));
+
+        // Reviews ohne Duplikat tauchen nicht auf
+        assertEquals(99L, clusters.root(99));
+        assertEquals(5, clusters.clusterSizes().size());
+    }
+}
@@ -0,0 +1,75 @@
+package spring.GoogleReview.Analyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+    private static List<Long> ids(InvertedIndex.Result result) {
+        return result.hits().stream().map(InvertedIndex.Hit::reviewId).toList();
+    }
+
+    @Test
+    void ranksByBm25AndRequiresAllTerms() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, "a", 1, DAY, "Das Essen war kalt und die Pommes waren kalt.");
+        index.add(2, "a", 2, DAY, "Essen kalt, Bedienung freundlich, aber sonst lange Wartezeit für alles hier.");
+        index.add(3, "a", 5, DAY, "Sehr leckeres Essen!");
+        index.add(4, "b", 1, DAY, "Kalte Getränke.");
+
+        InvertedIndex.Result result = index.search("essen kalt", InvertedIndex.Filter.NONE, 10);
+
+        assertEquals(2, result.total());
+        assertEquals(List.of(1L, 2L), ids(result));
+        assertTrue(result.hits().get(0).score() > result.hits().get(1).score());
+        assertEquals(List.of(), index.search("essen pizza", InvertedIndex.Filter.NONE, 10).hits());
+    }
+
+    @Test
+    void matchesPhrasesAcrossStopwords() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, "a", 1, DAY, "Das Essen war kalt.");
+        index.add(2, "a", 1, DAY, "Kalt war nur das Essen.");
+
+        assertEquals(List.of(1L), ids(index.search("\"essen war kalt\"", InvertedIndex.Filter.NONE, 10)));
+        assertEquals(2, index.search("essen kalt", InvertedIndex.Filter.NONE, 10).total());
+    }
+
+    @Test
+    void filtersByPlaceRatingAndDate() {
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 0; i < 300; i++) {
+            index.add(i, i % 2 == 0 ? "a" : "b", 1 + i % 5, DAY.plusDays(i), "Service war okay, Essen " + i);
+        }
+
+        int a = index.placeNumber("a");
+        InvertedIndex.Filter filter = new InvertedIndex.Filter(a, 4, 5,
+                (int) DAY.toEpochDay(), (int) DAY.plusDays(99).toEpochDay());
+        InvertedIndex.Result result = index.search("service", filter, 5);
+
+        // gerade i < 100 mit i % 5 in {3, 4}: 4, 8, 14, 18, …
+        assertEquals(20, result.total());
+        assertEquals(5, result.hits().size());
+        for (long id : ids(result)) {
+            assertEquals(0, id % 2);
+            assertTrue(id < 100 && id % 5 >= 3);
+        }
+        assertEquals(-1, index.placeNumber("unbekannt"));
+    }
+
+    @Test
+    void stemsQueryLikeDocuments() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(7, "a", 5, DAY, "Die Preise sind fair.");
+
+        assertEquals(List.of(7L), ids(index.search("Preis", InvertedIndex.Filter.NONE, 10)));
+        assertEquals(List.of(KeywordTokenizer.stem("preis")), index.search("Preise", InvertedIndex.Filter.NONE, 10).stems());
+    }
+}
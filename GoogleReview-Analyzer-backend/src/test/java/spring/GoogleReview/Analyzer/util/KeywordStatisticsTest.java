@@ -0,0 +1,61 @@
+package spring.GoogleReview.Analyzer.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeywordStatisticsTest {
+
+    @Test
+    void stemsAndSkipsStopwords() {
+        List<String> labels = new ArrayList<>();
+        KeywordTokenizer.tokenize("Die Preise sind fair, das Essen war leckeres Essen!", (stem, label) -> labels.add(label));
+
+        assertEquals(List.of("preise", "fair", "essen", "leckeres", "essen", "leckeres essen"), labels);
+        assertEquals(KeywordTokenizer.stem("preis"), KeywordTokenizer.stem("preise"));
+        assertEquals(KeywordTokenizer.stem("lecker"), KeywordTokenizer.stem("leckeres"));
+    }
+
+    @Test
+    void splitsKeywordsByRatingPolarity() {
+        KeywordStatistics stats = new KeywordStatistics();
+        for (int i = 0; i < 10; i++) {
+            stats.add("Sehr leckeres Essen und freundliches Personal", 5);
+            stats.add("Lange Wartezeit, das Essen war kalt", 1);
+        }
+        stats.add("Essen ok", 3);
+
+        Map<String, Integer> top = stats.top(20);
+        assertEquals(21, top.get("essen"));
+        assertTrue(stats.positive(20).contains("freundliches personal"));
+        assertTrue(stats.negative(20).contains("lange wartezeit"));
+        assertFalse(stats.positive(20).contains("essen"));
+        assertFalse(stats.negative(20).contains("essen"));
+    }
+
+    @Test
+    void incrementalUpdatesMatchAFullRecountAfterSerialization() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> texts = List.of("Pizza lecker", "Pizza kalt, Service langsam", "Service freundlich",
+                "Pizza lecker und günstig", "Service langsam");
+
+        KeywordStatistics full = new KeywordStatistics();
+        texts.forEach(t -> full.add(t, 4));
+
+        KeywordStatistics incremental = new KeywordStatistics();
+        texts.subList(0, 2).forEach(t -> incremental.add(t, 4));
+        String json = mapper.writeValueAsString(incremental.trimToSize());
+        KeywordStatistics restored = mapper.readValue(json, KeywordStatistics.class);
+        texts.subList(2, texts.size()).forEach(t -> restored.add(t, 4));
+
+        assertEquals(full.top(20), restored.top(20));
+        assertEquals(full.getDocuments(), restored.getDocuments());
+    }
+}
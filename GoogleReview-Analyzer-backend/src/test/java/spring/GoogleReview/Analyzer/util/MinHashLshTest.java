@@ -0,0 +1,74 @@
+package spring.GoogleReview.Analyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinHashLshTest {
+
+    private final MinHashLsh lsh = new MinHashLsh(64, 16, 0.6, 6);
+
+    @Test
+    void clustersNearDuplicatesAndIgnoresShortTexts() {
+        int[] clusters = lsh.cluster(List.of(
+                "Bestes Restaurant der Stadt, super Essen und sehr freundliches Personal, komme wieder!",
+                "Das Wetter war schön und wir haben lange auf einen Tisch am Fenster gewartet.",
+                "Bestes Restaurant der Stadt, super Essen und sehr freundliches Personal, komme gerne wieder!",
+                "Sehr gut!",
+                "Sehr gut!"
+        ));
+
+        assertEquals(0, clusters[0]);
+        assertEquals(1, clusters[1]);
+        assertEquals(0, clusters[2]);
+        assertEquals(-1, clusters[3]);
+        assertEquals(-1, clusters[4]);
+    }
+
+    @Test
+    void singleSignaturesMatchTheBatchClustering() {
+        String original = "Bestes Restaurant der Stadt, super Essen und sehr freundliches Personal, komme wieder!";
+        String copy = "Bestes Restaurant der Stadt, super Essen und sehr freundliches Personal, komme gerne wieder!";
+        String other = "Das Wetter war schön und wir haben lange auf einen Tisch am Fenster gewartet.";
+
+        int[] a = lsh.signature(original), b = lsh.signature(copy), c = lsh.signature(other);
+        assertTrue(lsh.similar(a, b));
+        assertFalse(lsh.similar(a, c));
+        assertNull(lsh.signature("Sehr gut!"));
+
+        // Duplikate teilen mindestens einen Bucket – sonst fände sie auch cluster() nicht
+        long[] keysA = lsh.bandKeys(a), keysB = lsh.bandKeys(b);
+        assertEquals(16, keysA.length);
+        boolean shared = false;
+        for (int band = 0; band < keysA.length; band++) shared |= keysA[band] == keysB[band];
+        assertTrue(shared);
+    }
+
+    // Laufzeit misst MinHashLshBenchmark (JMH), hier nur die Korrektheit bei großer Eingabe
+    @Test
+    void findsACopyAmongManyReviews() {
+        String[] words = ("essen service lecker teuer kalt warm freundlich personal wartezeit ambiente "
+                + "preis gemütlich sauber laut schnell langsam pizza burger salat dessert").split(" ");
+        Random random = new Random(42);
+
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int w = 0; w < 25; w++) sb.append(words[random.nextInt(words.length)]).append(' ');
+            texts.add(sb.toString());
+        }
+        // eine kopierte Bewertung am Ende
+        texts.add(texts.get(123));
+
+        int[] clusters = lsh.cluster(texts);
+
+        assertEquals(123, clusters[texts.size() - 1]);
+    }
+}
@@ -0,0 +1,45 @@
+package spring.GoogleReview.Analyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ReviewDateParserTest {
+
+    private static final LocalDate ANCHOR = LocalDate.of(2025, 6, 15);
+
+    @Test
+    void resolvesEnglishRelativeDates() {
+        assertEquals(LocalDate.of(2025, 6, 14), ReviewDateParser.parse("a day ago", ANCHOR));
+        assertEquals(LocalDate.of(2025, 6, 12), ReviewDateParser.parse("3 days ago", ANCHOR));
+        assertEquals(LocalDate.of(2025, 6, 8), ReviewDateParser.parse("a week ago", ANCHOR));
+        assertEquals(LocalDate.of(2025, 4, 15), ReviewDateParser.parse("Edited 2 months ago", ANCHOR));
+        assertEquals(LocalDate.of(2024, 6, 15), ReviewDateParser.parse("a year ago", ANCHOR));
+        assertEquals(ANCHOR, ReviewDateParser.parse("5 minutes ago", ANCHOR));
+        assertEquals(ANCHOR, ReviewDateParser.parse("an hour ago", ANCHOR));
+        assertEquals(LocalDate.of(2025, 6, 14), ReviewDateParser.parse("yesterday", ANCHOR));
+    }
+
+    @Test
+    void resolvesGermanRelativeDates() {
+        assertEquals(LocalDate.of(2025, 6, 14), ReviewDateParser.parse("vor einem Tag", ANCHOR));
+        assertEquals(LocalDate.of(2025, 5, 25), ReviewDateParser.parse("vor 3 Wochen", ANCHOR));
+        assertEquals(LocalDate.of(2025, 5, 15), ReviewDateParser.parse("vor einem Monat", ANCHOR));
+        assertEquals(LocalDate.of(2023, 6, 15), ReviewDateParser.parse("Bearbeitet: vor 2 Jahren", ANCHOR));
+        assertEquals(ANCHOR, ReviewDateParser.parse("vor 10 Minuten", ANCHOR));
+        assertEquals(ANCHOR, ReviewDateParser.parse("vor einer Stunde", ANCHOR));
+        assertEquals(LocalDate.of(2025, 6, 14), ReviewDateParser.parse("Gestern", ANCHOR));
+    }
+
+    @Test
+    void readsIsoDatesAndRejectsUnknownFormats() {
+        assertEquals(LocalDate.of(2024, 5, 3), ReviewDateParser.parse("2024-05-03T18:22:11Z", ANCHOR));
+        assertEquals(LocalDate.of(2024, 5, 3), ReviewDateParser.parse("2024-05-03", ANCHOR));
+        assertNull(ReviewDateParser.parse("unknown", ANCHOR));
+        assertNull(ReviewDateParser.parse("", ANCHOR));
+        assertNull(ReviewDateParser.parse(null, ANCHOR));
+    }
+}
@@ -0,0 +1,82 @@
+package spring.GoogleReview.Analyzer.util;
+
+import org.junit.jupiter.api.Test;
+import spring.GoogleReview.Analyzer.model.Review;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReviewPromptCompilerTest {
+
+    @Test
+    void encodesCompactLinesAndDropsReviewsWithoutText() {
+        ReviewPromptCompiler.Result result = new ReviewPromptCompiler(10_000, 1000).compile(List.of(
+                review(1, 5, "Sehr lecker,\n\n  gerne   wieder"),
+                review(2, 4, null),
+                review(3, 5, "  👍👍 "),
+                review(4, 5, "Sehr gut!"),
+                review(5, 1, "Sehr gut!"),
+                review(6, 5, "Sehr  gut! "),
+                review(7, 3, "(Übersetzt von Google) Essen war kalt\n\n(Original)\nFood was cold")
+        ));
+
+        assertEquals(1, result.chunks().size());
+        assertEquals("""
+                1|5|Sehr lecker, gerne wieder
+                4,6|5|Sehr gut!
+                5|1|Sehr gut!
+                7|3|Essen war kalt
+                """, result.chunks().get(0).text());
+        assertEquals(5, result.chunks().get(0).reviews());
+        assertEquals(2, result.skipped());
+        assertEquals(1, result.merged());
+        // Schätzung pro Zeile → höchstens ein Token Rundung je Zeile über der Gesamtschätzung
+        int estimate = TokenEstimator.estimate(result.chunks().get(0).text());
+        assertTrue(result.tokens() >= estimate && result.tokens() <= estimate + 4);
+    }
+
+    @Test
+    void truncatesLongTextsAtWordBoundary() {
+        String longText = "wort ".repeat(100);
+        ReviewPromptCompiler.Result result = new ReviewPromptCompiler(10_000, 50).compile(
+                List.of(review(1, 2, longText)));
+
+        String line = result.chunks().get(0).text();
+        assertEquals(1, result.truncated());
+        assertTrue(line.endsWith("…\n"));
+        assertTrue(line.length() <= "1|2|".length() + 50 + 1);
+    }
+
+    @Test
+    void keepsEveryChunkWithinTheTokenBudget() {
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            reviews.add(review(i, 1 + i % 5, "Review " + i + " mit etwas Text über Essen und Service"));
+        }
+
+        ReviewPromptCompiler.Result result = new ReviewPromptCompiler(200, 1000).compile(reviews);
+
+        assertTrue(result.chunks().size() > 1);
+        assertEquals(500, result.chunks().stream().mapToInt(ReviewPromptCompiler.Chunk::reviews).sum());
+        result.chunks().forEach(c -> assertTrue(c.tokens() <= 200, "Chunk zu groß: " + c.tokens()));
+    }
+
+    @Test
+    void normalizeReturnsNullWithoutLettersOrDigits() {
+        assertNull(ReviewPromptCompiler.normalize(" \n "));
+        assertNull(ReviewPromptCompiler.normalize("!!! ⭐⭐⭐"));
+        assertEquals("5 Sterne", ReviewPromptCompiler.normalize("5 Sterne"));
+    }
+
+    private static Review review(long id, int rating, String text) {
+        Review r = new Review();
+        r.setId(id);
+        r.setRating(rating);
+        r.setText(text);
+        return r;
+    }
+}
@@ -0,0 +1,93 @@
+package spring.GoogleReview.Analyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentArchiveTest {
+
+    private static String page(int i) {
+        return "{\"reviews\":[{\"review_id\":\"r" + i + "\",\"snippet\":\"" + "Sehr lecker! ".repeat(50) + "\"}]}";
+    }
+
+    private static List<String> readAll(SegmentArchive archive, long from) throws IOException {
+        List<String> pages = new ArrayList<>();
+        archive.read(from, (timestamp, data, length) ->
+                pages.add(new String(data, 0, length, StandardCharsets.UTF_8)));
+        return pages;
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+        }
+    }
+
+    @Test
+    void rollsSegmentsAndReplaysFromATimestamp() throws IOException {
+        Path dir = Files.createTempDirectory("archive");
+        try {
+            SegmentArchive archive = new SegmentArchive(dir, 1024);
+            for (int i = 0; i < 50; i++) {
+                byte[] data = page(i).getBytes(StandardCharsets.UTF_8);
+                archive.append(1_000L * i, data, 0, data.length);
+            }
+
+            try (Stream<Path> files = Files.list(dir)) {
+                assertTrue(files.filter(p -> p.getFileName().toString().endsWith(".seg")).count() > 1);
+            }
+            // komprimiert deutlich kleiner als die Rohdaten
+            long segmentBytes;
+            try (Stream<Path> files = Files.list(dir)) {
+                segmentBytes = files.filter(p -> p.toString().endsWith(".seg")).mapToLong(p -> p.toFile().length()).sum();
+            }
+            assertTrue(segmentBytes < 50L * page(0).length() / 5);
+
+            List<String> all = readAll(archive, Long.MIN_VALUE);
+            assertEquals(50, all.size());
+            assertEquals(page(0), all.get(0));
+            assertEquals(page(49), all.get(49));
+
+            List<String> tail = readAll(archive, 45_000);
+            assertEquals(List.of(page(45), page(46), page(47), page(48), page(49)), tail);
+
+            // neue Instanz (Neustart) hängt hinten an, Zeitstempel bleiben sortiert
+            SegmentArchive reopened = new SegmentArchive(dir, 1024);
+            byte[] late = page(50).getBytes(StandardCharsets.UTF_8);
+            reopened.append(10, late, 0, late.length);
+            assertEquals(List.of(page(49), page(50)), readAll(reopened, 49_000));
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void detectsCorruptedRecords() throws IOException {
+        Path dir = Files.createTempDirectory("archive");
+        try {
+            SegmentArchive archive = new SegmentArchive(dir, 1 << 20);
+            byte[] data = page(1).getBytes(StandardCharsets.UTF_8);
+            archive.append(1, data, 0, data.length);
+
+            try (FileChannel channel = FileChannel.open(dir.resolve("segment-00000.seg"), StandardOpenOption.WRITE)) {
+                channel.write(java.nio.ByteBuffer.wrap(new byte[]{0, 0, 0, 0}), 0);
+            }
+            assertThrows(IOException.class, () -> readAll(archive, Long.MIN_VALUE));
+        } finally {
+            delete(dir);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package spring.GoogleReview.Analyzer.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.Test;
+import spring.GoogleReview.Analyzer.model.SerpApiReview;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SerpApiPageParserTest {
+
+    private final JsonFactory factory = new JsonFactory();
+
+    @Test
+    void readsReviewsAndNextPageTokenSkippingUnknownFields() throws Exception {
+        String json = """
+                {
+                  "search_metadata": {"id": "x", "status": "Success"},
+                  "place_info": {"title": "Imbiss", "rating": 4.4},
+                  "reviews": [
+                    {
+                      "link": "https://maps.google.com/...",
+                      "rating": 5.0,
+                      "date": "vor 2 Wochen",
+                      "iso_date": "2024-05-03T18:22:11Z",
+                      "images": ["a.jpg", "b.jpg"],
+                      "user": {"name": "Anna", "thumbnail": "t.png", "reviews": 12},
+                      "snippet": "Sehr lecker!",
+                      "review_id": "r1",
+                      "response": {"date": "vor 1 Woche", "snippet": "Danke"}
+                    },
+                    {"review_id": "r2", "rating": null, "user": null}
+                  ],
+                  "serpapi_pagination": {"next": "https://...", "next_page_token": "tok2"}
+                }
+                """;
+
+        List<SerpApiReview> reviews = new ArrayList<>();
+        SerpApiPageParser.PageInfo page;
+        try (JsonParser parser = factory.createParser(json)) {
+            page = SerpApiPageParser.parse(parser, reviews::add);
+        }
+
+        assertTrue(page.hasReviews());
+        assertEquals("tok2", page.nextPageToken());
+        assertEquals(2, reviews.size());
+        assertEquals(new SerpApiReview("r1", "Anna", 5, "Sehr lecker!", "vor 2 Wochen",
+                "2024-05-03T18:22:11Z"), reviews.get(0));
+        assertEquals(new SerpApiReview("r2", null, 0, null, null, null), reviews.get(1));
+    }
+
+    @Test
+    void pageWithoutReviewsEndsPagination() throws Exception {
+        List<SerpApiReview> reviews = new ArrayList<>();
+        SerpApiPageParser.PageInfo page;
+        try (JsonParser parser = factory.createParser("{\"error\": \"Invalid API key.\"}")) {
+            page = SerpApiPageParser.parse(parser, reviews::add);
+        }
+
+        assertFalse(page.hasReviews());
+        assertNull(page.nextPageToken());
+        assertTrue(reviews.isEmpty());
+    }
+}
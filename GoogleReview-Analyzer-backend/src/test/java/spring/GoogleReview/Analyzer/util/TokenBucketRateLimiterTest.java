@@ -0,0 +1,63 @@
+package spring.GoogleReview.Analyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long MILLI = 1_000_000;
+
+    @Test
+    void burstIsFreeThenRequestsAreSpacedByTheRate() {
+        AtomicLong now = new AtomicLong(1_000 * MILLI);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(50, 5, now::get);
+
+        for (int i = 0; i < 5; i++) assertEquals(0, limiter.reserve());
+
+        // 50/s → jedes weitere Token 20 ms nach dem vorigen
+        for (int i = 1; i <= 10; i++) assertEquals(i * 20 * MILLI, limiter.reserve());
+
+        // nach 200 ms sind die reservierten Tokens fällig, das nächste wieder in 20 ms
+        now.addAndGet(200 * MILLI);
+        assertEquals(20 * MILLI, limiter.reserve());
+    }
+
+    @Test
+    void savedTokensAreCappedAtTheBurst() {
+        AtomicLong now = new AtomicLong();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 3, now::get);
+
+        now.addAndGet(60_000 * MILLI);
+        for (int i = 0; i < 3; i++) assertEquals(0, limiter.reserve());
+        assertEquals(100 * MILLI, limiter.reserve());
+    }
+
+    @Test
+    void budgetIsSharedAcrossThreads() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 1, () -> 0L);
+
+        List<Long> waits = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 10; i++) {
+                    long wait = limiter.reserve();
+                    synchronized (waits) {
+                        waits.add(wait);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) thread.join();
+
+        // 40 Tokens bei 100/s: jede Wartezeit genau einmal, egal wie viele Threads
+        List<Long> expected = LongStream.range(0, 40).map(i -> i * 10 * MILLI).boxed().toList();
+        assertEquals(expected, waits.stream().sorted().toList());
+    }
+}
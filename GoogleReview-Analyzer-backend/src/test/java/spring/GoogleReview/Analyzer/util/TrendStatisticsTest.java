@@ -0,0 +1,93 @@
+package spring.GoogleReview.Analyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrendStatisticsTest {
+
+    @Test
+    void weightedSlopeMatchesALinearSeries() {
+        int m = 30;
+        long[] days = new long[m];
+        double[] averages = new double[m];
+        long[] counts = new long[m];
+        Random random = new Random(7);
+        for (int i = 0; i < m; i++) {
+            days[i] = 20_000 + i * 7L;
+            averages[i] = 3.0 + 0.01 * (i * 7) + random.nextGaussian() * 0.05;
+            counts[i] = 1 + random.nextInt(20);
+        }
+
+        TrendStatistics.Result r = TrendStatistics.compute(days, averages, counts, 0.3);
+
+        assertEquals(0.01, r.slopePerDay(), 0.001);
+        assertTrue(r.slopeConfidence() > 0.99);
+    }
+
+    @Test
+    void noisyFlatSeriesIsNotATrend() {
+        int m = 40;
+        long[] days = new long[m];
+        double[] averages = new double[m];
+        long[] counts = new long[m];
+        Random random = new Random(11);
+        for (int i = 0; i < m; i++) {
+            days[i] = i;
+            averages[i] = 4.0 + random.nextGaussian() * 0.4;
+            counts[i] = 1;
+        }
+
+        TrendStatistics.Result r = TrendStatistics.compute(days, averages, counts, 0.3);
+
+        assertTrue(r.slopeConfidence() < 0.95, "confidence " + r.slopeConfidence());
+        assertEquals(0, r.changePoints().length);
+    }
+
+    @Test
+    void detectsALevelShift() {
+        int m = 30;
+        long[] days = new long[m];
+        double[] averages = new double[m];
+        long[] counts = new long[m];
+        for (int i = 0; i < m; i++) {
+            days[i] = i;
+            averages[i] = i < 20 ? 4.5 + (i % 2) * 0.1 : 2.5 + (i % 2) * 0.1;
+            counts[i] = 5;
+        }
+
+        TrendStatistics.Result r = TrendStatistics.compute(days, averages, counts, 0.3);
+
+        assertEquals(1, r.changePoints().length);
+        assertEquals(20, r.changePoints()[0].index());
+        assertEquals(-1, r.changePoints()[0].direction());
+    }
+
+    @Test
+    void studentTMatchesKnownQuantiles() {
+        assertEquals(0.0, TrendStatistics.studentTConfidence(0, 5), 1e-9);
+        // df = 1 (Cauchy): P(|T| < 1) = 1/2; df = 2: P(|T| < t) = t / √(2 + t²)
+        assertEquals(0.5, TrendStatistics.studentTConfidence(1, 1), 1e-9);
+        assertEquals(2 / Math.sqrt(6), TrendStatistics.studentTConfidence(2, 2), 1e-9);
+        // Tabellenwerte der zweiseitigen 95-%-Quantile
+        assertEquals(0.95, TrendStatistics.studentTConfidence(3.182446, 3), 1e-6);
+        assertEquals(0.95, TrendStatistics.studentTConfidence(2.228139, 10), 1e-6);
+        assertEquals(0.95, TrendStatistics.studentTConfidence(1.983972, 100), 1e-6);
+    }
+
+    @Test
+    void fewBucketsGiveLessConfidenceThanTheNormalApproximation() {
+        long[] days = {0, 1, 2, 3};
+        double[] averages = {3.0, 3.4, 3.5, 3.9};
+        long[] counts = {1, 1, 1, 1};
+
+        TrendStatistics.Result r = TrendStatistics.compute(days, averages, counts, 0.3);
+
+        double t = r.slopePerDay() / r.slopeStdError();
+        assertEquals(TrendStatistics.studentTConfidence(t, 2), r.slopeConfidence(), 1e-12);
+        assertTrue(r.slopeConfidence() < TrendStatistics.studentTConfidence(t, 1_000));
+    }
+}
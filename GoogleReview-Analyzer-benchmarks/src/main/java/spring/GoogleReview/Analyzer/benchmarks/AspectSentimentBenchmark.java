@@ -0,0 +1,70 @@
+package spring.GoogleReview.Analyzer.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import spring.GoogleReview.Analyzer.util.AspectCounts;
+import spring.GoogleReview.Analyzer.util.AspectSentimentAnalyzer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Lokale Kategorie-Zähler: ein Durchlauf über alle Reviews, sequenziell vs. Fork/Join.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class AspectSentimentBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private ReviewDataset data;
+    private AspectSentimentAnalyzer analyzer;
+    private List<Integer> indices;
+
+    @Setup
+    public void setUp() {
+        data = new ReviewDataset(size);
+        indices = IntStream.range(0, data.size()).boxed().toList();
+
+        // wie application.properties (gekürzt)
+        Map<String, List<String>> aspects = new LinkedHashMap<>();
+        aspects.put("service", List.of("service", "personal", "freund"));
+        aspects.put("food", List.of("essen", "lecker", "shawarma", "gericht"));
+        aspects.put("price", List.of("preis", "teuer", "günstig"));
+        aspects.put("ambience", List.of("ambiente", "sauber", "gemütlich"));
+        analyzer = new AspectSentimentAnalyzer(aspects,
+                List.of("gut", "lecker", "freundlich", "schnell", "sauber", "günstig", "good", "friendly", "fast"),
+                List.of("schlecht", "kalt", "unfreundlich", "langsam", "teuer", "bad", "rude", "slow", "expensive"),
+                List.of("nicht", "kein", "keine", "not", "no", "never"),
+                List.of("sehr", "zu", "very", "too"));
+    }
+
+    @Benchmark
+    public AspectCounts sequential() {
+        AspectCounts counts = new AspectCounts(analyzer.aspects());
+        for (int i = 0; i < data.size(); i++) counts.add(analyzer.count(data.texts[i], data.ratings[i]));
+        return counts;
+    }
+
+    @Benchmark
+    public AspectCounts forkJoin() {
+        return analyzer.countAll(indices, i -> data.texts[i], i -> data.ratings[i]);
+    }
+}
@@ -0,0 +1,26 @@
+package spring.GoogleReview.Analyzer.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Wie org.openjdk.jmh.Main, aber immer mit GC-Profiler:
+ * neben der Zeit pro Operation wird die Allokationsrate (gc.alloc.rate.norm, Bytes/Op) ausgegeben.
+ * Alle JMH-Optionen (Filter, -p size=..., -rf json …) werden durchgereicht.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(cli)
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
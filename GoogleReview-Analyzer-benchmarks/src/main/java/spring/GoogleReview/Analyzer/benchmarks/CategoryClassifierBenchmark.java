@@ -0,0 +1,60 @@
+package spring.GoogleReview.Analyzer.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import spring.GoogleReview.Analyzer.CategoryProperties;
+import spring.GoogleReview.Analyzer.service.CategoryClassifier;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kategorie-Zuordnung (früher matchesCategory pro Anfrage, jetzt einmal beim Import).
+ * Lexika wie in application.properties.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class CategoryClassifierBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private String[] texts;
+    private CategoryClassifier classifier;
+
+    @Setup
+    public void setUp() {
+        texts = new ReviewDataset(size).texts;
+
+        Map<String, List<String>> categories = new LinkedHashMap<>();
+        categories.put("service", List.of("service", "personal", "freund"));
+        categories.put("food", List.of("essen", "lecker", "shawarma", "gericht"));
+        categories.put("price", List.of("preis", "teuer", "günstig"));
+        categories.put("ambience", List.of("ambiente", "sauber", "gemütlich"));
+        CategoryProperties properties = new CategoryProperties();
+        properties.setCategories(categories);
+        classifier = new CategoryClassifier(properties);
+    }
+
+    @Benchmark
+    public int classify() {
+        int masks = 0;
+        for (String text : texts) masks ^= classifier.classify(text);
+        return masks;
+    }
+}
@@ -0,0 +1,48 @@
+package spring.GoogleReview.Analyzer.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import spring.GoogleReview.Analyzer.util.KeywordStatistics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lokale Keyword-Statistik: Einzählen aller Reviews und Auswertung der Keyword-Felder.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class KeywordStatisticsBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private ReviewDataset data;
+
+    @Setup
+    public void setUp() {
+        data = new ReviewDataset(size);
+    }
+
+    @Benchmark
+    public void countAndRank(Blackhole bh) {
+        KeywordStatistics stats = new KeywordStatistics();
+        for (int i = 0; i < data.size(); i++) stats.add(data.texts[i], data.ratings[i]);
+        bh.consume(stats.top(20));
+        bh.consume(stats.positive(20));
+        bh.consume(stats.negative(20));
+    }
+}
@@ -0,0 +1,48 @@
+package spring.GoogleReview.Analyzer.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import spring.GoogleReview.Analyzer.util.MinHashLsh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copy/Paste-Erkennung: MinHash-Signaturen und LSH-Clustering über alle Reviews
+ * (Konfiguration wie LocalFakeReviewDetector).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class MinHashLshBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private List<String> texts;
+    private MinHashLsh lsh;
+
+    @Setup
+    public void setUp() {
+        texts = List.of(new ReviewDataset(size).texts);
+        lsh = new MinHashLsh(64, 16, 0.6, 6);
+    }
+
+    @Benchmark
+    public void cluster(Blackhole bh) {
+        bh.consume(lsh.cluster(texts));
+    }
+}
@@ -0,0 +1,49 @@
+package spring.GoogleReview.Analyzer.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import spring.GoogleReview.Analyzer.model.Review;
+import spring.GoogleReview.Analyzer.service.AnalysisPrompts;
+import spring.GoogleReview.Analyzer.util.ReviewPromptCompiler;
+import spring.GoogleReview.Analyzer.util.TokenEstimator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prompt-Aufbau der Analyse (Chunks mit Token-Budget wie analysis.chunk.max-tokens=6000).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class PromptCompilerBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private List<Review> reviews;
+    private ReviewPromptCompiler compiler;
+
+    @Setup
+    public void setUp() {
+        reviews = new ReviewDataset(size).reviews();
+        compiler = new ReviewPromptCompiler(6000 - TokenEstimator.estimate(AnalysisPrompts.ANALYSIS_PROMPT), 1000);
+    }
+
+    @Benchmark
+    public ReviewPromptCompiler.Result compile() {
+        return compiler.compile(reviews);
+    }
+}
@@ -0,0 +1,123 @@
+package spring.GoogleReview.Analyzer.benchmarks;
+
+import spring.GoogleReview.Analyzer.model.Review;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetische deutsch/englische Reviews, deterministisch (fester Seed),
+ * damit Messungen verschiedener Stände vergleichbar sind.
+ */
+final class ReviewDataset {
+
+    static final LocalDate ANCHOR = LocalDate.of(2025, 6, 1);
+    static final int REVIEWS_PER_PAGE = 20;
+
+    private static final String[] GERMAN = {
+            "Das Essen war sehr lecker", "Der Service war freundlich und schnell",
+            "Lange Wartezeit, das Essen kam kalt", "Preis-Leistung stimmt", "Etwas teuer für die Portion",
+            "Gemütliches Ambiente, wir kommen gerne wieder", "Das Personal war unfreundlich",
+            "Bester Döner der Stadt", "Sauber und ordentlich", "Die Pizza war leider verbrannt",
+            "Sehr gute Auswahl an vegetarischen Gerichten", "Laute Musik, man konnte sich kaum unterhalten"
+    };
+    private static final String[] ENGLISH = {
+            "The food was delicious", "Friendly staff and quick service", "We waited an hour for our table",
+            "Great value for money", "A bit pricey but worth it", "Cozy atmosphere, will come back",
+            "The waiter was rude", "Best burger in town", "Clean and tidy place", "The fries were cold"
+    };
+    private static final String[] GERMAN_DATES = {
+            "vor einem Tag", "vor %d Tagen", "vor einer Woche", "vor %d Wochen", "vor einem Monat",
+            "vor %d Monaten", "vor einem Jahr", "vor %d Jahren", "gestern", "Bearbeitet: vor %d Wochen"
+    };
+    private static final String[] ENGLISH_DATES = {
+            "a day ago", "%d days ago", "a week ago", "%d weeks ago", "a month ago", "%d months ago",
+            "a year ago", "%d years ago", "yesterday", "Edited %d months ago"
+    };
+
+    final String[] texts;
+    final int[] ratings;
+    final String[] relativeDates;
+    final LocalDate[] dates;
+
+    ReviewDataset(int size) {
+        Random random = new Random(42);
+        texts = new String[size];
+        ratings = new int[size];
+        relativeDates = new String[size];
+        dates = new LocalDate[size];
+
+        for (int i = 0; i < size; i++) {
+            boolean german = random.nextInt(4) != 0;
+            String[] phrases = german ? GERMAN : ENGLISH;
+            String[] dateFormats = german ? GERMAN_DATES : ENGLISH_DATES;
+
+            // ~10 % nur Sterne, sonst 1–4 Sätze
+            int sentences = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(4);
+            StringBuilder text = new StringBuilder();
+            for (int s = 0; s < sentences; s++) {
+                if (s > 0) text.append(random.nextBoolean() ? ". " : "! ");
+                text.append(phrases[random.nextInt(phrases.length)]);
+            }
+
+            texts[i] = text.toString();
+            ratings[i] = 1 + random.nextInt(5);
+            relativeDates[i] = String.format(dateFormats[random.nextInt(dateFormats.length)], 2 + random.nextInt(10));
+            dates[i] = ANCHOR.minusDays(random.nextInt(3 * 365));
+        }
+    }
+
+    int size() {
+        return texts.length;
+    }
+
+    List<Review> reviews() {
+        List<Review> reviews = new ArrayList<>(texts.length);
+        for (int i = 0; i < texts.length; i++) {
+            Review r = new Review();
+            r.setId((long) i + 1);
+            r.setPlaceId("bench");
+            r.setRating(ratings[i]);
+            r.setText(texts[i]);
+            r.setReviewedAt(dates[i]);
+            reviews.add(r);
+        }
+        return reviews;
+    }
+
+    /**
+     * SerpAPI-Antworten (google_maps_reviews) mit je 20 Reviews, wie sie über das Netz kommen.
+     */
+    List<byte[]> serpApiPages() {
+        List<byte[]> pages = new ArrayList<>();
+        StringBuilder json = new StringBuilder();
+        for (int start = 0; start < texts.length; start += REVIEWS_PER_PAGE) {
+            json.setLength(0);
+            json.append("{\"search_metadata\":{\"id\":\"bench\",\"status\":\"Success\"},")
+                    .append("\"place_info\":{\"title\":\"Bench Restaurant\",\"rating\":4.2,\"reviews\":")
+                    .append(texts.length).append("},\"reviews\":[");
+            int end = Math.min(texts.length, start + REVIEWS_PER_PAGE);
+            for (int i = start; i < end; i++) {
+                if (i > start) json.append(',');
+                json.append("{\"link\":\"https://www.google.com/maps/reviews/data=").append(i).append("\",")
+                        .append("\"rating\":").append(ratings[i]).append(".0,")
+                        .append("\"date\":\"").append(relativeDates[i]).append("\",")
+                        .append("\"iso_date\":\"").append(dates[i]).append("T12:00:00Z\",")
+                        .append("\"review_id\":\"r").append(i).append("\",")
+                        .append("\"user\":{\"name\":\"User ").append(i % 5000)
+                        .append("\",\"link\":\"https://www.google.com/maps/contrib/").append(i)
+                        .append("\",\"thumbnail\":\"https://lh3.googleusercontent.com/a/").append(i)
+                        .append("\",\"reviews\":").append(i % 97).append(",\"photos\":").append(i % 13).append("},")
+                        .append("\"snippet\":\"").append(texts[i]).append("\",")
+                        .append("\"likes\":").append(i % 7).append('}');
+            }
+            json.append("],\"serpapi_pagination\":{\"next\":\"https://serpapi.com/search.json?next_page_token=t")
+                    .append(end).append("\",\"next_page_token\":\"t").append(end).append("\"}}");
+            pages.add(json.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return pages;
+    }
+}
@@ -0,0 +1,78 @@
+package spring.GoogleReview.Analyzer.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import spring.GoogleReview.Analyzer.CategoryProperties;
+import spring.GoogleReview.Analyzer.service.CategoryClassifier;
+import spring.GoogleReview.Analyzer.service.ReviewMapper;
+import spring.GoogleReview.Analyzer.util.SerpApiPageParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Import-Mapping: SerpAPI-Seiten (Bytes wie vom Netz) → Review-Entities.
+ * Vergleich Streaming-Parser gegen den früheren Weg über einen Map-Baum.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class SerpApiImportBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private List<byte[]> pages;
+    private ObjectMapper mapper;
+    private ReviewMapper reviewMapper;
+
+    @Setup
+    public void setUp() {
+        pages = new ReviewDataset(size).serpApiPages();
+        mapper = new ObjectMapper();
+
+        CategoryProperties properties = new CategoryProperties();
+        properties.setCategories(Map.of("food", List.of("essen", "lecker"), "service", List.of("service")));
+        reviewMapper = new ReviewMapper(new CategoryClassifier(properties));
+    }
+
+    @Benchmark
+    public void streaming(Blackhole bh) throws IOException {
+        for (byte[] page : pages) {
+            try (JsonParser parser = mapper.getFactory().createParser(page)) {
+                SerpApiPageParser.parse(parser,
+                        review -> bh.consume(reviewMapper.mapToReview(review, "bench", ReviewDataset.ANCHOR)));
+            }
+        }
+    }
+
+    /**
+     * Referenz: ganze Antwort als Map-Baum deserialisieren (Stand vor dem Streaming-Parser),
+     * ohne anschließendes Mapping.
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void mapTree(Blackhole bh) throws IOException {
+        for (byte[] page : pages) {
+            Map<String, Object> response = mapper.readValue(page, Map.class);
+            bh.consume(response.get("reviews"));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package spring.GoogleReview.Analyzer.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import spring.GoogleReview.Analyzer.util.TrendStatistics;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trend-Analyse: Gruppieren pro Tag (das übernehmen im Betrieb die Rating-Rollups beim Import)
+ * und die Statistik über die Tages-Buckets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class TrendStatisticsBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private LocalDate[] dates;
+    private int[] ratings;
+    private long[] bucketDays;
+    private double[] bucketAverages;
+    private long[] bucketCounts;
+
+    @Setup
+    public void setUp() {
+        ReviewDataset data = new ReviewDataset(size);
+        dates = data.dates;
+        ratings = data.ratings;
+        group();
+    }
+
+    /**
+     * Reviews → Tages-Buckets (Summe/Anzahl über Epoch-Day-Arrays).
+     */
+    @Benchmark
+    public long[] group() {
+        long first = ReviewDataset.ANCHOR.minusDays(3 * 365).toEpochDay();
+        int days = 3 * 365 + 1;
+        long[] sums = new long[days];
+        long[] counts = new long[days];
+        for (int i = 0; i < dates.length; i++) {
+            int d = (int) (dates[i].toEpochDay() - first);
+            sums[d] += ratings[i];
+            counts[d]++;
+        }
+
+        int m = 0;
+        for (long c : counts) if (c > 0) m++;
+        bucketDays = new long[m];
+        bucketAverages = new double[m];
+        bucketCounts = new long[m];
+        for (int d = 0, k = 0; d < days; d++) {
+            if (counts[d] == 0) continue;
+            bucketDays[k] = first + d;
+            bucketAverages[k] = (double) sums[d] / counts[d];
+            bucketCounts[k++] = counts[d];
+        }
+        return bucketCounts;
+    }
+
+    @Benchmark
+    public TrendStatistics.Result statistics() {
+        return TrendStatistics.compute(bucketDays, bucketAverages, bucketCounts, 0.3);
+    }
+}